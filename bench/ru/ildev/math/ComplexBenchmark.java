@@ -0,0 +1,147 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер арифметики {@link Complex}: изменяющие методы ({@code multiply}, {@code divide}),
+ * создающие новый объект ({@code product}, {@code quotient}), та же арифметика
+ * на примитивах в качестве базовой линии и пакетные операции {@link ComplexArray}.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ComplexBenchmark {
+
+    static final int SIZE = 1024;
+
+    private Complex[] a;
+    private Complex[] b;
+    private float[] re;
+    private float[] im;
+    private Complex acc;
+    private ComplexArray array;
+    private ComplexArray other;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.a = new Complex[SIZE];
+        this.b = new Complex[SIZE];
+        this.re = new float[SIZE];
+        this.im = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.a[i] = new Complex(random.nextFloat() * 2.0f - 1.0f, random.nextFloat() * 2.0f - 1.0f);
+            this.b[i] = new Complex(random.nextFloat() * 2.0f - 1.0f, random.nextFloat() * 2.0f - 1.0f);
+            this.re[i] = this.a[i].r;
+            this.im[i] = this.a[i].i;
+        }
+        this.acc = new Complex();
+        this.array = new ComplexArray(SIZE);
+        this.other = new ComplexArray(SIZE);
+        for (int i = 0; i < SIZE; i++) this.other.set(i, this.b[i]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void multiply(Blackhole bh) {
+        Complex c = this.acc;
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(c.set(this.a[i]).multiply(this.b[i]).r);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void product(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) bh.consume(this.a[i].product(this.b[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void multiplyPrimitive(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            Complex x = this.a[i], y = this.b[i];
+            bh.consume(x.r * y.r - x.i * y.i);
+            bh.consume(x.r * y.i + y.r * x.i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public ComplexArray multiplyArray() {
+        ComplexArray c = this.array;
+        System.arraycopy(this.re, 0, c.re, 0, SIZE);
+        System.arraycopy(this.im, 0, c.im, 0, SIZE);
+        return c.multiply(this.other);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void divide(Blackhole bh) {
+        Complex c = this.acc;
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(c.set(this.a[i]).divide(this.b[i]).r);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void quotient(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) bh.consume(this.a[i].quotient(this.b[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public ComplexArray divideArray() {
+        ComplexArray c = this.array;
+        System.arraycopy(this.re, 0, c.re, 0, SIZE);
+        System.arraycopy(this.im, 0, c.im, 0, SIZE);
+        return c.divide(this.other);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void absMoreMath(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) bh.consume(this.a[i].abs());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void absMath(Blackhole bh) {
+        float[] r = this.re, m = this.im;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.sqrt(r[i] * r[i] + m[i] * m[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void phaseMoreMath(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) bh.consume(this.a[i].phase());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void phaseMath(Blackhole bh) {
+        float[] r = this.re, m = this.im;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.atan2(m[i], r[i]));
+    }
+
+}
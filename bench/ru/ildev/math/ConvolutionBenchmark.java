@@ -0,0 +1,70 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Свертка сигнала из 65536 отсчетов с ядром из {@code taps} отсчетов:
+ * прямая, перекрытием со сложением, перекрытием с отбрасыванием и с
+ * автоматическим выбором способа {@link Convolution#choose(int, int)}.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ConvolutionBenchmark {
+
+    static final int SIZE = 65536;
+
+    @Param({"8", "32", "128", "512", "2048"})
+    public int taps;
+
+    private float[] signal;
+    private float[] kernel;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.signal = new float[SIZE];
+        for (int j = 0; j < SIZE; j++) this.signal[j] = random.nextFloat() * 2.0f - 1.0f;
+        this.kernel = new float[this.taps];
+        for (int j = 0; j < this.taps; j++) this.kernel[j] = random.nextFloat() * 2.0f - 1.0f;
+    }
+
+    @Benchmark
+    public float[] direct() {
+        return Convolution.convolve(this.signal, this.kernel, Convolution.Method.DIRECT);
+    }
+
+    @Benchmark
+    public float[] overlapAdd() {
+        return Convolution.convolve(this.signal, this.kernel, Convolution.Method.OVERLAP_ADD);
+    }
+
+    @Benchmark
+    public float[] overlapSave() {
+        return Convolution.convolve(this.signal, this.kernel, Convolution.Method.OVERLAP_SAVE);
+    }
+
+    @Benchmark
+    public float[] auto() {
+        return Convolution.convolve(this.signal, this.kernel);
+    }
+
+}
@@ -0,0 +1,98 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер прямого преобразования Фурье: {@link FFT} комплексного сигнала
+ * (степень двойки и размер 1000 через алгоритм Блюстейна), {@link RealFFT}
+ * действительного сигнала того же размера и ДПФ по определению с готовой
+ * таблицей синусов в качестве базовой линии. Каждый вызов копирует сигнал
+ * в рабочий массив.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FFTBenchmark {
+
+    @Param({"256", "1000", "1024", "4096"})
+    public int size;
+
+    private float[] signal;
+    private float[] real;
+    private float[] work;
+    private float[] out;
+    private float[] table;
+    private FFT fft;
+    private RealFFT realFft;
+
+    @Setup
+    public void setup() {
+        int n = this.size;
+        Random random = new Random(42);
+        this.signal = new float[2 * n];
+        for (int j = 0; j < 2 * n; j++) this.signal[j] = random.nextFloat() * 2.0f - 1.0f;
+        this.real = new float[n];
+        for (int j = 0; j < n; j++) this.real[j] = this.signal[2 * j];
+        this.work = new float[2 * n];
+        this.out = new float[2 * n];
+        this.table = new float[2 * n];
+        for (int j = 0; j < n; j++) {
+            this.table[2 * j] = (float) Math.cos(2.0 * Math.PI * j / n);
+            this.table[2 * j + 1] = (float) -Math.sin(2.0 * Math.PI * j / n);
+        }
+        this.fft = FFT.of(n);
+        this.realFft = RealFFT.of(n);
+    }
+
+    @Benchmark
+    public float[] fft() {
+        System.arraycopy(this.signal, 0, this.work, 0, this.work.length);
+        this.fft.forward(this.work, 0);
+        return this.work;
+    }
+
+    @Benchmark
+    public float[] realFft() {
+        System.arraycopy(this.real, 0, this.work, 0, this.real.length);
+        this.realFft.forward(this.work, 0);
+        return this.work;
+    }
+
+    @Benchmark
+    public float[] naiveDft() {
+        int n = this.size;
+        float[] x = this.signal, w = this.table, out = this.out;
+        for (int k = 0; k < n; k++) {
+            float r = 0.0f, i = 0.0f;
+            for (int j = 0, t = 0; j < n; j++) {
+                float c = w[2 * t], s = w[2 * t + 1];
+                r += x[2 * j] * c - x[2 * j + 1] * s;
+                i += x[2 * j] * s + x[2 * j + 1] * c;
+                t += k;
+                if (t >= n) t -= n;
+            }
+            out[2 * k] = r;
+            out[2 * k + 1] = i;
+        }
+        return out;
+    }
+
+}
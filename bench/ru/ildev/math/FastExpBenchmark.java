@@ -0,0 +1,123 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FastExp} разной точности против {@link Math} и {@link StrictMath}.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FastExpBenchmark {
+
+    static final int SIZE = 1024;
+
+    @Param({"LOW", "MEDIUM", "HIGH"})
+    private FastExp.Accuracy accuracy;
+
+    /** Числа от -10 до 10. */
+    private float[] values;
+    /** Числа от 0 до 100. */
+    private float[] positive;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.values = new float[SIZE];
+        this.positive = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.values[i] = (random.nextFloat() - 0.5f) * 20.0f;
+            this.positive[i] = random.nextFloat() * 100.0f;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastExp(Blackhole bh) {
+        FastExp.Accuracy acc = this.accuracy;
+        float[] a = this.values;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastExp.exp(a[i], acc));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastLog(Blackhole bh) {
+        FastExp.Accuracy acc = this.accuracy;
+        float[] a = this.positive;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastExp.log(a[i], acc));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastPow(Blackhole bh) {
+        FastExp.Accuracy acc = this.accuracy;
+        float[] a = this.positive;
+        float[] b = this.values;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastExp.pow(a[i], b[i], acc));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathExp(Blackhole bh) {
+        float[] a = this.values;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.exp(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void strictExp(Blackhole bh) {
+        float[] a = this.values;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) StrictMath.exp(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathLog(Blackhole bh) {
+        float[] a = this.positive;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.log(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void strictLog(Blackhole bh) {
+        float[] a = this.positive;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) StrictMath.log(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathPow(Blackhole bh) {
+        float[] a = this.positive;
+        float[] b = this.values;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.pow(a[i], b[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void moreMathPow(Blackhole bh) {
+        float[] a = this.positive;
+        float[] b = this.values;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.pow(a[i], b[i]));
+    }
+
+}
@@ -0,0 +1,167 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FastTrig} от float и double против {@link Math} и {@link StrictMath}.
+ * Косинус и арккосинус устроены так же, как синус и арксинус, и не измеряются.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FastTrigBenchmark {
+
+    static final int SIZE = 1024;
+
+    /** Углы от -2*pi до 2*pi. */
+    private float[] angles;
+    /** Числа от -4 до 4. */
+    private float[] values;
+    /** Числа от -1 до 1. */
+    private float[] units;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.angles = new float[SIZE];
+        this.values = new float[SIZE];
+        this.units = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.angles[i] = (random.nextFloat() - 0.5f) * 4.0f * MoreMath.PI;
+            this.values[i] = (random.nextFloat() - 0.5f) * 8.0f;
+            this.units[i] = (random.nextFloat() - 0.5f) * 2.0f;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastSin(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastTrig.sin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastSinDouble(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastTrig.sin((double) a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathSin(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(Math.sin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void strictSin(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(StrictMath.sin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastTan(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastTrig.tan(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastTanDouble(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastTrig.tan((double) a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathTan(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(Math.tan(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void strictTan(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(StrictMath.tan(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastAtan(Blackhole bh) {
+        float[] a = this.values;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastTrig.atan(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastAtanDouble(Blackhole bh) {
+        float[] a = this.values;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastTrig.atan((double) a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathAtan(Blackhole bh) {
+        float[] a = this.values;
+        for (int i = 0; i < SIZE; i++) bh.consume(Math.atan(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void strictAtan(Blackhole bh) {
+        float[] a = this.values;
+        for (int i = 0; i < SIZE; i++) bh.consume(StrictMath.atan(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastAsin(Blackhole bh) {
+        float[] a = this.units;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastTrig.asin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fastAsinDouble(Blackhole bh) {
+        float[] a = this.units;
+        for (int i = 0; i < SIZE; i++) bh.consume(FastTrig.asin((double) a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathAsin(Blackhole bh) {
+        float[] a = this.units;
+        for (int i = 0; i < SIZE; i++) bh.consume(Math.asin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void strictAsin(Blackhole bh) {
+        float[] a = this.units;
+        for (int i = 0; i < SIZE; i++) bh.consume(StrictMath.asin(a[i]));
+    }
+
+}
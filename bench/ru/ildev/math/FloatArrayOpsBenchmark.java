@@ -0,0 +1,102 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение скалярной и векторной реализаций {@link FloatArrayOps}.
+ * Векторная реализация доступна, только если MathIL-vector есть в classpath,
+ * иначе оба варианта замеряют скалярный код.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class FloatArrayOpsBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String impl;
+
+    @Param({"4096", "4194304"})
+    public int size;
+
+    private FloatArrayOps ops;
+    private float[] a;
+    private float[] b;
+    private float[] dst;
+
+    @Setup
+    public void setup() {
+        this.ops = "vector".equals(this.impl) ? FloatArrayOps.INSTANCE : new FloatArrayOps();
+        Random random = new Random(42);
+        this.a = new float[this.size];
+        this.b = new float[this.size];
+        this.dst = new float[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.a[i] = random.nextFloat() * 100.0f;
+            this.b[i] = random.nextFloat() * 100.0f;
+        }
+    }
+
+    @Benchmark
+    public float sum() {
+        return this.ops.sum(this.a, 0, this.size);
+    }
+
+    @Benchmark
+    public float min() {
+        return this.ops.min(this.a, 0, this.size);
+    }
+
+    @Benchmark
+    public float max() {
+        return this.ops.max(this.a, 0, this.size);
+    }
+
+    @Benchmark
+    public float[] cumSum() {
+        this.ops.cumSum(this.a, 0, this.dst, 0, this.size);
+        return this.dst;
+    }
+
+    @Benchmark
+    public float[] lerp() {
+        this.ops.lerp(this.a, 0, this.b, 0, 0.25f, this.dst, 0, this.size);
+        return this.dst;
+    }
+
+    @Benchmark
+    public float[] map() {
+        this.ops.map(this.a, 0, 0.0f, 100.0f, -1.0f, 1.0f, this.dst, 0, this.size);
+        return this.dst;
+    }
+
+    @Benchmark
+    public float[] clamp() {
+        this.ops.clamp(this.a, 0, 25.0f, 75.0f, this.dst, 0, this.size);
+        return this.dst;
+    }
+
+    @Benchmark
+    public float[] sqrt() {
+        this.ops.sqrt(this.a, 0, this.dst, 0, this.size);
+        return this.dst;
+    }
+
+}
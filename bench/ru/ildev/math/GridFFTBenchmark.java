@@ -0,0 +1,89 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Прямое преобразование сетки 1024 x 1024 через {@link GridFFT} на пуле из
+ * {@code parallelism} потоков против однопоточного преобразования, которое
+ * переписывает столбцы в буфер по одному.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class GridFFTBenchmark {
+
+    static final int SIZE = 1024;
+
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private GridFFT grid;
+    private float[] signal;
+    private float[] data;
+    private float[] column;
+
+    @Setup
+    public void setup() {
+        this.pool = new ForkJoinPool(this.parallelism);
+        this.grid = new GridFFT(this.pool);
+        Random random = new Random(42);
+        this.signal = new float[2 * SIZE * SIZE];
+        for (int j = 0; j < this.signal.length; j++) this.signal[j] = random.nextFloat() * 2.0f - 1.0f;
+        this.data = new float[this.signal.length];
+        this.column = new float[2 * SIZE];
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public float[] grid() {
+        System.arraycopy(this.signal, 0, this.data, 0, this.data.length);
+        this.grid.forward2D(this.data, SIZE, SIZE);
+        return this.data;
+    }
+
+    @Benchmark
+    public float[] unblocked() {
+        float[] a = this.data, c = this.column;
+        System.arraycopy(this.signal, 0, a, 0, a.length);
+        FFT fft = FFT.of(SIZE);
+        for (int y = 0; y < SIZE; y++) fft.forward(a, 2 * y * SIZE);
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                c[2 * y] = a[2 * (y * SIZE + x)];
+                c[2 * y + 1] = a[2 * (y * SIZE + x) + 1];
+            }
+            fft.forward(c, 0);
+            for (int y = 0; y < SIZE; y++) {
+                a[2 * (y * SIZE + x)] = c[2 * y];
+                a[2 * (y * SIZE + x) + 1] = c[2 * y + 1];
+            }
+        }
+        return a;
+    }
+
+}
@@ -0,0 +1,228 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение "быстрых" функций {@link MoreMath} со стандартными функциями {@link Math}.
+ * Каждый метод обрабатывает {@value #SIZE} заранее сгенерированных аргументов, поэтому
+ * результат выводится в наносекундах на одну операцию.
+ * <pre>
+ * java -cp out/production/MathIL:out/production/MathIL-bench:&lt;jmh&gt; org.openjdk.jmh.Main MoreMathBenchmark
+ * </pre>
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MoreMathBenchmark {
+
+    static final int SIZE = 1024;
+
+    private int[] ints;
+    private float[] floats;
+    private float[] positives;
+    private float[] angles;
+    private float[] exponents;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.ints = new int[SIZE];
+        this.floats = new float[SIZE];
+        this.positives = new float[SIZE];
+        this.angles = new float[SIZE];
+        this.exponents = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.ints[i] = random.nextInt();
+            this.floats[i] = (random.nextFloat() - 0.5f) * 2000.0f;
+            this.positives[i] = random.nextFloat() * 1000.0f + 0.001f;
+            this.angles[i] = random.nextFloat() * MoreMath.TWO_PI;
+            this.exponents[i] = random.nextFloat() * 4.0f - 2.0f;
+        }
+    }
+
+    // -- abs ----------
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void absIntMoreMath(Blackhole bh) {
+        int[] a = this.ints;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.abs(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void absIntMath(Blackhole bh) {
+        int[] a = this.ints;
+        for (int i = 0; i < SIZE; i++) bh.consume(Math.abs(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void absFloatMoreMath(Blackhole bh) {
+        float[] a = this.floats;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.abs(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void absFloatMath(Blackhole bh) {
+        float[] a = this.floats;
+        for (int i = 0; i < SIZE; i++) bh.consume(Math.abs(a[i]));
+    }
+
+    // -- floor / ceil / round ----------
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void floorMoreMath(Blackhole bh) {
+        float[] a = this.floats;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.floor(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void floorMath(Blackhole bh) {
+        float[] a = this.floats;
+        for (int i = 0; i < SIZE; i++) bh.consume((int) Math.floor(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void ceilMoreMath(Blackhole bh) {
+        float[] a = this.floats;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.ceil(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void ceilMath(Blackhole bh) {
+        float[] a = this.floats;
+        for (int i = 0; i < SIZE; i++) bh.consume((int) Math.ceil(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void roundMoreMath(Blackhole bh) {
+        float[] a = this.floats;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.round(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void roundMath(Blackhole bh) {
+        float[] a = this.floats;
+        for (int i = 0; i < SIZE; i++) bh.consume(Math.round(a[i]));
+    }
+
+    // -- sqrt / pow ----------
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sqrtFloatMoreMath(Blackhole bh) {
+        float[] a = this.positives;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.sqrt(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sqrtFloatMath(Blackhole bh) {
+        float[] a = this.positives;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.sqrt(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sqrtIntMoreMath(Blackhole bh) {
+        int[] a = this.ints;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.sqrt(a[i] & Integer.MAX_VALUE));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sqrtIntMath(Blackhole bh) {
+        int[] a = this.ints;
+        for (int i = 0; i < SIZE; i++) bh.consume((int) Math.sqrt(a[i] & Integer.MAX_VALUE));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void powMoreMath(Blackhole bh) {
+        float[] a = this.positives;
+        float[] b = this.exponents;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.pow(a[i], b[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void powMath(Blackhole bh) {
+        float[] a = this.positives;
+        float[] b = this.exponents;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.pow(a[i], b[i]));
+    }
+
+    // -- Тригонометрия ----------
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sinMoreMath(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.sin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sinMath(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.sin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void cosMoreMath(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.cos(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void cosMath(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.cos(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void atan2MoreMath(Blackhole bh) {
+        float[] y = this.floats;
+        float[] x = this.exponents;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.atan2(y[i], x[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void atan2Math(Blackhole bh) {
+        float[] y = this.floats;
+        float[] x = this.exponents;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.atan2(y[i], x[i]));
+    }
+
+}
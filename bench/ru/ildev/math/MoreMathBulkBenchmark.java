@@ -0,0 +1,137 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение массивных функций {@link MoreMath} с циклом по скалярным вызовам.
+ * Синус и косинус считаются через выбранный {@link TrigProvider}, а не через
+ * устаревшие флаги {@link MoreMath}. Результат каждого метода - массив {@code dst}, поэтому {@code Blackhole} не нужен.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MoreMathBulkBenchmark {
+
+    static final int SIZE = 4096;
+
+    @Param({"tableLerp", "table"})
+    public String provider;
+
+    private TrigProvider trig;
+    private float[] src;
+    private float[] other;
+    private float[] dst;
+
+    @Setup
+    public void setup() {
+        switch (this.provider) {
+            case "table": this.trig = TrigProvider.TABLE; break;
+            default: this.trig = TrigProvider.TABLE_LERP; break;
+        }
+        Random random = new Random(42);
+        this.src = new float[SIZE];
+        this.other = new float[SIZE];
+        this.dst = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.src[i] = random.nextFloat() * MoreMath.TWO_PI;
+            this.other[i] = random.nextFloat() * 4.0f - 2.0f;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] sinScalar() {
+        TrigProvider t = this.trig;
+        float[] s = this.src, d = this.dst;
+        for (int i = 0; i < SIZE; i++) d[i] = t.sin(s[i]);
+        return d;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] sinBulk() {
+        this.trig.sin(this.src, 0, this.dst, 0, SIZE);
+        return this.dst;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] cosScalar() {
+        TrigProvider t = this.trig;
+        float[] s = this.src, d = this.dst;
+        for (int i = 0; i < SIZE; i++) d[i] = t.cos(s[i]);
+        return d;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] cosBulk() {
+        this.trig.cos(this.src, 0, this.dst, 0, SIZE);
+        return this.dst;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] atan2Scalar() {
+        float[] y = this.src, x = this.other, d = this.dst;
+        for (int i = 0; i < SIZE; i++) d[i] = MoreMath.atan2(y[i], x[i]);
+        return d;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] atan2Bulk() {
+        MoreMath.atan2(this.src, 0, this.other, 0, this.dst, 0, SIZE);
+        return this.dst;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] powScalar() {
+        float[] s = this.src, d = this.dst;
+        for (int i = 0; i < SIZE; i++) d[i] = MoreMath.pow(s[i], 1.5f);
+        return d;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] powBulk() {
+        MoreMath.pow(this.src, 0, 1.5f, this.dst, 0, SIZE);
+        return this.dst;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] expScalar() {
+        float[] s = this.other, d = this.dst;
+        for (int i = 0; i < SIZE; i++) d[i] = MoreMath.exp(s[i]);
+        return d;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] expBulk() {
+        MoreMath.exp(this.other, 0, this.dst, 0, SIZE);
+        return this.dst;
+    }
+
+}
@@ -0,0 +1,301 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер {@link Noise}: однооктавный шум {@code noiseND} против фрактального
+ * {@code noise(...)} с {@link Noise#DEFAULT_OCTAVES} октавами, а также
+ * заполнение сетки {@code fill2D/fill3D} против вызова {@code noise(...)} на
+ * каждую точку той же сетки, и {@link SimplexNoise} против {@code noiseND}.
+ * Фрактальный шум с {@value #DEEP_OCTAVES} октавами считается со всеми
+ * октавами и с допуском {@value #TOLERANCE}, а по координатам {@code double}
+ * и с периодом против {@code float}. Градиент шума с производными
+ * {@code noiseND(..., gradOut)} сравнивается с конечными разностями.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class NoiseBenchmark {
+
+    static final int SIZE = 1024;
+    static final int WIDTH = 64;
+    static final float STEP = 0.05f;
+    static final int DEEP_OCTAVES = 12;
+    static final float TOLERANCE = 0.01f;
+    static final float DELTA = 1e-3f;
+
+    private Noise noise;
+    private Noise deep;
+    private Noise deepTolerant;
+    private Noise deepRidged;
+    private Noise periodic;
+    private SimplexNoise simplex;
+    private float[] x;
+    private float[] y;
+    private float[] z;
+    private float[] w;
+    private float[] out;
+    private final float[] grad = new float[3];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.noise = new Noise(42L);
+        this.simplex = new SimplexNoise(42L);
+        NoiseConfig deep = NoiseConfig.builder().seed(42L).octaves(DEEP_OCTAVES).build();
+        this.deep = new Noise(deep);
+        this.deepTolerant = new Noise(deep.toBuilder().tolerance(TOLERANCE).build());
+        this.deepRidged = new Noise(deep.toBuilder().fractal(Fractal.RIDGED).tolerance(TOLERANCE).build());
+        this.periodic = new Noise(NoiseConfig.builder().seed(42L).period(1000.0f).build());
+        this.x = new float[SIZE];
+        this.y = new float[SIZE];
+        this.z = new float[SIZE];
+        this.w = new float[SIZE];
+        this.out = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.x[i] = random.nextFloat() * 256.0f;
+            this.y[i] = random.nextFloat() * 256.0f;
+            this.z[i] = random.nextFloat() * 256.0f;
+            this.w[i] = random.nextFloat() * 256.0f;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void noise1D(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise1D(this.x[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void noise2D(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise2D(this.x[i], this.y[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void noise3D(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise3D(this.x[i], this.y[i], this.z[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void noise4D(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise4D(this.x[i], this.y[i], this.z[i], this.w[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void simplex2D(Blackhole bh) {
+        SimplexNoise n = this.simplex;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise2D(this.x[i], this.y[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void simplex3D(Blackhole bh) {
+        SimplexNoise n = this.simplex;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise3D(this.x[i], this.y[i], this.z[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void simplex4D(Blackhole bh) {
+        SimplexNoise n = this.simplex;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise4D(this.x[i], this.y[i], this.z[i], this.w[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void octaves1D(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise(this.x[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void octaves2D(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise(this.x[i], this.y[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void octaves3D(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise(this.x[i], this.y[i], this.z[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void octaves4D(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise(this.x[i], this.y[i], this.z[i], this.w[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void deepOctaves3D(Blackhole bh) {
+        Noise n = this.deep;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise(this.x[i], this.y[i], this.z[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void deepOctaves3DTolerance(Blackhole bh) {
+        Noise n = this.deepTolerant;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.noise(this.x[i], this.y[i], this.z[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void deepFbm3D(Blackhole bh) {
+        Noise n = this.deep;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.fractal3D(this.x[i], this.y[i], this.z[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void deepRidged3DTolerance(Blackhole bh) {
+        Noise n = this.deepRidged;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.fractal3D(this.x[i], this.y[i], this.z[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fractal3DFloat(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.fractal3D(this.x[i], this.y[i], this.z[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fractal3DDouble(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.fractal3D(1.0e9 + this.x[i], (double) this.y[i], (double) this.z[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fractal3DPeriodic(Blackhole bh) {
+        Noise n = this.periodic;
+        for (int i = 0; i < SIZE; i++) bh.consume(n.fractal3D(this.x[i], this.y[i], this.z[i]));
+    }
+
+    // -- Градиенты ----------
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void gradient2DAnalytic(Blackhole bh) {
+        Noise n = this.noise;
+        float[] g = this.grad;
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(n.noise2D(this.x[i], this.y[i], g));
+            bh.consume(g[0] + g[1]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void gradient2DFiniteDiff(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) {
+            float x = this.x[i], y = this.y[i];
+            float v = n.noise2D(x, y);
+            bh.consume(v);
+            bh.consume((n.noise2D(x + DELTA, y) - v) / DELTA + (n.noise2D(x, y + DELTA) - v) / DELTA);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void gradient3DAnalytic(Blackhole bh) {
+        Noise n = this.noise;
+        float[] g = this.grad;
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(n.noise3D(this.x[i], this.y[i], this.z[i], g));
+            bh.consume(g[0] + g[1] + g[2]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void gradient3DFiniteDiff(Blackhole bh) {
+        Noise n = this.noise;
+        for (int i = 0; i < SIZE; i++) {
+            float x = this.x[i], y = this.y[i], z = this.z[i];
+            float v = n.noise3D(x, y, z);
+            bh.consume(v);
+            bh.consume((n.noise3D(x + DELTA, y, z) - v) / DELTA + (n.noise3D(x, y + DELTA, z) - v) / DELTA
+                    + (n.noise3D(x, y, z + DELTA) - v) / DELTA);
+        }
+    }
+
+    // -- Сетки ----------
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] grid2DPointwise() {
+        Noise n = this.noise;
+        float[] out = this.out;
+        int height = SIZE / WIDTH;
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < WIDTH; i++) out[j * WIDTH + i] = n.noise(10.0f + i * STEP, 10.0f + j * STEP);
+        }
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] grid2DFill() {
+        this.noise.fill2D(this.out, WIDTH, SIZE / WIDTH, 10.0f, 10.0f, STEP);
+        return this.out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] grid3DPointwise() {
+        Noise n = this.noise;
+        float[] out = this.out;
+        int height = 4, depth = SIZE / WIDTH / height;
+        for (int k = 0; k < depth; k++) {
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < WIDTH; i++) {
+                    out[(k * height + j) * WIDTH + i] = n.noise(10.0f + i * STEP, 10.0f + j * STEP, 10.0f + k * STEP);
+                }
+            }
+        }
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] grid3DFill() {
+        this.noise.fill3D(this.out, WIDTH, 4, SIZE / WIDTH / 4, 10.0f, 10.0f, 10.0f, STEP);
+        return this.out;
+    }
+
+}
@@ -0,0 +1,68 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Заполнение поля 1024 x 1024 через {@link NoiseField} на пуле из
+ * {@code parallelism} потоков против однопоточного {@link Noise#fill2D}.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class NoiseFieldBenchmark {
+
+    static final int SIZE = 1024;
+
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    private Noise noise;
+    private ForkJoinPool pool;
+    private NoiseField field;
+    private float[] out;
+
+    @Setup
+    public void setup() {
+        this.noise = new Noise(42L);
+        this.pool = new ForkJoinPool(this.parallelism);
+        this.field = new NoiseField(this.noise, this.pool, NoiseField.DEFAULT_TILE_SIZE);
+        this.out = new float[SIZE * SIZE];
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public float[] noiseFill() {
+        this.noise.fill2D(this.out, SIZE, SIZE, 0.0f, 0.0f, 0.05f);
+        return this.out;
+    }
+
+    @Benchmark
+    public float[] fieldFill() {
+        this.field.fill2D(this.out, SIZE, SIZE, 0.0f, 0.0f, 0.05f);
+        return this.out;
+    }
+
+}
@@ -0,0 +1,61 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Повторный запрос области 256 x 256 со сдвигом, как при прокрутке карты:
+ * из прогретого {@link NoiseTileCache} против расчета заново через
+ * {@link Noise#fill2D}.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class NoiseTileCacheBenchmark {
+
+    static final int SIZE = 256;
+    static final float STEP = 0.05f;
+    static final int PAN = 8;
+
+    private Noise noise;
+    private NoiseTileCache cache;
+    private float[] out;
+    private int offset;
+
+    @Setup
+    public void setup() {
+        this.noise = new Noise(42L);
+        this.cache = new NoiseTileCache(this.noise, STEP, 64L << 20);
+        this.out = new float[SIZE * SIZE];
+    }
+
+    @Benchmark
+    public float[] cached() {
+        this.offset = (this.offset + 1) % PAN;
+        this.cache.getRegion(this.out, this.offset, this.offset, SIZE, SIZE, 0);
+        return this.out;
+    }
+
+    @Benchmark
+    public float[] recompute() {
+        this.offset = (this.offset + 1) % PAN;
+        this.noise.fill2D(this.out, SIZE, SIZE, this.offset * STEP, this.offset * STEP, STEP);
+        return this.out;
+    }
+
+}
@@ -0,0 +1,145 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Общий {@link Random} против генераторов потоков при параллельной выборке,
+ * а также нормальное распределение и заполнение массивов. Методы с
+ * суффиксом {@code Parallel} выполняются в четырех потоках.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RandomBenchmark {
+
+    static final int SIZE = 1024;
+
+    private final Random shared = new Random(42);
+    private final float[] floats = new float[SIZE];
+    private final int[] ints = new int[SIZE];
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sharedRandom(Blackhole bh) {
+        Random random = this.shared;
+        for (int i = 0; i < SIZE; i++) bh.consume(random.nextFloat());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void moreMathRandom(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.random());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void threadRandom(Blackhole bh) {
+        SplitRandom random = MoreMath.threadRandom();
+        for (int i = 0; i < SIZE; i++) bh.consume(random.nextFloat());
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(SIZE)
+    public void sharedRandomParallel(Blackhole bh) {
+        Random random = this.shared;
+        for (int i = 0; i < SIZE; i++) bh.consume(random.nextFloat());
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(SIZE)
+    public void moreMathRandomParallel(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.random());
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(SIZE)
+    public void threadRandomParallel(Blackhole bh) {
+        SplitRandom random = MoreMath.threadRandom();
+        for (int i = 0; i < SIZE; i++) bh.consume(random.nextFloat());
+    }
+
+    // -- Нормальное распределение и заполнение массивов ----------
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void gaussianRandom(Blackhole bh) {
+        Random random = this.shared;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) random.nextGaussian());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void gaussianZiggurat(Blackhole bh) {
+        SplitRandom random = MoreMath.threadRandom();
+        for (int i = 0; i < SIZE; i++) bh.consume((float) random.nextGaussian());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] fillGaussianLoop() {
+        SplitRandom random = MoreMath.threadRandom();
+        float[] dst = this.floats;
+        for (int i = 0; i < SIZE; i++) dst[i] = (float) (1.0f + 2.0f * random.nextGaussian());
+        return dst;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] fillGaussian() {
+        MoreMath.fillGaussian(this.floats, 1.0f, 2.0f);
+        return this.floats;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] fillUniformLoop() {
+        float[] dst = this.floats;
+        for (int i = 0; i < SIZE; i++) dst[i] = MoreMath.random();
+        return dst;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] fillUniform() {
+        MoreMath.fillUniform(this.floats);
+        return this.floats;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] fillIntLoop() {
+        int[] dst = this.ints;
+        for (int i = 0; i < SIZE; i++) dst[i] = MoreMath.random(-100, 100);
+        return dst;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] fillInt() {
+        MoreMath.fillInt(this.ints, -100, 100);
+        return this.ints;
+    }
+
+}
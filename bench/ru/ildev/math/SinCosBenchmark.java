@@ -0,0 +1,100 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Синус и косинус одного угла: два отдельных вызова против
+ * {@link TrigProvider#sincos(float, float[], int)} с одним сведением угла.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SinCosBenchmark {
+
+    static final int SIZE = 1024;
+
+    @Param({"table", "tableLerp", "polynomial"})
+    private String provider;
+
+    private TrigProvider trig;
+    private float[] angles;
+    private float[] sin;
+    private float[] cos;
+    private final float[] out = new float[2];
+
+    @Setup
+    public void setup() {
+        switch (this.provider) {
+            case "table": this.trig = TrigProvider.TABLE; break;
+            case "tableLerp": this.trig = TrigProvider.TABLE_LERP; break;
+            default: this.trig = TrigProvider.POLYNOMIAL; break;
+        }
+        Random random = new Random(42);
+        this.angles = new float[SIZE];
+        this.sin = new float[SIZE];
+        this.cos = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.angles[i] = (random.nextFloat() - 0.5f) * 4.0f * MoreMath.PI;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void separate(Blackhole bh) {
+        TrigProvider t = this.trig;
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(t.sin(a[i]));
+            bh.consume(t.cos(a[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sincos(Blackhole bh) {
+        TrigProvider t = this.trig;
+        float[] a = this.angles;
+        float[] o = this.out;
+        for (int i = 0; i < SIZE; i++) {
+            t.sincos(a[i], o, 0);
+            bh.consume(o[0]);
+            bh.consume(o[1]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] separateBulk() {
+        this.trig.sin(this.angles, 0, this.sin, 0, SIZE);
+        this.trig.cos(this.angles, 0, this.cos, 0, SIZE);
+        return this.cos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] sincosBulk() {
+        this.trig.sincos(this.angles, 0, this.sin, 0, this.cos, 0, SIZE);
+        return this.cos;
+    }
+
+}
@@ -0,0 +1,194 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Варианты корня, обратного корня и длины вектора. По результатам выбраны
+ * реализации {@link MoreMath#sqrt(float)}, {@link MoreMath#invSqrt(float)},
+ * {@link MoreMath#mag(float, float)} и {@link MoreMath#dist(float, float, float, float)}.
+ * Прежние и отвергнутые варианты оставлены здесь для сравнения.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SqrtBenchmark {
+
+    static final int SIZE = 1024;
+
+    private float[] positives;
+    private float[] xs;
+    private float[] ys;
+    private float[] dst;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.positives = new float[SIZE];
+        this.xs = new float[SIZE];
+        this.ys = new float[SIZE];
+        this.dst = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.positives[i] = random.nextFloat() * 1000.0f + 0.001f;
+            this.xs[i] = (random.nextFloat() - 0.5f) * 2000.0f;
+            this.ys[i] = (random.nextFloat() - 0.5f) * 2000.0f;
+        }
+    }
+
+    /** Прежняя реализация {@link MoreMath#sqrt(float)}, метод Ньютона. */
+    private static float newtonSqrt(float a) {
+        int sp = 0;
+        boolean inv = false;
+        float result, b;
+
+        if (a <= 0.0f) {
+            return 0.0f;
+        } else if (a < 1.0f) {
+            a = 1.0f / a;
+            inv = true;
+        }
+
+        while (a > 16.0f) {
+            sp++;
+            a /= 16.0f;
+        }
+
+        result = 2.0f;
+        for (int i = 4; i > 0; i--) {
+            b = a / result;
+            result += b;
+            result *= 0.5f;
+        }
+
+        while (sp > 0) {
+            sp--;
+            result *= 4.0f;
+        }
+
+        return inv ? 1.0f / result : result;
+    }
+
+    /** Обратный корень по битам числа с одним шагом Ньютона. */
+    private static float invSqrtNewton1(float a) {
+        float y = Float.intBitsToFloat(0x5f375a86 - (Float.floatToRawIntBits(a) >> 1));
+        return y * (1.5f - 0.5f * a * y * y);
+    }
+
+    /** Длина вектора во float, переполняется уже при |x| > 1.8e19. */
+    private static float magFloat(float x, float y) {
+        return (float) Math.sqrt(x * x + y * y);
+    }
+
+    /** Длина вектора в double, без переполнения. */
+    private static float magDouble(float x, float y) {
+        double dx = x;
+        double dy = y;
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+
+    // -- sqrt ----------
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sqrtNewton(Blackhole bh) {
+        float[] a = this.positives;
+        for (int i = 0; i < SIZE; i++) bh.consume(newtonSqrt(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sqrtMoreMath(Blackhole bh) {
+        float[] a = this.positives;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.sqrt(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] sqrtBulk() {
+        MoreMath.sqrt(this.positives, 0, this.dst, 0, SIZE);
+        return this.dst;
+    }
+
+    // -- invSqrt ----------
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void invSqrtNewton1(Blackhole bh) {
+        float[] a = this.positives;
+        for (int i = 0; i < SIZE; i++) bh.consume(invSqrtNewton1(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void invSqrtFast(Blackhole bh) {
+        float[] a = this.positives;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.fastInvSqrt(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void invSqrtMoreMath(Blackhole bh) {
+        float[] a = this.positives;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.invSqrt(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void invSqrtDivision(Blackhole bh) {
+        float[] a = this.positives;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) (1.0 / Math.sqrt(a[i])));
+    }
+
+    // -- mag ----------
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void magFloat(Blackhole bh) {
+        float[] x = this.xs;
+        float[] y = this.ys;
+        for (int i = 0; i < SIZE; i++) bh.consume(magFloat(x[i], y[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void magMoreMath(Blackhole bh) {
+        float[] x = this.xs;
+        float[] y = this.ys;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.mag(x[i], y[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void magDouble(Blackhole bh) {
+        float[] x = this.xs;
+        float[] y = this.ys;
+        for (int i = 0; i < SIZE; i++) bh.consume(magDouble(x[i], y[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void magHypot(Blackhole bh) {
+        float[] x = this.xs;
+        float[] y = this.ys;
+        for (int i = 0; i < SIZE; i++) bh.consume((float) Math.hypot(x[i], y[i]));
+    }
+
+}
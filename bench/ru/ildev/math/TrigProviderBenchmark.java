@@ -0,0 +1,86 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MoreMath#sin(float)} с глобальными флагами против реализаций
+ * {@link TrigProvider}, сохраненных в {@code static final} поля.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TrigProviderBenchmark {
+
+    static final int SIZE = 1024;
+
+    private static final TrigProvider STRICT = TrigProvider.STRICT;
+    private static final TrigProvider TABLE = TrigProvider.TABLE;
+    private static final TrigProvider TABLE_LERP = TrigProvider.TABLE_LERP;
+    private static final TrigProvider POLYNOMIAL = TrigProvider.POLYNOMIAL;
+
+    private float[] angles;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.angles = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.angles[i] = (random.nextFloat() - 0.5f) * 4.0f * MoreMath.PI;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void moreMathFlags(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(MoreMath.sin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void strict(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(STRICT.sin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void table(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(TABLE.sin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void tableLerp(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(TABLE_LERP.sin(a[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void polynomial(Blackhole bh) {
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(POLYNOMIAL.sin(a[i]));
+    }
+
+}
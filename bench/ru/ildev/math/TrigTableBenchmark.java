@@ -0,0 +1,62 @@
+package ru.ildev.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость {@link TrigTable#sin(float)} в зависимости от размера таблицы и интерполяции.
+ *
+ * @author Ilyas74
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TrigTableBenchmark {
+
+    static final int SIZE = 1024;
+
+    @Param({"8", "12", "16", "20"})
+    public int bits;
+
+    @Param({"NONE", "LINEAR", "CUBIC"})
+    public TrigTable.Interpolation interpolation;
+
+    private TrigTable table;
+    private float[] angles;
+
+    @Setup
+    public void setup() {
+        this.table = new TrigTable(this.bits, this.interpolation);
+        Random random = new Random(42);
+        this.angles = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.angles[i] = (random.nextFloat() - 0.5f) * 4.0f * MoreMath.PI;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sin(Blackhole bh) {
+        TrigTable t = this.table;
+        float[] a = this.angles;
+        for (int i = 0; i < SIZE; i++) bh.consume(t.sin(a[i]));
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Реализация {@link FloatArrayOps} на основе {@code jdk.incubator.vector}.
+ * Ширина вектора берется из {@link FloatVector#SPECIES_PREFERRED}, т.е. 8 элементов
+ * на AVX2 и 16 на AVX-512. Хвост массива, не кратный ширине, обрабатывается
+ * скалярным кодом базового класса.
+ * <p>
+ * {@link #cumSum} не переопределен: префиксная сумма внутри вектора через
+ * {@code unslice} или маскированный {@code rearrange} оказалась медленнее
+ * скалярного цикла (см. {@code FloatArrayOpsBenchmark}).
+ * <p>
+ * {@link #min} и {@link #max} повторяют скалярную семантику: {@code NaN}
+ * пропускается, если только он не стоит первым. {@code FloatVector.min} и
+ * {@code reduceLanes(MIN)} распространяют {@code NaN}, поэтому вместо них
+ * используется сравнение с маской и {@code blend}, а аккумулятор заполняется
+ * первым элементом.
+ *
+ * @author Ilyas74
+ */
+final class VectorFloatArrayOps extends FloatArrayOps {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    VectorFloatArrayOps() {}
+
+    @Override
+    boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    float sum(float[] src, int off, int len) {
+        int bound = SPECIES.loopBound(len);
+        float sum = 0.0f;
+        if(bound > 0) {
+            FloatVector acc = FloatVector.zero(SPECIES);
+            for(int i = 0; i < bound; i += LANES) {
+                acc = acc.add(FloatVector.fromArray(SPECIES, src, off + i));
+            }
+            sum = acc.reduceLanes(VectorOperators.ADD);
+        }
+        return sum + super.sum(src, off + bound, len - bound);
+    }
+
+    @Override
+    float min(float[] src, int off, int len) {
+        int bound = SPECIES.loopBound(len);
+        float min = src[off];
+        if(bound == 0 || min != min) return super.min(src, off, len);
+
+        FloatVector acc = FloatVector.broadcast(SPECIES, min);
+        for(int i = 0; i < bound; i += LANES) {
+            FloatVector v = FloatVector.fromArray(SPECIES, src, off + i);
+            acc = acc.blend(v, v.compare(VectorOperators.LT, acc));
+        }
+        for(int i = 0; i < LANES; i++) {
+            float a = acc.lane(i);
+            if(a < min) min = a;
+        }
+        for(int i = bound; i < len; i++) {
+            float a = src[off + i];
+            if(a < min) min = a;
+        }
+        return min;
+    }
+
+    @Override
+    float max(float[] src, int off, int len) {
+        int bound = SPECIES.loopBound(len);
+        float max = src[off];
+        if(bound == 0 || max != max) return super.max(src, off, len);
+
+        FloatVector acc = FloatVector.broadcast(SPECIES, max);
+        for(int i = 0; i < bound; i += LANES) {
+            FloatVector v = FloatVector.fromArray(SPECIES, src, off + i);
+            acc = acc.blend(v, v.compare(VectorOperators.GT, acc));
+        }
+        for(int i = 0; i < LANES; i++) {
+            float a = acc.lane(i);
+            if(a > max) max = a;
+        }
+        for(int i = bound; i < len; i++) {
+            float a = src[off + i];
+            if(a > max) max = a;
+        }
+        return max;
+    }
+
+    @Override
+    void lerp(float[] a, int aOff, float[] b, int bOff, float alpha, float[] dst, int dstOff, int len) {
+        int bound = SPECIES.loopBound(len);
+        for(int i = 0; i < bound; i += LANES) {
+            FloatVector x = FloatVector.fromArray(SPECIES, a, aOff + i);
+            FloatVector y = FloatVector.fromArray(SPECIES, b, bOff + i);
+            x.add(y.sub(x).mul(alpha)).intoArray(dst, dstOff + i);
+        }
+        super.lerp(a, aOff + bound, b, bOff + bound, alpha, dst, dstOff + bound, len - bound);
+    }
+
+    @Override
+    void map(float[] src, int off, float low1, float high1, float low2, float high2, float[] dst, int dstOff, int len) {
+        int bound = SPECIES.loopBound(len);
+        float scale = (high2 - low2) / (high1 - low1);
+        for(int i = 0; i < bound; i += LANES) {
+            FloatVector v = FloatVector.fromArray(SPECIES, src, off + i);
+            v.sub(low1).mul(scale).add(low2).intoArray(dst, dstOff + i);
+        }
+        super.map(src, off + bound, low1, high1, low2, high2, dst, dstOff + bound, len - bound);
+    }
+
+    @Override
+    void clamp(float[] src, int off, float low, float high, float[] dst, int dstOff, int len) {
+        int bound = SPECIES.loopBound(len);
+        for(int i = 0; i < bound; i += LANES) {
+            FloatVector v = FloatVector.fromArray(SPECIES, src, off + i);
+            v.max(low).min(high).intoArray(dst, dstOff + i);
+        }
+        super.clamp(src, off + bound, low, high, dst, dstOff + bound, len - bound);
+    }
+
+    @Override
+    void sqrt(float[] src, int off, float[] dst, int dstOff, int len) {
+        int bound = SPECIES.loopBound(len);
+        for(int i = 0; i < bound; i += LANES) {
+            FloatVector.fromArray(SPECIES, src, off + i).lanewise(VectorOperators.SQRT).intoArray(dst, dstOff + i);
+        }
+        super.sqrt(src, off + bound, dst, dstOff + bound, len - bound);
+    }
+
+}
@@ -350,7 +350,7 @@ public class Complex implements Cloneable {
      * @return
      */
     public float abs() {
-        return MoreMath.sqrt(this.r * this.r + this.i * this.i);
+        return MoreMath.mag(this.r, this.i);
     }
 
     /**
@@ -0,0 +1,437 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.util.Arrays;
+
+/**
+ * Массив комплексных чисел в виде двух массивов: действительных частей
+ * {@link #re} и мнимых частей {@link #im}. Операции изменяют массив на
+ * месте и работают простыми циклами по индексу без создания объектов,
+ * такие циклы JIT компилятор разворачивает в векторные инструкции.
+ * Аргументом операции может быть сам массив, например
+ * {@code a.multiplyConjugate(a)} дает {@code |a[k]|^2}.
+ * Поэлементно операции считают то же, что и одноименные методы
+ * {@link Complex}.
+ *
+ * @author Ilyas74
+ */
+public final class ComplexArray {
+
+    /** Действительные части. */
+    public final float[] re;
+    /** Мнимые части. */
+    public final float[] im;
+
+    /**
+     * Создает массив из нулей.
+     *
+     * @param length количество чисел.
+     */
+    public ComplexArray(int length) {
+        if(length < 0) throw new IllegalArgumentException("length = " + length);
+        this.re = new float[length];
+        this.im = new float[length];
+    }
+
+    /**
+     * Создает массив над готовыми массивами частей, без копирования.
+     *
+     * @param re действительные части.
+     * @param im мнимые части той же длины.
+     */
+    public ComplexArray(float[] re, float[] im) {
+        if(re == null) throw new NullPointerException("re == null");
+        if(im == null) throw new NullPointerException("im == null");
+        if(re.length != im.length) throw new IllegalArgumentException("im.length = " + im.length);
+        this.re = re;
+        this.im = im;
+    }
+
+    /**
+     * Создает копию массива.
+     *
+     * @param array массив.
+     */
+    public ComplexArray(ComplexArray array) {
+        this.re = array.re.clone();
+        this.im = array.im.clone();
+    }
+
+    /**
+     * Получает количество чисел.
+     *
+     * @return длина массива.
+     */
+    public int length() {
+        return this.re.length;
+    }
+
+    /**
+     * Записывает число массива в {@code out}.
+     *
+     * @param k   номер числа.
+     * @param out комплексное число результата.
+     * @return {@code out}.
+     */
+    public Complex get(int k, Complex out) {
+        return out.set(this.re[k], this.im[k]);
+    }
+
+    /**
+     * Устанавливает число массива.
+     *
+     * @param k номер числа.
+     * @param r действительная часть.
+     * @param i мнимая часть.
+     * @return этот массив.
+     */
+    public ComplexArray set(int k, float r, float i) {
+        this.re[k] = r;
+        this.im[k] = i;
+        return this;
+    }
+
+    /**
+     * Устанавливает число массива.
+     *
+     * @param k       номер числа.
+     * @param complex комплексное число.
+     * @return этот массив.
+     */
+    public ComplexArray set(int k, Complex complex) {
+        this.re[k] = complex.r;
+        this.im[k] = complex.i;
+        return this;
+    }
+
+    /**
+     * Копирует числа другого массива той же длины.
+     *
+     * @param b массив.
+     * @return этот массив.
+     */
+    public ComplexArray set(ComplexArray b) {
+        check(b);
+        System.arraycopy(b.re, 0, this.re, 0, this.re.length);
+        System.arraycopy(b.im, 0, this.im, 0, this.im.length);
+        return this;
+    }
+
+    /**
+     * Обнуляет все числа.
+     *
+     * @return этот массив.
+     */
+    public ComplexArray zero() {
+        Arrays.fill(this.re, 0.0f);
+        Arrays.fill(this.im, 0.0f);
+        return this;
+    }
+
+    /**
+     * Читает числа из массива пар {@code (r, i)}: число {@code k} берется из
+     * {@code src[off + 2k]} и {@code src[off + 2k + 1]}.
+     *
+     * @param src массив пар.
+     * @param off смещение первой пары.
+     * @return этот массив.
+     */
+    public ComplexArray deinterleave(float[] src, int off) {
+        float[] re = this.re, im = this.im;
+        int n = re.length;
+        if(off < 0 || off + 2L * n > src.length) throw new IllegalArgumentException("off = " + off);
+        for(int k = 0; k < n; k++) {
+            re[k] = src[off + 2 * k];
+            im[k] = src[off + 2 * k + 1];
+        }
+        return this;
+    }
+
+    /**
+     * Записывает числа в массив пар {@code (r, i)}: число {@code k} пишется в
+     * {@code dst[off + 2k]} и {@code dst[off + 2k + 1]}.
+     *
+     * @param dst массив пар.
+     * @param off смещение первой пары.
+     * @return {@code dst}.
+     */
+    public float[] interleave(float[] dst, int off) {
+        float[] re = this.re, im = this.im;
+        int n = re.length;
+        if(off < 0 || off + 2L * n > dst.length) throw new IllegalArgumentException("off = " + off);
+        for(int k = 0; k < n; k++) {
+            dst[off + 2 * k] = re[k];
+            dst[off + 2 * k + 1] = im[k];
+        }
+        return dst;
+    }
+
+    /**
+     * a[k] + b[k]
+     *
+     * @param b массив той же длины.
+     * @return этот массив.
+     */
+    public ComplexArray add(ComplexArray b) {
+        check(b);
+        float[] ar = this.re, ai = this.im, br = b.re, bi = b.im;
+        for(int k = 0; k < ar.length; k++) {
+            ar[k] += br[k];
+            ai[k] += bi[k];
+        }
+        return this;
+    }
+
+    /**
+     * a[k] + b
+     *
+     * @param br действительная часть.
+     * @param bi мнимая часть.
+     * @return этот массив.
+     */
+    public ComplexArray add(float br, float bi) {
+        float[] ar = this.re, ai = this.im;
+        for(int k = 0; k < ar.length; k++) {
+            ar[k] += br;
+            ai[k] += bi;
+        }
+        return this;
+    }
+
+    /**
+     * a[k] - b[k]
+     *
+     * @param b массив той же длины.
+     * @return этот массив.
+     */
+    public ComplexArray subtract(ComplexArray b) {
+        check(b);
+        float[] ar = this.re, ai = this.im, br = b.re, bi = b.im;
+        for(int k = 0; k < ar.length; k++) {
+            ar[k] -= br[k];
+            ai[k] -= bi[k];
+        }
+        return this;
+    }
+
+    /**
+     * a[k] * b[k] = (ar * br - ai * bi, ar * bi + ai * br)
+     *
+     * @param b массив той же длины.
+     * @return этот массив.
+     */
+    public ComplexArray multiply(ComplexArray b) {
+        check(b);
+        float[] ar = this.re, ai = this.im, br = b.re, bi = b.im;
+        for(int k = 0; k < ar.length; k++) {
+            float r = ar[k], i = ai[k], xr = br[k], xi = bi[k];
+            ar[k] = r * xr - i * xi;
+            ai[k] = r * xi + xr * i;
+        }
+        return this;
+    }
+
+    /**
+     * a[k] * b
+     *
+     * @param br действительная часть.
+     * @param bi мнимая часть.
+     * @return этот массив.
+     */
+    public ComplexArray multiply(float br, float bi) {
+        float[] ar = this.re, ai = this.im;
+        for(int k = 0; k < ar.length; k++) {
+            float r = ar[k], i = ai[k];
+            ar[k] = r * br - i * bi;
+            ai[k] = r * bi + br * i;
+        }
+        return this;
+    }
+
+    /**
+     * a[k] * conj(b[k]) = (ar * br + ai * bi, ai * br - ar * bi), например для
+     * взаимной корреляции в частотной области.
+     *
+     * @param b массив той же длины.
+     * @return этот массив.
+     */
+    public ComplexArray multiplyConjugate(ComplexArray b) {
+        check(b);
+        float[] ar = this.re, ai = this.im, br = b.re, bi = b.im;
+        for(int k = 0; k < ar.length; k++) {
+            float r = ar[k], i = ai[k], xr = br[k], xi = bi[k];
+            ar[k] = r * xr + i * xi;
+            ai[k] = xr * i - r * xi;
+        }
+        return this;
+    }
+
+    /**
+     * a[k] + x[k] * y[k], умножение со сложением за один проход.
+     *
+     * @param x массив той же длины.
+     * @param y массив той же длины.
+     * @return этот массив.
+     */
+    public ComplexArray multiplyAdd(ComplexArray x, ComplexArray y) {
+        check(x);
+        check(y);
+        float[] ar = this.re, ai = this.im, xr = x.re, xi = x.im, yr = y.re, yi = y.im;
+        for(int k = 0; k < ar.length; k++) {
+            float pr = xr[k], pi = xi[k], qr = yr[k], qi = yi[k];
+            ar[k] += pr * qr - pi * qi;
+            ai[k] += pr * qi + qr * pi;
+        }
+        return this;
+    }
+
+    /**
+     * a[k] + x[k] * b, умножение со сложением за один проход.
+     *
+     * @param x  массив той же длины.
+     * @param br действительная часть.
+     * @param bi мнимая часть.
+     * @return этот массив.
+     */
+    public ComplexArray multiplyAdd(ComplexArray x, float br, float bi) {
+        check(x);
+        float[] ar = this.re, ai = this.im, xr = x.re, xi = x.im;
+        for(int k = 0; k < ar.length; k++) {
+            float pr = xr[k], pi = xi[k];
+            ar[k] += pr * br - pi * bi;
+            ai[k] += pr * bi + br * pi;
+        }
+        return this;
+    }
+
+    /**
+     * a[k] / b[k] = ((ar * br + ai * bi) / (br * br + bi * bi),
+     *               (br * ai - ar * bi) / (br * br + bi * bi))
+     *
+     * @param b массив той же длины.
+     * @return этот массив.
+     */
+    public ComplexArray divide(ComplexArray b) {
+        check(b);
+        float[] ar = this.re, ai = this.im, br = b.re, bi = b.im;
+        for(int k = 0; k < ar.length; k++) {
+            float r = ar[k], i = ai[k], xr = br[k], xi = bi[k];
+            float x = 1.0f / (xr * xr + xi * xi);
+            ar[k] = (r * xr + i * xi) * x;
+            ai[k] = (xr * i - r * xi) * x;
+        }
+        return this;
+    }
+
+    /**
+     * conj(a[k]) = (ar, -ai)
+     *
+     * @return этот массив.
+     */
+    public ComplexArray conjugate() {
+        float[] ai = this.im;
+        for(int k = 0; k < ai.length; k++) {
+            ai[k] = -ai[k];
+        }
+        return this;
+    }
+
+    /**
+     * a[k] * s
+     *
+     * @param s действительный множитель.
+     * @return этот массив.
+     */
+    public ComplexArray scale(float s) {
+        float[] ar = this.re, ai = this.im;
+        for(int k = 0; k < ar.length; k++) {
+            ar[k] *= s;
+            ai[k] *= s;
+        }
+        return this;
+    }
+
+    /**
+     * |a[k]| = sqrt(ar * ar + ai * ai), как {@link Complex#abs()}.
+     *
+     * @param out массив результатов длиной не меньше {@link #length()}.
+     * @return {@code out}.
+     */
+    public float[] abs(float[] out) {
+        float[] ar = this.re, ai = this.im;
+        checkOut(out, ar.length);
+        for(int k = 0; k < ar.length; k++) {
+            out[k] = MoreMath.mag(ar[k], ai[k]);
+        }
+        return out;
+    }
+
+    /**
+     * norm(a[k]) = ar * ar + ai * ai
+     *
+     * @param out массив результатов длиной не меньше {@link #length()}.
+     * @return {@code out}.
+     */
+    public float[] norm(float[] out) {
+        float[] ar = this.re, ai = this.im;
+        checkOut(out, ar.length);
+        for(int k = 0; k < ar.length; k++) {
+            out[k] = ar[k] * ar[k] + ai[k] * ai[k];
+        }
+        return out;
+    }
+
+    /**
+     * Аргументы чисел, как {@link Complex#phase()}, через приближенный
+     * {@link MoreMath#atan2(float, float)}.
+     *
+     * @param out массив результатов длиной не меньше {@link #length()}.
+     * @return {@code out}.
+     */
+    public float[] phase(float[] out) {
+        float[] ar = this.re, ai = this.im;
+        checkOut(out, ar.length);
+        for(int k = 0; k < ar.length; k++) {
+            out[k] = MoreMath.atan2(ai[k], ar[k]);
+        }
+        return out;
+    }
+
+    private void check(ComplexArray b) {
+        if(b == null) throw new NullPointerException("b == null");
+        if(b.re.length != this.re.length) throw new IllegalArgumentException("b.length = " + b.re.length);
+    }
+
+    private static void checkOut(float[] out, int length) {
+        if(out == null) throw new NullPointerException("out == null");
+        if(out.length < length) throw new IllegalArgumentException("out.length = " + out.length);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if(this == other) {
+            return true;
+        } else if(other instanceof ComplexArray) {
+            ComplexArray array = (ComplexArray) other;
+            return Arrays.equals(this.re, array.re) && Arrays.equals(this.im, array.im);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 79 * hash + Arrays.hashCode(this.re);
+        hash = 79 * hash + Arrays.hashCode(this.im);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getName() + "[length=" + this.re.length + "]";
+    }
+
+}
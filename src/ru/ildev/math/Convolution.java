@@ -0,0 +1,443 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.util.Arrays;
+
+/**
+ * Свертка и взаимная корреляция действительных сигналов. Полная свертка
+ * сигнала длины {@code n} с ядром длины {@code m} имеет длину
+ * {@code n + m - 1}:
+ * <pre>
+ * convolve(x, h)[k]  = sum(x[k - j] * h[j], j = 0..m-1),
+ * correlate(x, h)[k] = sum(x[k - (m - 1) + j] * h[j], j = 0..m-1),
+ * </pre>
+ * значения {@code x} вне {@code [0, n)} равны нулю. Корреляция это свертка
+ * с перевернутым ядром.
+ * <p>
+ * Свертка считается напрямую за {@code n * m} умножений или через
+ * {@link RealFFT} блоками размера степени двойки {@code L}: образ ядра
+ * считается один раз, каждый блок сигнала преобразуется, умножается на
+ * него и преобразуется обратно. Метод и размер блока без явного указания
+ * выбираются по оценке стоимости: короткие ядра считаются напрямую, для
+ * остальных {@code L} минимизирует {@code L * log2(L)} на блок из
+ * {@code L - m + 1} отсчетов результата. Потоковая свертка {@link Stream}
+ * принимает сигнал по частям.
+ * <p>
+ * Образы хранятся в упакованном виде {@link RealFFT} в массивах
+ * {@code float[]}, а не в {@link Complex} или {@link ComplexArray}:
+ * образ действительного сигнала занимает вдвое меньше памяти, а поэлементное
+ * произведение считается в том же массиве без раскладки на части.
+ *
+ * @author Ilyas74
+ * @see RealFFT
+ */
+public final class Convolution {
+
+    /** Способ вычисления свертки. */
+    public enum Method {
+        /** Прямое суммирование, {@code n * m} умножений. */
+        DIRECT,
+        /**
+         * Перекрытие со сложением: блоки по {@code L - m + 1} отсчетов
+         * сигнала дополняются нулями до {@code L}, хвосты соседних блоков
+         * складываются.
+         */
+        OVERLAP_ADD,
+        /**
+         * Перекрытие с отбрасыванием: блоки по {@code L} отсчетов сигнала
+         * перекрываются на {@code m - 1}, первые {@code m - 1} отсчетов
+         * циклической свертки отбрасываются.
+         */
+        OVERLAP_SAVE
+    }
+
+    /**
+     * Стоимость одного {@code L * log2(L)} преобразования блока в
+     * умножениях прямой свертки: прямое и обратное {@link RealFFT} и
+     * умножение спектров.
+     */
+    static final double FFT_COST = 3.0;
+    /** Наибольший размер блока. */
+    static final int MAX_BLOCK = 1 << 29;
+
+    private Convolution() {}
+
+    /**
+     * Считает полную свертку, выбирая способ по длинам.
+     *
+     * @param signal сигнал.
+     * @param kernel ядро.
+     * @return свертка длины {@code signal.length + kernel.length - 1}.
+     */
+    public static float[] convolve(float[] signal, float[] kernel) {
+        check(signal, kernel);
+        return convolve(signal, kernel, choose(signal.length, kernel.length));
+    }
+
+    /**
+     * Считает полную свертку указанным способом.
+     *
+     * @param signal сигнал.
+     * @param kernel ядро.
+     * @param method способ.
+     * @return свертка длины {@code signal.length + kernel.length - 1}.
+     */
+    public static float[] convolve(float[] signal, float[] kernel, Method method) {
+        check(signal, kernel);
+        if(method == null) throw new NullPointerException("method == null");
+        switch(method) {
+            case DIRECT:
+                return direct(signal, kernel);
+            case OVERLAP_ADD:
+                return overlapAdd(signal, kernel);
+            default:
+                return overlapSave(signal, kernel);
+        }
+    }
+
+    /**
+     * Считает полную взаимную корреляцию, выбирая способ по длинам.
+     *
+     * @param signal сигнал.
+     * @param kernel ядро.
+     * @return корреляция длины {@code signal.length + kernel.length - 1}.
+     */
+    public static float[] correlate(float[] signal, float[] kernel) {
+        check(signal, kernel);
+        return convolve(signal, reverse(kernel));
+    }
+
+    /**
+     * Считает полную взаимную корреляцию указанным способом.
+     *
+     * @param signal сигнал.
+     * @param kernel ядро.
+     * @param method способ.
+     * @return корреляция длины {@code signal.length + kernel.length - 1}.
+     */
+    public static float[] correlate(float[] signal, float[] kernel, Method method) {
+        check(signal, kernel);
+        return convolve(signal, reverse(kernel), method);
+    }
+
+    /**
+     * Выбирает способ свертки по оценке стоимости: {@link Method#DIRECT},
+     * если {@code n * m} умножений дешевле блочной свертки, иначе
+     * {@link Method#OVERLAP_ADD}.
+     *
+     * @param signalLength длина сигнала.
+     * @param kernelLength длина ядра.
+     * @return способ.
+     */
+    public static Method choose(int signalLength, int kernelLength) {
+        if(signalLength <= 0) throw new IllegalArgumentException("signalLength = " + signalLength);
+        if(kernelLength <= 0) throw new IllegalArgumentException("kernelLength = " + kernelLength);
+        long total = (long) signalLength + kernelLength - 1;
+        int l = blockSize(kernelLength, total, maxBlock(total));
+        double direct = (double) signalLength * kernelLength;
+        // Блоки и одно прямое преобразование ядра
+        double fft = cost(l, kernelLength, total) + 0.5 * FFT_COST * l * log2(l);
+        return direct <= fft ? Method.DIRECT : Method.OVERLAP_ADD;
+    }
+
+    /**
+     * Создает потоковую свертку с ядром.
+     *
+     * @param kernel ядро, копируется.
+     * @return потоковая свертка.
+     */
+    public static Stream stream(float[] kernel) {
+        if(kernel == null) throw new NullPointerException("kernel == null");
+        return new Stream(kernel.clone());
+    }
+
+    /**
+     * Создает потоковую взаимную корреляцию с ядром.
+     *
+     * @param kernel ядро, копируется.
+     * @return потоковая корреляция.
+     */
+    public static Stream correlationStream(float[] kernel) {
+        if(kernel == null) throw new NullPointerException("kernel == null");
+        return new Stream(reverse(kernel));
+    }
+
+    /**
+     * Выбирает размер блока степени двойки от {@code nextPowerOfTwo(m)} до
+     * {@code max} с наименьшей оценкой стоимости {@code total} отсчетов
+     * результата.
+     */
+    static int blockSize(int m, long total, int max) {
+        int best = max;
+        double bestCost = cost(max, m, total);
+        for(int l = Math.max(2, MoreMath.nextPowerOfTwo(m)); l < max; l *= 2) {
+            double cost = cost(l, m, total);
+            if(cost < bestCost) {
+                best = l;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Наименьшая степень двойки не меньше {@code total}, одним блоком
+     * считается вся свертка.
+     */
+    private static int maxBlock(long total) {
+        return total >= MAX_BLOCK ? MAX_BLOCK : Math.max(2, MoreMath.nextPowerOfTwo((int) total - 1));
+    }
+
+    /**
+     * Оценка стоимости {@code total} отсчетов блоками размера {@code l}.
+     */
+    private static double cost(int l, int m, long total) {
+        long blocks = (total + l - m) / (l - m + 1);
+        return FFT_COST * blocks * l * log2(l);
+    }
+
+    private static int log2(int l) {
+        return 31 - Integer.numberOfLeadingZeros(l);
+    }
+
+    private static float[] direct(float[] signal, float[] kernel) {
+        int n = signal.length, m = kernel.length;
+        float[] out = new float[n + m - 1];
+        for(int i = 0; i < n; i++) {
+            float s = signal[i];
+            for(int j = 0; j < m; j++) {
+                out[i + j] += s * kernel[j];
+            }
+        }
+        return out;
+    }
+
+    private static float[] overlapAdd(float[] signal, float[] kernel) {
+        int n = signal.length, m = kernel.length, total = n + m - 1;
+        int l = blockSize(m, total, maxBlock(total)), b = l - m + 1;
+        RealFFT fft = RealFFT.of(l);
+        float[] spectrum = spectrum(fft, kernel);
+        float[] buffer = new float[l];
+        float[] out = new float[total];
+        for(int s = 0; s < n; s += b) {
+            int count = Math.min(b, n - s);
+            System.arraycopy(signal, s, buffer, 0, count);
+            Arrays.fill(buffer, count, l, 0.0f);
+            fft.forward(buffer, 0);
+            multiply(buffer, spectrum, l);
+            fft.inverse(buffer, 0);
+            int end = Math.min(l, total - s);
+            for(int j = 0; j < end; j++) {
+                out[s + j] += buffer[j];
+            }
+        }
+        return out;
+    }
+
+    private static float[] overlapSave(float[] signal, float[] kernel) {
+        int n = signal.length, m = kernel.length, total = n + m - 1;
+        int l = blockSize(m, total, maxBlock(total)), b = l - m + 1;
+        RealFFT fft = RealFFT.of(l);
+        float[] spectrum = spectrum(fft, kernel);
+        float[] buffer = new float[l];
+        float[] out = new float[total];
+        for(int p = 0; p < total; p += b) {
+            // Блок x[p - (m - 1) .. p - (m - 1) + l), нули вне сигнала
+            int start = p - (m - 1);
+            int from = Math.max(0, start), to = Math.min(n, start + l);
+            Arrays.fill(buffer, 0.0f);
+            if(from < to) System.arraycopy(signal, from, buffer, from - start, to - from);
+            fft.forward(buffer, 0);
+            multiply(buffer, spectrum, l);
+            fft.inverse(buffer, 0);
+            System.arraycopy(buffer, m - 1, out, p, Math.min(b, total - p));
+        }
+        return out;
+    }
+
+    /**
+     * Упакованный образ ядра, дополненного нулями до размера преобразования.
+     */
+    private static float[] spectrum(RealFFT fft, float[] kernel) {
+        float[] spectrum = Arrays.copyOf(kernel, fft.getSize());
+        fft.forward(spectrum, 0);
+        return spectrum;
+    }
+
+    /**
+     * Умножает упакованные образы {@link RealFFT}.
+     */
+    private static void multiply(float[] a, float[] b, int l) {
+        a[0] *= b[0];
+        a[1] *= b[1];
+        for(int j = 2; j < l; j += 2) {
+            float r = a[j], i = a[j + 1];
+            a[j] = r * b[j] - i * b[j + 1];
+            a[j + 1] = r * b[j + 1] + i * b[j];
+        }
+    }
+
+    private static float[] reverse(float[] kernel) {
+        int m = kernel.length;
+        float[] reversed = new float[m];
+        for(int j = 0; j < m; j++) reversed[j] = kernel[m - 1 - j];
+        return reversed;
+    }
+
+    private static void check(float[] signal, float[] kernel) {
+        if(signal == null) throw new NullPointerException("signal == null");
+        if(kernel == null) throw new NullPointerException("kernel == null");
+        if(signal.length == 0) throw new IllegalArgumentException("signal.length = 0");
+        if(kernel.length == 0 || kernel.length > MAX_BLOCK / 2) {
+            throw new IllegalArgumentException("kernel.length = " + kernel.length);
+        }
+        if((long) signal.length + kernel.length - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("signal.length = " + signal.length);
+        }
+    }
+
+    /**
+     * Потоковая свертка перекрытием с отбрасыванием. Сигнал подается
+     * частями любой длины, результат выдается блоками по
+     * {@link #getBlockSize()} отсчетов, как только блок сигнала набран.
+     * Все части вместе с {@link #flush(float[], int)} дают ту же полную
+     * свертку, что и {@link Convolution#convolve(float[], float[])}
+     * сигнала целиком. Объект не потокобезопасен.
+     */
+    public static final class Stream {
+
+        private final int m;
+        private final int l;
+        private final int b;
+        private final RealFFT fft;
+        private final float[] spectrum;
+        /** {@code m - 1} прошлых отсчетов и набираемый блок. */
+        private final float[] input;
+        private final float[] buffer;
+        private int pending;
+
+        private Stream(float[] kernel) {
+            if(kernel.length == 0 || kernel.length > MAX_BLOCK / 2) {
+                throw new IllegalArgumentException("kernel.length = " + kernel.length);
+            }
+            this.m = kernel.length;
+            // Блок не больше 8 ядер ограничивает задержку, стоимость на длинный сигнал
+            int max = (int) Math.min(MAX_BLOCK, 8L * MoreMath.nextPowerOfTwo(this.m));
+            this.l = blockSize(this.m, 64L * max, max);
+            this.b = this.l - this.m + 1;
+            this.fft = RealFFT.of(this.l);
+            this.spectrum = spectrum(this.fft, kernel);
+            this.input = new float[this.l];
+            this.buffer = new float[this.l];
+        }
+
+        /**
+         * Получает количество отсчетов результата в одном блоке.
+         *
+         * @return размер блока.
+         */
+        public int getBlockSize() {
+            return this.b;
+        }
+
+        /**
+         * Получает количество принятых отсчетов, для которых результат еще не
+         * выдан.
+         *
+         * @return количество отсчетов, меньше {@link #getBlockSize()}.
+         */
+        public int getPending() {
+            return this.pending;
+        }
+
+        /**
+         * Принимает часть сигнала и выдает результат для всех набранных
+         * блоков: не больше {@code getPending() + len} отсчетов, кратно
+         * {@link #getBlockSize()}.
+         *
+         * @param in     сигнал.
+         * @param off    смещение части.
+         * @param len    длина части.
+         * @param out    массив результата.
+         * @param outOff смещение результата.
+         * @return количество выданных отсчетов.
+         */
+        public int process(float[] in, int off, int len, float[] out, int outOff) {
+            if(in == null) throw new NullPointerException("in == null");
+            if(out == null) throw new NullPointerException("out == null");
+            if(off < 0 || len < 0 || off + (long) len > in.length) {
+                throw new IllegalArgumentException("off = " + off + ", len = " + len);
+            }
+            long required = ((long) this.pending + len) / this.b * this.b;
+            if(outOff < 0 || outOff + required > out.length) {
+                throw new IllegalArgumentException("out.length = " + out.length + ", required " + (outOff + required));
+            }
+
+            int written = 0;
+            while(len > 0) {
+                int count = Math.min(len, this.b - this.pending);
+                System.arraycopy(in, off, this.input, this.m - 1 + this.pending, count);
+                this.pending += count;
+                off += count;
+                len -= count;
+                if(this.pending == this.b) {
+                    this.block(out, outOff + written, this.b);
+                    written += this.b;
+                }
+            }
+            return written;
+        }
+
+        /**
+         * Завершает сигнал: выдает результат для оставшихся отсчетов и хвост
+         * свертки, {@code getPending() + m - 1} отсчетов, и сбрасывает
+         * состояние для нового сигнала.
+         *
+         * @param out    массив результата.
+         * @param outOff смещение результата.
+         * @return количество выданных отсчетов.
+         */
+        public int flush(float[] out, int outOff) {
+            if(out == null) throw new NullPointerException("out == null");
+            int remaining = this.pending + this.m - 1;
+            if(outOff < 0 || outOff + (long) remaining > out.length) {
+                throw new IllegalArgumentException("out.length = " + out.length + ", required " + (outOff + remaining));
+            }
+
+            int written = 0;
+            while(written < remaining) {
+                Arrays.fill(this.input, this.m - 1 + this.pending, this.l, 0.0f);
+                int count = Math.min(this.b, remaining - written);
+                this.block(out, outOff + written, count);
+                written += count;
+            }
+            Arrays.fill(this.input, 0.0f);
+            return written;
+        }
+
+        /**
+         * Сворачивает набранный блок и выдает первые {@code count} отсчетов.
+         */
+        private void block(float[] out, int outOff, int count) {
+            float[] buffer = this.buffer;
+            System.arraycopy(this.input, 0, buffer, 0, this.l);
+            this.fft.forward(buffer, 0);
+            multiply(buffer, this.spectrum, this.l);
+            this.fft.inverse(buffer, 0);
+            System.arraycopy(buffer, this.m - 1, out, outOff, count);
+            // Последние m - 1 отсчетов блока нужны следующему
+            System.arraycopy(this.input, this.b, this.input, 0, this.m - 1);
+            this.pending = 0;
+        }
+
+        @Override
+        public String toString() {
+            return this.getClass().getName() + "[kernel=" + this.m + ",block=" + this.b
+                    + ",pending=" + this.pending + "]";
+        }
+
+    }
+
+}
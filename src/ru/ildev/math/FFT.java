@@ -0,0 +1,333 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Быстрое преобразование Фурье комплексных чисел на месте. Числа лежат в
+ * массиве парами {@code (r, i)}, как после {@link ComplexArray#interleave(float[], int)}.
+ * Прямое преобразование считает
+ * <pre>
+ * X[k] = sum(x[j] * exp(-2 * pi * i * j * k / n), j = 0..n-1),
+ * </pre>
+ * обратное делит результат на {@code n}, так что обратное после прямого
+ * возвращает исходные числа.
+ * <p>
+ * Размер степени двойки считается итеративно: перестановка в
+ * бит-реверсном порядке, при нечетной степени один проход по основанию 2,
+ * дальше проходы по основанию 4. Остальные размеры сводятся алгоритмом
+ * Блюстейна к свертке размера степени двойки не меньше {@code 2n - 1}.
+ * Поворачивающие множители считаются в double один раз на размер и лежат
+ * подряд для каждого прохода. Планы неизменяемы и могут использоваться из
+ * нескольких потоков.
+ * <p>
+ * Кэшируются только планы степеней двойки, их не больше 29 и они живут до
+ * выгрузки класса. План Блюстейна держит ядро из {@code 2m} чисел и
+ * создается на каждый вызов {@link #of(int)}; при многократном
+ * использовании одного размера план стоит сохранить у себя.
+ *
+ * @author Ilyas74
+ * @see RealFFT
+ */
+public final class FFT {
+
+    /** Планы степеней двойки по размеру. */
+    private static final ConcurrentHashMap<Integer, FFT> PLANS = new ConcurrentHashMap<>();
+
+    private final int n;
+    /** Пары индексов для перестановки в бит-реверсном порядке. */
+    private final int[] swaps;
+    /** {@code true}, если первый проход по основанию 2. */
+    private final boolean radix2;
+    /**
+     * Множители проходов по основанию 4: для прохода из блоков размера m
+     * подряд {@code m} шестерок {@code cos, sin} углов {@code k, 2k, 3k}
+     * с шагом {@code 2 * pi / (4m)}.
+     */
+    private final float[] twiddles;
+
+    /** Размер свертки Блюстейна, 0 для степени двойки. */
+    private final int m;
+    /** План свертки Блюстейна. */
+    private final FFT inner;
+    /** Пары {@code exp(-pi * i * k^2 / n)}. */
+    private final float[] chirp;
+    /** Образ Фурье ядра свертки Блюстейна. */
+    private final float[] kernel;
+
+    private FFT(int n) {
+        this.n = n;
+        if(MoreMath.isPowerOfTwo(n)) {
+            int bits = Integer.numberOfTrailingZeros(n);
+            int count = 0;
+            int[] swaps = new int[n];
+            for(int j = 0; j < n; j++) {
+                int r = bits == 0 ? 0 : Integer.reverse(j) >>> (32 - bits);
+                if(j < r) {
+                    swaps[count++] = j;
+                    swaps[count++] = r;
+                }
+            }
+            this.swaps = Arrays.copyOf(swaps, count);
+            this.radix2 = (bits & 1) != 0;
+
+            int size = 0;
+            for(int s = this.radix2 ? 2 : 1; s < n; s *= 4) size += 6 * s;
+            this.twiddles = new float[size];
+            int t = 0;
+            for(int s = this.radix2 ? 2 : 1; s < n; s *= 4) {
+                double step = 2.0 * Math.PI / (4 * s);
+                for(int k = 0; k < s; k++) {
+                    for(int q = 1; q <= 3; q++) {
+                        this.twiddles[t++] = (float) Math.cos(step * q * k);
+                        this.twiddles[t++] = (float) Math.sin(step * q * k);
+                    }
+                }
+            }
+            this.m = 0;
+            this.inner = null;
+            this.chirp = null;
+            this.kernel = null;
+        } else {
+            this.swaps = null;
+            this.radix2 = false;
+            this.twiddles = null;
+            this.m = MoreMath.nextPowerOfTwo(2 * n - 2);
+            this.inner = of(this.m);
+            this.chirp = new float[2 * n];
+            for(int k = 0; k < n; k++) {
+                // k^2 по модулю 2n, чтобы угол не терял точность
+                double angle = Math.PI * ((long) k * k % (2L * n)) / n;
+                this.chirp[2 * k] = (float) Math.cos(angle);
+                this.chirp[2 * k + 1] = (float) -Math.sin(angle);
+            }
+            this.kernel = new float[2 * this.m];
+            for(int k = 0; k < n; k++) {
+                this.kernel[2 * k] = this.chirp[2 * k];
+                this.kernel[2 * k + 1] = -this.chirp[2 * k + 1];
+                if(k > 0) {
+                    this.kernel[2 * (this.m - k)] = this.chirp[2 * k];
+                    this.kernel[2 * (this.m - k) + 1] = -this.chirp[2 * k + 1];
+                }
+            }
+            this.inner.forward(this.kernel, 0);
+        }
+    }
+
+    /**
+     * Получает план преобразования. План степени двойки кэшируется, повторный
+     * вызов с тем же размером возвращает тот же объект; план другого размера
+     * создается заново.
+     *
+     * @param n количество комплексных чисел: степень двойки не больше 2^28
+     *          или другое число не больше 2^27, чтобы свертка Блюстейна
+     *          размера не меньше {@code 2n - 1} уложилась в 2^28.
+     * @return план.
+     * @throws IllegalArgumentException если размер вне этих пределов.
+     */
+    public static FFT of(int n) {
+        if(n <= 0 || n > (1 << 28)) throw new IllegalArgumentException("n = " + n);
+        if(!MoreMath.isPowerOfTwo(n)) {
+            if(n > (1 << 27)) throw new IllegalArgumentException("n = " + n + ", not a power of two above 2^27");
+            return new FFT(n);
+        }
+        FFT plan = PLANS.get(n);
+        if(plan == null) {
+            plan = new FFT(n);
+            FFT old = PLANS.putIfAbsent(n, plan);
+            if(old != null) plan = old;
+        }
+        return plan;
+    }
+
+    /**
+     * Получает размер преобразования.
+     *
+     * @return количество комплексных чисел.
+     */
+    public int getSize() {
+        return this.n;
+    }
+
+    /**
+     * Прямое преобразование на месте.
+     *
+     * @param data пары {@code (r, i)}.
+     * @param off  смещение первой пары.
+     */
+    public void forward(float[] data, int off) {
+        this.check(data, off);
+        if(this.m == 0) this.radix(data, off, 1.0f);
+        else this.bluestein(data, off);
+    }
+
+    /**
+     * Обратное преобразование на месте, с делением на {@code n}.
+     *
+     * @param data пары {@code (r, i)}.
+     * @param off  смещение первой пары.
+     */
+    public void inverse(float[] data, int off) {
+        this.check(data, off);
+        int end = off + 2 * this.n;
+        if(this.m == 0) {
+            this.radix(data, off, -1.0f);
+            float scale = 1.0f / this.n;
+            for(int j = off; j < end; j++) data[j] *= scale;
+        } else {
+            // ifft(x) = conj(fft(conj(x))) / n
+            for(int j = off + 1; j < end; j += 2) data[j] = -data[j];
+            this.bluestein(data, off);
+            float scale = 1.0f / this.n;
+            for(int j = off; j < end; j += 2) {
+                data[j] *= scale;
+                data[j + 1] *= -scale;
+            }
+        }
+    }
+
+    /**
+     * Прямое преобразование массива комплексных чисел на месте, через
+     * временный массив пар.
+     *
+     * @param data числа, длина равна размеру преобразования.
+     */
+    public void forward(ComplexArray data) {
+        float[] buffer = this.pairs(data);
+        this.forward(buffer, 0);
+        data.deinterleave(buffer, 0);
+    }
+
+    /**
+     * Обратное преобразование массива комплексных чисел на месте, с
+     * делением на {@code n}, через временный массив пар.
+     *
+     * @param data числа, длина равна размеру преобразования.
+     */
+    public void inverse(ComplexArray data) {
+        float[] buffer = this.pairs(data);
+        this.inverse(buffer, 0);
+        data.deinterleave(buffer, 0);
+    }
+
+    private float[] pairs(ComplexArray data) {
+        if(data == null) throw new NullPointerException("data == null");
+        if(data.length() != this.n) throw new IllegalArgumentException("data.length = " + data.length());
+        return data.interleave(new float[2 * this.n], 0);
+    }
+
+    private void check(float[] data, int off) {
+        if(data == null) throw new NullPointerException("data == null");
+        if(off < 0 || off + 2L * this.n > data.length) throw new IllegalArgumentException("off = " + off);
+    }
+
+    /**
+     * Преобразование степени двойки, {@code sign = 1} прямое, {@code -1}
+     * обратное без деления на n.
+     */
+    private void radix(float[] a, int off, float sign) {
+        int n = this.n;
+        int[] swaps = this.swaps;
+        for(int s = 0; s < swaps.length; s += 2) {
+            int x = off + 2 * swaps[s], y = off + 2 * swaps[s + 1];
+            float r = a[x], i = a[x + 1];
+            a[x] = a[y];
+            a[x + 1] = a[y + 1];
+            a[y] = r;
+            a[y + 1] = i;
+        }
+
+        int m = 1;
+        if(this.radix2) {
+            for(int j = off; j < off + 2 * n; j += 4) {
+                float r = a[j + 2], i = a[j + 3];
+                a[j + 2] = a[j] - r;
+                a[j + 3] = a[j + 1] - i;
+                a[j] += r;
+                a[j + 1] += i;
+            }
+            m = 2;
+        }
+
+        float[] w = this.twiddles;
+        for(int t = 0; m < n; t += 6 * m, m *= 4) {
+            int q = 2 * m;
+            for(int base = off; base < off + 2 * n; base += 4 * q) {
+                for(int k = 0, tk = t; k < m; k++, tk += 6) {
+                    float w1r = w[tk], w1i = -sign * w[tk + 1];
+                    float w2r = w[tk + 2], w2i = -sign * w[tk + 3];
+                    float w3r = w[tk + 4], w3i = -sign * w[tk + 5];
+                    int i0 = base + 2 * k, i1 = i0 + q, i2 = i1 + q, i3 = i2 + q;
+
+                    float a0r = a[i0], a0i = a[i0 + 1];
+                    float br = a[i1], bi = a[i1 + 1];
+                    float a1r = br * w2r - bi * w2i, a1i = br * w2i + bi * w2r;
+                    br = a[i2];
+                    bi = a[i2 + 1];
+                    float a2r = br * w1r - bi * w1i, a2i = br * w1i + bi * w1r;
+                    br = a[i3];
+                    bi = a[i3 + 1];
+                    float a3r = br * w3r - bi * w3i, a3i = br * w3i + bi * w3r;
+
+                    float sr = a0r + a1r, si = a0i + a1i;
+                    float dr = a0r - a1r, di = a0i - a1i;
+                    float tr = a2r + a3r, ti = a2i + a3i;
+                    // (a2 - a3) * (-i * sign)
+                    float ur = sign * (a2i - a3i), ui = -sign * (a2r - a3r);
+
+                    a[i0] = sr + tr;
+                    a[i0 + 1] = si + ti;
+                    a[i2] = sr - tr;
+                    a[i2 + 1] = si - ti;
+                    a[i1] = dr + ur;
+                    a[i1 + 1] = di + ui;
+                    a[i3] = dr - ur;
+                    a[i3 + 1] = di - ui;
+                }
+            }
+        }
+    }
+
+    /**
+     * Прямое преобразование произвольного размера:
+     * {@code X[k] = c[k] * sum(x[j] * c[j] * conj(c[k - j]))}, где
+     * {@code c[k] = exp(-pi * i * k^2 / n)}, свертка считается через
+     * преобразование размера {@code m}.
+     */
+    private void bluestein(float[] data, int off) {
+        int n = this.n, m = this.m;
+        float[] buffer = new float[2 * m];
+        float[] c = this.chirp;
+        for(int k = 0; k < n; k++) {
+            float xr = data[off + 2 * k], xi = data[off + 2 * k + 1];
+            float cr = c[2 * k], ci = c[2 * k + 1];
+            buffer[2 * k] = xr * cr - xi * ci;
+            buffer[2 * k + 1] = xr * ci + xi * cr;
+        }
+
+        this.inner.forward(buffer, 0);
+        float[] b = this.kernel;
+        for(int k = 0; k < 2 * m; k += 2) {
+            float xr = buffer[k], xi = buffer[k + 1];
+            buffer[k] = xr * b[k] - xi * b[k + 1];
+            buffer[k + 1] = xr * b[k + 1] + xi * b[k];
+        }
+        this.inner.inverse(buffer, 0);
+
+        for(int k = 0; k < n; k++) {
+            float xr = buffer[2 * k], xi = buffer[2 * k + 1];
+            float cr = c[2 * k], ci = c[2 * k + 1];
+            data[off + 2 * k] = xr * cr - xi * ci;
+            data[off + 2 * k + 1] = xr * ci + xi * cr;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getName() + "[n=" + this.n + (this.m == 0 ? "" : ",bluestein=" + this.m) + "]";
+    }
+
+}
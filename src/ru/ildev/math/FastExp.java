@@ -0,0 +1,216 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+/**
+ * Быстрые экспонента, логарифм и степень с выбираемой точностью.
+ * <p>
+ * Экспонента сводится к {@code 2<sup>x</sup> = 2<sup>n</sup> * 2<sup>f</sup>},
+ * {@code |f| <= 1/2}: множитель {@code 2<sup>n</sup>} собирается из битов порядка,
+ * {@code 2<sup>f</sup>} вычисляется минимаксным многочленом. Логарифм берет
+ * порядок числа из его битов, а логарифм мантиссы из отрезка
+ * {@code [sqrt(2)/2; sqrt(2))} вычисляет многочленом. Точность определяет
+ * степень многочлена, см. {@link Accuracy}. Вычисления идут в double, поэтому
+ * переполнение и денормализованные результаты обрабатываются приведением к float.
+ * <p>
+ * Степень вычисляется как {@code 2<sup>b * log2(a)</sup>}, поэтому абсолютная
+ * ошибка логарифма умножается на {@code b}: относительная ошибка степени растет
+ * пропорционально {@code |b * log2(a)|}.
+ *
+ * @author Ilyas74
+ */
+public final class FastExp {
+
+    /** Точность вычислений. */
+    public enum Accuracy {
+        /**
+         * Многочлены 2-й степени, без деления. Относительная ошибка экспоненты
+         * до 2e-3, абсолютная ошибка двоичного логарифма до 1.3e-3.
+         */
+        LOW,
+        /**
+         * Многочлены 3-й и 5-й степени, без деления. Относительная ошибка
+         * экспоненты до 1.1e-4, абсолютная ошибка двоичного логарифма до 3.3e-5.
+         */
+        MEDIUM,
+        /**
+         * Многочлены 7-й степени, в логарифме одно деление. Ошибка экспоненты
+         * и логарифмов не больше 1 ULP, степени не больше 2 ULP.
+         */
+        HIGH
+    }
+
+    private static final double LOG2_E = 1.44269504088896340736;
+    private static final double LN_2 = 0.69314718055994530942;
+    private static final double LOG10_2 = 0.30102999566398119521;
+    private static final double ROUND_SHIFT = 0x1.8p52;
+    /** Предел показателя степени двойки, за которым float переполняется или обнуляется. */
+    private static final double EXP2_LIMIT = 160.0;
+    /** Биты sqrt(2)/2 во float. */
+    private static final int SQRT_HALF_BITS = 0x3f3504f3;
+
+    // |(2^f - 1 - f * e(f)) / 2^f| на [-1/2; 1/2]
+    // 2e-3
+    private static final double EL0 = 0.7029417948223743;
+    private static final double EL1 = 0.23986402954316993;
+    // 1.1e-4
+    private static final double EM0 = 0.693282927111494;
+    private static final double EM1 = 0.2422109594101836;
+    private static final double EM2 = 0.05500893116081304;
+    // 3.9e-9
+    private static final double EH0 = 0.6931472253950107;
+    private static final double EH1 = 0.24022651084117275;
+    private static final double EH2 = 0.05550297314199959;
+    private static final double EH3 = 0.00961803078250985;
+    private static final double EH4 = 0.0013410000965924007;
+    private static final double EH5 = 0.0001546973197741722;
+
+    // |log2(1 + u) - u * l(u)| / log2(1 + u) на [sqrt(2)/2 - 1; sqrt(2) - 1]
+    // 2.6e-3
+    private static final double LL0 = 1.4441770466936537;
+    private static final double LL1 = -0.7511347318031666;
+    private static final double LL2 = 0.4496096942415414;
+    // 5.1e-5
+    private static final double LM0 = 1.4426462509128337;
+    private static final double LM1 = -0.7205549723003627;
+    private static final double LM2 = 0.48530651442801254;
+    private static final double LM3 = -0.39089244315129495;
+    private static final double LM4 = 0.25475187501199825;
+    // |log2(m) - s * l(s*s)| / log2(m), s = (m - 1) / (m + 1), 6.9e-10
+    private static final double LH0 = 2.885390079788926;
+    private static final double LH1 = 0.9617988476415811;
+    private static final double LH2 = 0.5767143839852636;
+    private static final double LH3 = 0.43173587861507645;
+
+    private FastExp() {}
+
+    /**
+     * Получает экспоненту числа.
+     * @param a число.
+     * @param accuracy точность.
+     * @return экспоненту числа {@code a}.
+     */
+    public static float exp(float a, Accuracy accuracy) {
+        return (float) exp2(a * LOG2_E, accuracy);
+    }
+
+    /**
+     * Возводит 2 в степень {@code a}.
+     * @param a степень.
+     * @param accuracy точность.
+     * @return 2 в степени {@code a}.
+     */
+    public static float exp2(float a, Accuracy accuracy) {
+        return (float) exp2((double) a, accuracy);
+    }
+
+    /**
+     * Расчитывает двоичный логарифм числа {@code a}.
+     * @param a число.
+     * @param accuracy точность.
+     * @return двоичный логарифм числа {@code a}.
+     */
+    public static float log2(float a, Accuracy accuracy) {
+        return (float) log2d(a, accuracy);
+    }
+
+    /**
+     * Расчитывает натуральный логарифм числа {@code a}.
+     * @param a число.
+     * @param accuracy точность.
+     * @return натуральный логарифм числа {@code a}.
+     */
+    public static float log(float a, Accuracy accuracy) {
+        return (float) (log2d(a, accuracy) * LN_2);
+    }
+
+    /**
+     * Расчитывает десятичный логарифм числа {@code a}.
+     * @param a число.
+     * @param accuracy точность.
+     * @return десятичный логарифм числа {@code a}.
+     */
+    public static float log10(float a, Accuracy accuracy) {
+        return (float) (log2d(a, accuracy) * LOG10_2);
+    }
+
+    /**
+     * Расчитывает логарифм числа {@code a} по основанию {@code base}.
+     * @param base основание логарифма.
+     * @param a число.
+     * @param accuracy точность.
+     * @return логарифм числа {@code a} по основанию {@code base}.
+     */
+    public static float log(float base, float a, Accuracy accuracy) {
+        return (float) (log2d(a, accuracy) / log2d(base, accuracy));
+    }
+
+    /**
+     * Возводит число {@code a} в степень {@code b}. Для {@code a <= 0}, бесконечности
+     * и NaN результат вычисляет {@link StrictMath#pow(double, double)}.
+     * @param a число.
+     * @param b степень.
+     * @param accuracy точность.
+     * @return число, возведенное в степень {@code b}.
+     */
+    public static float pow(float a, float b, Accuracy accuracy) {
+        if(!(a > 0.0f && a < Float.POSITIVE_INFINITY)) return (float) StrictMath.pow(a, b);
+        return (float) exp2(b * log2d(a, accuracy), accuracy);
+    }
+
+    /** 2 в степени {@code t}. */
+    private static double exp2(double t, Accuracy accuracy) {
+        t = Math.max(Math.min(t, EXP2_LIMIT), -EXP2_LIMIT);
+        double n = t + ROUND_SHIFT - ROUND_SHIFT;
+        double f = t - n;
+        double p;
+        switch(accuracy) {
+            case LOW:
+                p = 1.0 + f * (EL0 + f * EL1);
+                break;
+            case MEDIUM:
+                p = 1.0 + f * (EM0 + f * (EM1 + f * EM2));
+                break;
+            default:
+                p = 1.0 + f * (EH0 + f * (EH1 + f * (EH2 + f * (EH3 + f * (EH4 + f * EH5)))));
+                break;
+        }
+        return p * Double.longBitsToDouble((long) n + 1023 << 52);
+    }
+
+    /** Двоичный логарифм числа {@code a}. */
+    private static double log2d(float a, Accuracy accuracy) {
+        int bits = Float.floatToRawIntBits(a);
+        int e = 0;
+        if(bits < 0x00800000 || bits >= 0x7f800000) {
+            // Ноль, отрицательные и денормализованные числа, бесконечность и NaN
+            if(!(a > 0.0f)) return a == 0.0f ? Double.NEGATIVE_INFINITY : Double.NaN;
+            if(a == Float.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
+            bits = Float.floatToRawIntBits(a * 0x1p23f);
+            e = -23;
+        }
+
+        // a = 2^e * m, m из [sqrt(2)/2; sqrt(2))
+        int ix = bits - SQRT_HALF_BITS;
+        e += ix >> 23;
+        double m = Float.intBitsToFloat((ix & 0x7fffff) + SQRT_HALF_BITS);
+        double u = m - 1.0;
+        double r;
+        switch(accuracy) {
+            case LOW:
+                r = u * (LL0 + u * (LL1 + u * LL2));
+                break;
+            case MEDIUM:
+                r = u * (LM0 + u * (LM1 + u * (LM2 + u * (LM3 + u * LM4))));
+                break;
+            default:
+                double s = u / (m + 1.0);
+                double z = s * s;
+                r = s * (LH0 + z * (LH1 + z * (LH2 + z * LH3)));
+                break;
+        }
+        return e + r;
+    }
+
+}
@@ -0,0 +1,700 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+/**
+ * Тригонометрические функции на минимаксных многочленах без таблиц и без
+ * выделения памяти.
+ * <p>
+ * Функции от {@code float} вычисляются в double, ошибка не превышает 1 ULP float:
+ * <pre>
+ * sin, cos   - сведение к [-pi/2; pi/2] по кратным pi, многочлен 9-й степени, 2<sup>-27.5</sup>
+ * tan        - сведение к [-pi/4; pi/4] по кратным pi/2, многочлен fdlibm k_tanf, 2<sup>-25.5</sup>
+ * atan       - сведение к [0; sqrt(2) - 1], многочлен 11-й степени, 2<sup>-30.6</sup>
+ * asin, acos - сведение к [0; 1/2], многочлен 11-й степени, 2<sup>-27.7</sup>
+ * </pre>
+ * Угол сводится по схеме Коди-Уэйта с константами fdlibm {@code __rem_pio2f}.
+ * Знак результата и отрезок сведения выбираются битовыми операциями, а не
+ * условиями, поэтому на случайных аргументах нет ошибок предсказания переходов. Для
+ * {@code |a| > 2<sup>26</sup> * pi} сведение теряет точность, и вызов
+ * передается {@link StrictMath}.
+ * <p>
+ * Функции от {@code double} - алгоритмы fdlibm ({@code k_sin.c}, {@code k_cos.c},
+ * {@code k_tan.c}, {@code s_atan.c}, {@code e_asin.c}, {@code e_acos.c}),
+ * ошибка не превышает 1 ULP double. Угол сводится по трем частям pi/2 для
+ * {@code |a| <= 2<sup>20</sup> * pi/2}, большие углы передаются {@link StrictMath}.
+ *
+ * @author Ilyas74
+ */
+public final class FastTrig {
+
+    /** Предел угла float, до которого работает сведение по двум константам. */
+    private static final double REDUCTION_LIMIT = 0x1p26 * Math.PI;
+    /** Предел угла double, до которого работает сведение по трем константам. */
+    private static final double REDUCTION_LIMIT_D = 0x1p20 * (Math.PI / 2.0);
+
+    private static final double INV_PI = 1.0 / Math.PI;
+    private static final double INV_PIO2 = 6.36619772367581382433e-01;
+    private static final double ROUND_SHIFT = 0x1.8p52;
+
+    private static final double PI = 3.14159265358979311600e+00;
+    private static final double PIO2_HI = 1.57079632679489655800e+00;
+    private static final double PIO2_LO = 6.12323399573676603587e-17;
+    private static final double PIO4_HI = 7.85398163397448278999e-01;
+    private static final double PIO4_LO = 3.06161699786838301793e-17;
+    /** tan(pi/8) = sqrt(2) - 1. */
+    private static final double TAN_PIO8 = 0.41421356237309504880;
+    /** tan(3*pi/8) = sqrt(2) + 1. */
+    private static final double TAN_3PIO8 = 2.41421356237309504880;
+
+    /** Первые 25 бит pi/2. */
+    private static final double PIO2_1F = 1.57079631090164184570e+00;
+    /** pi/2 - PIO2_1F. */
+    private static final double PIO2_1FT = 1.58932547735281966916e-08;
+    /** Первые 25 бит pi. */
+    private static final double PI_1F = 2.0 * PIO2_1F;
+    /** pi - PI_1F. */
+    private static final double PI_1FT = 2.0 * PIO2_1FT;
+
+    // Первые 33, 66 и 99 бит pi/2 и остатки
+    private static final double PIO2_1 = 1.57079632673412561417e+00;
+    private static final double PIO2_1T = 6.07710050650619224932e-11;
+    private static final double PIO2_2 = 6.07710050630396597660e-11;
+    private static final double PIO2_2T = 2.02226624879595063154e-21;
+    private static final double PIO2_3 = 2.02226624871116645580e-21;
+    private static final double PIO2_3T = 8.47842766036889956997e-32;
+
+    // |sin(x) / x - s(x*x)| / (sin(x) / x) < 5.4e-9 на [-pi/2; pi/2]
+    private static final double SF0 = 0.9999999946860074;
+    private static final double SF1 = -0.16666656684007258;
+    private static final double SF2 = 0.008333025138971441;
+    private static final double SF3 = -0.00019807418727558693;
+    private static final double SF4 = 2.601903067914126e-06;
+
+    // fdlibm k_sinf.c, |sin(x) / x - s(x*x)| < 2^-37.5 на [-pi/4; pi/4]
+    private static final double SQ1 = -0.16666666641626524;
+    private static final double SQ2 = 0.008333329385889463;
+    private static final double SQ3 = -0.00019839334836096632;
+    private static final double SQ4 = 2.718311493989822e-06;
+
+    // fdlibm k_cosf.c, |cos(x) - c(x*x)| < 2^-34.1 на [-pi/4; pi/4]
+    private static final double CQ0 = -0.499999997251031;
+    private static final double CQ1 = 0.04166662332373906;
+    private static final double CQ2 = -0.001388676377460993;
+    private static final double CQ3 = 2.439044879627741e-05;
+
+    // fdlibm k_tanf.c, |tan(x) / x - t(x*x)| < 2^-25.5 на [-pi/4; pi/4]
+    private static final double TF0 = 0.333331395030791399758;
+    private static final double TF1 = 0.133392002712976742718;
+    private static final double TF2 = 0.0533812378445670393523;
+    private static final double TF3 = 0.0245283181166547278873;
+    private static final double TF4 = 0.00297435743359967304927;
+    private static final double TF5 = 0.00946564784943673166728;
+
+    // |atan(x) / x - a(x*x)| / (atan(x) / x) < 6.1e-10 на [0; sqrt(2) - 1]
+    private static final double AF0 = 0.9999999993966707;
+    private static final double AF1 = -0.33333307625847425;
+    private static final double AF2 = 0.19998216947900896;
+    private static final double AF3 = -0.1424008301314064;
+    private static final double AF4 = 0.10573479837621004;
+    private static final double AF5 = -0.06034790429095196;
+
+    // |asin(x) / x - p(x*x)| / (asin(x) / x) < 4.5e-9 на [0; 1/2]
+    private static final double PF0 = 0.999999995584397;
+    private static final double PF1 = 0.16666790109687488;
+    private static final double PF2 = 0.07494434758569528;
+    private static final double PF3 = 0.04555018541417819;
+    private static final double PF4 = 0.023858169119652405;
+    private static final double PF5 = 0.042635642518762465;
+
+    // fdlibm k_sin.c
+    private static final double S1 = -1.66666666666666324348e-01;
+    private static final double S2 = 8.33333333332248946124e-03;
+    private static final double S3 = -1.98412698298579493134e-04;
+    private static final double S4 = 2.75573137070700676789e-06;
+    private static final double S5 = -2.50507602534068634195e-08;
+    private static final double S6 = 1.58969099521155010221e-10;
+
+    // fdlibm k_cos.c
+    private static final double C1 = 4.16666666666666019037e-02;
+    private static final double C2 = -1.38888888888741095749e-03;
+    private static final double C3 = 2.48015872894767294178e-05;
+    private static final double C4 = -2.75573143513906633035e-07;
+    private static final double C5 = 2.08757232129817482790e-09;
+    private static final double C6 = -1.13596475577881948265e-11;
+
+    // fdlibm k_tan.c
+    private static final double T0 = 3.33333333333334091986e-01;
+    private static final double T1 = 1.33333333333201242699e-01;
+    private static final double T2 = 5.39682539762260521377e-02;
+    private static final double T3 = 2.18694882948595424599e-02;
+    private static final double T4 = 8.86323982359930005737e-03;
+    private static final double T5 = 3.59207910759131235356e-03;
+    private static final double T6 = 1.45620945432529025516e-03;
+    private static final double T7 = 5.88041240820264096874e-04;
+    private static final double T8 = 2.46463134818469906812e-04;
+    private static final double T9 = 7.81794442939557092300e-05;
+    private static final double T10 = 7.14072491382608190305e-05;
+    private static final double T11 = -1.85586374855275456654e-05;
+    private static final double T12 = 2.59073051863633712884e-05;
+
+    // fdlibm s_atan.c: atan(0.5), atan(1), atan(1.5), atan(inf)
+    private static final double[] ATAN_HI = {
+        4.63647609000806093515e-01, 7.85398163397448278999e-01,
+        9.82793723247329054082e-01, 1.57079632679489655800e+00
+    };
+    private static final double[] ATAN_LO = {
+        2.26987774529616870924e-17, 3.06161699786838301793e-17,
+        1.39033110312309984516e-17, 6.12323399573676603587e-17
+    };
+    private static final double AT0 = 3.33333333333329318027e-01;
+    private static final double AT1 = -1.99999999998764832476e-01;
+    private static final double AT2 = 1.42857142725034663711e-01;
+    private static final double AT3 = -1.11111104054623557880e-01;
+    private static final double AT4 = 9.09088713343650656196e-02;
+    private static final double AT5 = -7.69187620504482999495e-02;
+    private static final double AT6 = 6.66107313738753120669e-02;
+    private static final double AT7 = -5.83357013379057348645e-02;
+    private static final double AT8 = 4.97687799461593236017e-02;
+    private static final double AT9 = -3.65315727442169155270e-02;
+    private static final double AT10 = 1.62858201153657823623e-02;
+
+    // fdlibm e_asin.c
+    private static final double PS0 = 1.66666666666666657415e-01;
+    private static final double PS1 = -3.25565818622400915405e-01;
+    private static final double PS2 = 2.01212532134862925881e-01;
+    private static final double PS3 = -4.00555345006794114027e-02;
+    private static final double PS4 = 7.91534994289814532176e-04;
+    private static final double PS5 = 3.47933107596021167570e-05;
+    private static final double QS1 = -2.40339491173441421878e+00;
+    private static final double QS2 = 2.02094576023350569471e+00;
+    private static final double QS3 = -6.88283971605453293030e-01;
+    private static final double QS4 = 7.70381505559019352791e-02;
+
+    private static final int SIN = 0;
+    private static final int COS = 1;
+    private static final int TAN = 2;
+
+    private FastTrig() {}
+
+    // -- float ----------
+
+    /**
+     * Вычисляет синус угла.
+     * @param a угол в радианах.
+     * @return синус угла от -1 до 1.
+     */
+    public static float sin(float a) {
+        double x = a;
+        if(!(Math.abs(x) <= REDUCTION_LIMIT)) return (float) StrictMath.sin(x);
+
+        // x = n * pi + r, sin(x) = (-1)^n * sin(r)
+        double n = round(x * INV_PI);
+        double r = x - n * PI_1F - n * PI_1FT;
+        return (float) negateIf(sinKernelF(r), (long) n);
+    }
+
+    /**
+     * Вычисляет косинус угла.
+     * @param a угол в радианах.
+     * @return косинус угла от -1 до 1.
+     */
+    public static float cos(float a) {
+        double x = a;
+        if(!(Math.abs(x) <= REDUCTION_LIMIT)) return (float) StrictMath.cos(x);
+
+        // x = (n + 1/2) * pi + r, cos(x) = (-1)^(n + 1) * sin(r)
+        double n = round(x * INV_PI - 0.5);
+        double m = 2.0 * n + 1.0;
+        double r = x - m * PIO2_1F - m * PIO2_1FT;
+        return (float) negateIf(sinKernelF(r), (long) n + 1);
+    }
+
+    /**
+     * Вычисляет синус и косинус угла с одним сведением угла.
+     * @param a угол в радианах.
+     * @param out массив, в который записываются синус {@code out[off]} и косинус {@code out[off + 1]}.
+     * @param off индекс синуса в массиве {@code out}.
+     */
+    public static void sincos(float a, float[] out, int off) {
+        double x = a;
+        if(!(Math.abs(x) <= REDUCTION_LIMIT)) {
+            out[off] = (float) StrictMath.sin(x);
+            out[off + 1] = (float) StrictMath.cos(x);
+            return;
+        }
+
+        // x = n * pi/2 + r, четверть n выбирает перестановку и знаки
+        long n = (long) round(x * INV_PIO2);
+        double r = x - n * PIO2_1F - n * PIO2_1FT;
+        double s = sinKernelQ(r);
+        double c = cosKernelQ(r);
+        long odd = -(n & 1);
+        out[off] = (float) negateIf(select(odd, c, s), n >> 1);
+        out[off + 1] = (float) negateIf(select(odd, s, c), n + 1 >> 1);
+    }
+
+    /**
+     * Вычисляет синусы и косинусы углов массива {@code src}, каждый угол сводится один раз.
+     * @param src массив углов в радианах.
+     * @param off индекс первого угла в массиве {@code src}.
+     * @param sinDst массив синусов, может совпадать с {@code src}.
+     * @param sinOff индекс первого синуса в массиве {@code sinDst}.
+     * @param cosDst массив косинусов, может совпадать с {@code src}.
+     * @param cosOff индекс первого косинуса в массиве {@code cosDst}.
+     * @param len количество элементов.
+     */
+    public static void sincos(float[] src, int off, float[] sinDst, int sinOff, float[] cosDst, int cosOff, int len) {
+        for(int i = 0; i < len; i++) {
+            double x = src[off + i];
+            if(!(Math.abs(x) <= REDUCTION_LIMIT)) {
+                sinDst[sinOff + i] = (float) StrictMath.sin(x);
+                cosDst[cosOff + i] = (float) StrictMath.cos(x);
+                continue;
+            }
+
+            long n = (long) round(x * INV_PIO2);
+            double r = x - n * PIO2_1F - n * PIO2_1FT;
+            double s = sinKernelQ(r);
+            double c = cosKernelQ(r);
+            long odd = -(n & 1);
+            sinDst[sinOff + i] = (float) negateIf(select(odd, c, s), n >> 1);
+            cosDst[cosOff + i] = (float) negateIf(select(odd, s, c), n + 1 >> 1);
+        }
+    }
+
+    /**
+     * Вычисляет тангенс угла.
+     * @param a угол в радианах.
+     * @return тангенс угла.
+     */
+    public static float tan(float a) {
+        double x = a;
+        if(!(Math.abs(x) <= REDUCTION_LIMIT)) return (float) StrictMath.tan(x);
+
+        // x = n * pi/2 + r, tan(x) = tan(r) для четного n и -1/tan(r) для нечетного
+        double n = round(x * INV_PIO2);
+        double r = x - n * PIO2_1F - n * PIO2_1FT;
+        double z = r * r;
+        double w = z * z;
+        double s = z * r;
+        double t = (r + s * (TF0 + z * TF1)) + (s * w) * ((TF2 + z * TF3) + w * (TF4 + z * TF5));
+        // Без перехода по четности: t / 1 или -1 / t
+        double odd = (long) n & 1;
+        return (float) ((t - odd * (t + 1.0)) / (1.0 + odd * (t - 1.0)));
+    }
+
+    /**
+     * Вычисляет арктангенс числа.
+     * @param a число.
+     * @return арктангенс числа, угол от <i>-pi/2</i> до <i>pi/2</i>.
+     */
+    public static float atan(float a) {
+        return (float) copySign(atanF(Math.abs((double) a)), a);
+    }
+
+    /**
+     * Расчитывает угол поворота точки с координатами {@code (x;y)} вокруг оси OX.
+     * В отличии от {@link MoreMath#atan2(float, float)} ошибка не превышает 1 ULP.
+     * @param y y-координата точки.
+     * @param x x-координата точки.
+     * @return угол поворота точки от <i>-pi</i> до <i>pi</i>.
+     */
+    public static float atan2(float y, float x) {
+        double ax = Math.abs((double) x);
+        double ay = Math.abs((double) y);
+        if(!(ax + ay < Double.POSITIVE_INFINITY) || ax + ay == 0.0) return (float) StrictMath.atan2(y, x);
+
+        double r = ay > ax ? PIO2_HI - atanF(ax / ay) : atanF(ay / ax);
+        if(x < 0.0f) r = PI - r;
+        return (float) copySign(r, y);
+    }
+
+    /**
+     * Вычисляет арксинус числа.
+     * @param a число от -1 до 1.
+     * @return арксинус числа, угол от <i>-pi/2</i> до <i>pi/2</i>.
+     */
+    public static float asin(float a) {
+        // Для x > 1/2: asin(x) = pi/2 - 2 * asin(sqrt((1 - x) / 2)), отрезок выбирается без переходов
+        double x = Math.abs((double) a);
+        long mask = Double.doubleToRawLongBits(0.5 - x) >> 63;
+        double big = mask & 1;
+        double r = asinKernelF(select(mask, Math.sqrt((1.0 - x) * 0.5), x));
+        return (float) copySign(PIO2_HI * big + (1.0 - 3.0 * big) * r, a);
+    }
+
+    /**
+     * Вычисляет арккосинус числа.
+     * @param a число от -1 до 1.
+     * @return арккосинус числа, угол от 0 до <i>pi</i>.
+     */
+    public static float acos(float a) {
+        // acos(x) = pi/2 - asin(x) для x <= 1/2 и 2 * asin(sqrt((1 - x) / 2)) для x > 1/2,
+        // acos(-x) = pi - acos(x)
+        double x = Math.abs((double) a);
+        long mask = Double.doubleToRawLongBits(0.5 - x) >> 63;
+        double big = mask & 1;
+        double r = asinKernelF(select(mask, Math.sqrt((1.0 - x) * 0.5), x));
+        r = PIO2_HI * (1.0 - big) + (3.0 * big - 1.0) * r;
+        double negative = Float.floatToRawIntBits(a) >>> 31;
+        return (float) (PI * negative + (1.0 - 2.0 * negative) * r);
+    }
+
+    /** Синус на отрезке {@code [-pi/2; pi/2]}. */
+    private static double sinKernelF(double x) {
+        double z = x * x;
+        return x * (SF0 + z * (SF1 + z * (SF2 + z * (SF3 + z * SF4))));
+    }
+
+    /** Синус на отрезке {@code [-pi/4; pi/4]}. */
+    private static double sinKernelQ(double x) {
+        double z = x * x;
+        return x * (1.0 + z * (SQ1 + z * (SQ2 + z * (SQ3 + z * SQ4))));
+    }
+
+    /** Косинус на отрезке {@code [-pi/4; pi/4]}. */
+    private static double cosKernelQ(double x) {
+        double z = x * x;
+        double w = z * z;
+        return ((1.0 + z * CQ0) + w * CQ1) + (w * z) * (CQ2 + z * CQ3);
+    }
+
+    /**
+     * Арктангенс неотрицательного числа. Отрезок выбирается без переходов
+     * по знаку разностей, деление одно:
+     * <pre>
+     * [0; sqrt(2) - 1]            atan(x)                         p = 1, q = 0
+     * [sqrt(2) - 1; sqrt(2) + 1]  pi/4 + atan((x - 1) / (x + 1))  p = 1, q = 1
+     * [sqrt(2) + 1; inf]          pi/2 + atan(-1 / x)             p = 0, q = 1
+     * </pre>
+     * т.е. {@code atan(x) = atan(q / p) + atan((p*x - q) / (p + q*x))}.
+     */
+    private static double atanF(double x) {
+        // Бесконечность дала бы inf * 0 в числителе
+        x = Math.min(x, 0x1p60);
+        double q = Double.doubleToRawLongBits(TAN_PIO8 - x) >>> 63;
+        double p = 1.0 - (Double.doubleToRawLongBits(TAN_3PIO8 - x) >>> 63);
+        return PIO4_HI * (q + 1.0 - p) + atanKernelF((p * x - q) / (p + q * x));
+    }
+
+    /** Арктангенс на отрезке {@code [-(sqrt(2) - 1); sqrt(2) - 1]}. */
+    private static double atanKernelF(double x) {
+        double z = x * x;
+        return x * (AF0 + z * (AF1 + z * (AF2 + z * (AF3 + z * (AF4 + z * AF5)))));
+    }
+
+    /** Арксинус на отрезке {@code [0; 1/2]}. */
+    private static double asinKernelF(double x) {
+        double z = x * x;
+        return x * (PF0 + z * (PF1 + z * (PF2 + z * (PF3 + z * (PF4 + z * PF5)))));
+    }
+
+    // -- double ----------
+
+    /**
+     * Вычисляет синус угла.
+     * @param a угол в радианах.
+     * @return синус угла от -1 до 1.
+     */
+    public static double sin(double a) {
+        return trig(a, SIN);
+    }
+
+    /**
+     * Вычисляет косинус угла.
+     * @param a угол в радианах.
+     * @return косинус угла от -1 до 1.
+     */
+    public static double cos(double a) {
+        return trig(a, COS);
+    }
+
+    /**
+     * Вычисляет тангенс угла.
+     * @param a угол в радианах.
+     * @return тангенс угла.
+     */
+    public static double tan(double a) {
+        return trig(a, TAN);
+    }
+
+    /**
+     * Вычисляет арктангенс числа.
+     * @param a число.
+     * @return арктангенс числа, угол от <i>-pi/2</i> до <i>pi/2</i>.
+     */
+    public static double atan(double a) {
+        double x = Math.abs(a);
+        if(x != x) return a;
+        if(x >= 0x1p66) return a > 0.0 ? ATAN_HI[3] + ATAN_LO[3] : -ATAN_HI[3] - ATAN_LO[3];
+
+        int id;
+        if(x < 0.4375) {
+            if(x < 0x1p-29) return a;
+            id = -1;
+            x = a;
+        } else if(x < 0.6875) {
+            id = 0;
+            x = (2.0 * x - 1.0) / (2.0 + x);
+        } else if(x < 1.1875) {
+            id = 1;
+            x = (x - 1.0) / (x + 1.0);
+        } else if(x < 2.4375) {
+            id = 2;
+            x = (x - 1.5) / (1.0 + 1.5 * x);
+        } else {
+            id = 3;
+            x = -1.0 / x;
+        }
+
+        double z = x * x;
+        double w = z * z;
+        double s1 = z * (AT0 + w * (AT2 + w * (AT4 + w * (AT6 + w * (AT8 + w * AT10)))));
+        double s2 = w * (AT1 + w * (AT3 + w * (AT5 + w * (AT7 + w * AT9))));
+        if(id < 0) return x - x * (s1 + s2);
+
+        z = ATAN_HI[id] - ((x * (s1 + s2) - ATAN_LO[id]) - x);
+        return a < 0.0 ? -z : z;
+    }
+
+    /**
+     * Вычисляет арксинус числа.
+     * @param a число от -1 до 1.
+     * @return арксинус числа, угол от <i>-pi/2</i> до <i>pi/2</i>.
+     */
+    public static double asin(double a) {
+        double x = Math.abs(a);
+        if(!(x < 1.0)) return x == 1.0 ? a * PIO2_HI + a * PIO2_LO : Double.NaN;
+
+        if(x < 0.5) {
+            if(x < 0x1p-26) return a;
+            return a + a * asinRatio(a * a);
+        }
+
+        // asin(x) = pi/2 - 2 * asin(sqrt((1 - x) / 2))
+        double t = (1.0 - x) * 0.5;
+        double s = Math.sqrt(t);
+        double r;
+        if(x >= 0.975) {
+            r = PIO2_HI - (2.0 * (s + s * asinRatio(t)) - PIO2_LO);
+        } else {
+            double w = clearLow(s);
+            double c = (t - w * w) / (s + w);
+            double p = 2.0 * s * asinRatio(t) - (PIO2_LO - 2.0 * c);
+            double q = PIO4_HI - 2.0 * w;
+            r = PIO4_HI - (p - q);
+        }
+        return a > 0.0 ? r : -r;
+    }
+
+    /**
+     * Вычисляет арккосинус числа.
+     * @param a число от -1 до 1.
+     * @return арккосинус числа, угол от 0 до <i>pi</i>.
+     */
+    public static double acos(double a) {
+        double x = Math.abs(a);
+        if(!(x < 1.0)) {
+            if(a == 1.0) return 0.0;
+            if(a == -1.0) return PI + 2.0 * PIO2_LO;
+            return Double.NaN;
+        }
+
+        if(x < 0.5) {
+            if(x <= 0x1p-57) return PIO2_HI + PIO2_LO;
+            return PIO2_HI - (a - (PIO2_LO - a * asinRatio(a * a)));
+        } else if(a < 0.0) {
+            double z = (1.0 + a) * 0.5;
+            double s = Math.sqrt(z);
+            double w = asinRatio(z) * s - PIO2_LO;
+            return PI - 2.0 * (s + w);
+        } else {
+            double z = (1.0 - a) * 0.5;
+            double s = Math.sqrt(z);
+            double d = clearLow(s);
+            double c = (z - d * d) / (s + d);
+            double w = asinRatio(z) * s + c;
+            return 2.0 * (d + w);
+        }
+    }
+
+    /**
+     * Сводит угол к {@code [-pi/4; pi/4]} и вычисляет функцию. Аргумент
+     * {@code function} - константа, поэтому после встраивания выбор исчезает.
+     */
+    private static double trig(double x, int function) {
+        double ax = Math.abs(x);
+        if(ax <= PIO4_HI) {
+            switch(function) {
+                case SIN: return sinKernel(x, 0.0, false);
+                case COS: return cosKernel(x, 0.0);
+                default: return tanKernel(x, 0.0, 1);
+            }
+        }
+        if(!(ax <= REDUCTION_LIMIT_D)) {
+            switch(function) {
+                case SIN: return StrictMath.sin(x);
+                case COS: return StrictMath.cos(x);
+                default: return StrictMath.tan(x);
+            }
+        }
+
+        // fdlibm __ieee754_rem_pio2 для средних углов: x = n * pi/2 + y0 + y1
+        double fn = round(x * INV_PIO2);
+        int n = (int) fn;
+        double r = x - fn * PIO2_1;
+        double w = fn * PIO2_1T;
+        double y0 = r - w;
+        int e = exponent(x);
+        if(e - exponent(y0) > 16) {
+            // Сокращение битов, вторая итерация на 118 бит
+            double t = r;
+            w = fn * PIO2_2;
+            r = t - w;
+            w = fn * PIO2_2T - ((t - r) - w);
+            y0 = r - w;
+            if(e - exponent(y0) > 49) {
+                // Третья итерация на 151 бит
+                t = r;
+                w = fn * PIO2_3;
+                r = t - w;
+                w = fn * PIO2_3T - ((t - r) - w);
+                y0 = r - w;
+            }
+        }
+        double y1 = (r - y0) - w;
+
+        switch(function) {
+            case SIN:
+                switch(n & 3) {
+                    case 0: return sinKernel(y0, y1, true);
+                    case 1: return cosKernel(y0, y1);
+                    case 2: return -sinKernel(y0, y1, true);
+                    default: return -cosKernel(y0, y1);
+                }
+            case COS:
+                switch(n & 3) {
+                    case 0: return cosKernel(y0, y1);
+                    case 1: return -sinKernel(y0, y1, true);
+                    case 2: return -cosKernel(y0, y1);
+                    default: return sinKernel(y0, y1, true);
+                }
+            default:
+                return tanKernel(y0, y1, 1 - ((n & 1) << 1));
+        }
+    }
+
+    /** fdlibm {@code __kernel_sin}, {@code y} - хвост угла {@code x}. */
+    private static double sinKernel(double x, double y, boolean tail) {
+        if(!tail && Math.abs(x) < 0x1p-27) return x;
+
+        double z = x * x;
+        double v = z * x;
+        double r = S2 + z * (S3 + z * (S4 + z * (S5 + z * S6)));
+        if(!tail) return x + v * (S1 + z * r);
+        return x - ((z * (0.5 * y - v * r) - y) - v * S1);
+    }
+
+    /** fdlibm {@code __kernel_cos}, {@code y} - хвост угла {@code x}. */
+    private static double cosKernel(double x, double y) {
+        double z = x * x;
+        double w = z * z;
+        double r = z * (C1 + z * (C2 + z * C3)) + w * w * (C4 + z * (C5 + z * C6));
+        double hz = 0.5 * z;
+        w = 1.0 - hz;
+        return w + (((1.0 - w) - hz) + (z * r - x * y));
+    }
+
+    /**
+     * fdlibm {@code __kernel_tan}, {@code y} - хвост угла {@code x}.
+     * Вычисляет tan при {@code iy == 1} и -1/tan при {@code iy == -1}.
+     */
+    private static double tanKernel(double x, double y, int iy) {
+        if(iy == 1 && Math.abs(x) < 0x1p-28) return x;
+
+        boolean big = Math.abs(x) >= 0.6744;
+        boolean negative = x < 0.0;
+        if(big) {
+            // tan(x) = tan(pi/4 - (pi/4 - x))
+            if(negative) {
+                x = -x;
+                y = -y;
+            }
+            x = (PIO4_HI - x) + (PIO4_LO - y);
+            y = 0.0;
+        }
+        double z = x * x;
+        double w = z * z;
+        double r = T1 + w * (T3 + w * (T5 + w * (T7 + w * (T9 + w * T11))));
+        double v = z * (T2 + w * (T4 + w * (T6 + w * (T8 + w * (T10 + w * T12)))));
+        double s = z * x;
+        r = y + z * (s * (r + v) + y);
+        r += T0 * s;
+        w = x + r;
+        if(big) {
+            v = iy;
+            double t = v - 2.0 * (x - (w * w / (w + v) - r));
+            return negative ? -t : t;
+        }
+        if(iy == 1) return w;
+
+        // -1 / (x + r) с поправкой, точнее простого деления
+        z = clearLow(w);
+        v = r - (z - x);
+        double a = -1.0 / w;
+        double t = clearLow(a);
+        s = 1.0 + t * z;
+        return t + a * (s + t * v);
+    }
+
+    /** Отношение многочленов fdlibm {@code e_asin.c}, равное {@code asin(sqrt(t)) / sqrt(t) - 1}. */
+    private static double asinRatio(double t) {
+        double p = t * (PS0 + t * (PS1 + t * (PS2 + t * (PS3 + t * (PS4 + t * PS5)))));
+        double q = 1.0 + t * (QS1 + t * (QS2 + t * (QS3 + t * QS4)));
+        return p / q;
+    }
+
+    // -- Вспомогательные функции ----------
+
+    /**
+     * Округляет до ближайшего целого прибавлением и вычитанием 1.5 * 2^52, что
+     * быстрее {@link Math#rint(double)}, если у JIT нет для него интринсика.
+     * Работает для {@code |x| < 2^51}.
+     */
+    private static double round(double x) {
+        return x + ROUND_SHIFT - ROUND_SHIFT;
+    }
+
+    /** Меняет знак {@code v}, если {@code n} нечетное. */
+    private static double negateIf(double v, long n) {
+        return Double.longBitsToDouble(Double.doubleToRawLongBits(v) ^ n << 63);
+    }
+
+    /**
+     * Ставит неотрицательному {@code v} знак {@code a}. В отличии от
+     * {@link Math#copySign(double, double)} не требует перевода {@code a} в double.
+     */
+    private static double copySign(double v, float a) {
+        long sign = (long) (Float.floatToRawIntBits(a) & 0x80000000) << 32;
+        return Double.longBitsToDouble(Double.doubleToRawLongBits(v) | sign);
+    }
+
+    /** Выбирает {@code a}, если все биты {@code mask} единицы, и {@code b}, если нули. */
+    private static double select(long mask, double a, double b) {
+        long bitsB = Double.doubleToRawLongBits(b);
+        return Double.longBitsToDouble(bitsB ^ (Double.doubleToRawLongBits(a) ^ bitsB) & mask);
+    }
+
+    /** Обнуляет младшие 32 бита мантиссы. */
+    private static double clearLow(double x) {
+        return Double.longBitsToDouble(Double.doubleToRawLongBits(x) & 0xFFFFFFFF00000000L);
+    }
+
+    /** Смещенный порядок числа. */
+    private static int exponent(double x) {
+        return (int) (Double.doubleToRawLongBits(x) >>> 52) & 0x7FF;
+    }
+
+}
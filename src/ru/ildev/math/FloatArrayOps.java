@@ -0,0 +1,108 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+/**
+ * Реализация операций над массивами действительных чисел, используемая
+ * {@link MoreMath}. Этот класс содержит скалярные циклы; если в JVM подключен
+ * модуль {@code jdk.incubator.vector} и в classpath есть модуль MathIL-vector,
+ * то {@link #INSTANCE} будет реализацией на основе {@code FloatVector}.
+ * <p>
+ * Векторная реализация суммирует в другом порядке, поэтому результат
+ * {@link #sum} может отличаться от скалярного в пределах ошибки округления. Отключить её можно свойством
+ * {@code -Dru.ildev.math.vector=false}.
+ *
+ * @author Ilyas74
+ */
+class FloatArrayOps {
+
+    /** Имя класса векторной реализации. */
+    private static final String VECTOR_OPS = "ru.ildev.math.VectorFloatArrayOps";
+
+    /** Реализация, выбранная при загрузке класса. */
+    static final FloatArrayOps INSTANCE = load();
+
+    private static FloatArrayOps load() {
+        if(Boolean.parseBoolean(System.getProperty("ru.ildev.math.vector", "true"))) {
+            try {
+                return (FloatArrayOps) Class.forName(VECTOR_OPS).newInstance();
+            } catch(ClassNotFoundException | LinkageError | InstantiationException | IllegalAccessException e) {
+                // Модуля jdk.incubator.vector нет, используем скалярный код.
+            }
+        }
+        return new FloatArrayOps();
+    }
+
+    FloatArrayOps() {}
+
+    /**
+     * Получает {@code true}, если операции выполняются векторными инструкциями.
+     * @return {@code true}, если это векторная реализация.
+     */
+    boolean isVectorized() {
+        return false;
+    }
+
+    float sum(float[] src, int off, int len) {
+        float sum = 0.0f;
+        for(int i = 0; i < len; i++) {
+            sum += src[off + i];
+        }
+        return sum;
+    }
+
+    float min(float[] src, int off, int len) {
+        float min = src[off];
+        for(int i = 1; i < len; i++) {
+            float a = src[off + i];
+            if(a < min) min = a;
+        }
+        return min;
+    }
+
+    float max(float[] src, int off, int len) {
+        float max = src[off];
+        for(int i = 1; i < len; i++) {
+            float a = src[off + i];
+            if(a > max) max = a;
+        }
+        return max;
+    }
+
+    void cumSum(float[] src, int off, float[] dst, int dstOff, int len) {
+        float sum = 0.0f;
+        for(int i = 0; i < len; i++) {
+            sum += src[off + i];
+            dst[dstOff + i] = sum;
+        }
+    }
+
+    void lerp(float[] a, int aOff, float[] b, int bOff, float alpha, float[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            float x = a[aOff + i];
+            dst[dstOff + i] = x + alpha * (b[bOff + i] - x);
+        }
+    }
+
+    void map(float[] src, int off, float low1, float high1, float low2, float high2, float[] dst, int dstOff, int len) {
+        float scale = (high2 - low2) / (high1 - low1);
+        for(int i = 0; i < len; i++) {
+            dst[dstOff + i] = low2 + (src[off + i] - low1) * scale;
+        }
+    }
+
+    void clamp(float[] src, int off, float low, float high, float[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            float a = src[off + i];
+            dst[dstOff + i] = a < low ? low : a > high ? high : a;
+        }
+    }
+
+    void sqrt(float[] src, int off, float[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            dst[dstOff + i] = (float) Math.sqrt(src[off + i]);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+/**
+ * Способ сложения октав фрактального шума. Октава со значением шума
+ * {@code n} и амплитудой {@code a} добавляет к сумме {@code a * shape(n)}.
+ * Для {@code n} из {@code [-1, 1]} {@code |shape(n)| <= 1}, но шум Перлина
+ * в 3D и 4D может немного выходить за {@code [-1, 1]}, поэтому оценка
+ * «октава меняет результат не больше чем на свою амплитуду» приближенная.
+ * Значение не обрезается, чтобы не менять форму шума.
+ *
+ * @author Ilyas74
+ * @see Noise#fractal3D(float, float, float)
+ */
+public enum Fractal {
+
+    /**
+     * Фрактальное броуновское движение, сумма самих значений октав.
+     */
+    FBM {
+        @Override
+        public float shape(float n) {
+            return n;
+        }
+    },
+    /**
+     * «Хребты»: {@code (1 - |n|)^2}, острые гребни там, где шум проходит
+     * через ноль.
+     */
+    RIDGED {
+        @Override
+        public float shape(float n) {
+            float r = 1.0f - Math.abs(n);
+            return r * r;
+        }
+    },
+    /**
+     * «Облака»: {@code 2|n| - 1}, округлые вздутия с резкими впадинами.
+     */
+    BILLOW {
+        @Override
+        public float shape(float n) {
+            return 2.0f * Math.abs(n) - 1.0f;
+        }
+    },
+    /**
+     * Турбулентность Перлина, сумма модулей {@code |n|}.
+     */
+    TURBULENCE {
+        @Override
+        public float shape(float n) {
+            return Math.abs(n);
+        }
+    };
+
+    /**
+     * Преобразует значение одной октавы.
+     *
+     * @param n значение шума октавы.
+     * @return вклад октавы при единичной амплитуде.
+     */
+    public abstract float shape(float n);
+
+}
@@ -0,0 +1,183 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Параллельное преобразование Фурье двухмерных и трехмерных сеток
+ * комплексных чисел на месте. Числа лежат парами {@code (r, i)}, точка
+ * {@code (x, y, z)} под номером {@code (z * height + y) * width + x}.
+ * Преобразование раскладывается на одномерные {@link FFT} по каждой оси:
+ * сначала по строкам, потом по столбцам, потом по z. Строки независимы и
+ * считаются задачами на {@link ForkJoinPool} или переданном
+ * {@link Executor}.
+ * <p>
+ * Строки лежат в массиве подряд и считаются на месте. Столбцы и линии по
+ * z идут с большим шагом, поэтому задача берет блок из {@link #BLOCK}
+ * соседних столбцов, переписывает его транспонированным в буфер потока,
+ * считает столбцы как строки буфера и переписывает обратно. Из каждой
+ * строки сетки читается 128 байт подряд, а не по одному числу с каждой
+ * строки. Результат не зависит от количества потоков.
+ *
+ * @author Ilyas74
+ * @see FFT
+ */
+public final class GridFFT {
+
+    /** Количество столбцов в блоке транспонирования, 16 пар по 8 байт. */
+    public static final int BLOCK = 16;
+
+    private final Executor executor;
+    private final ThreadLocal<float[]> buffers = new ThreadLocal<>();
+
+    /**
+     * Создает преобразование на общем {@link ForkJoinPool#commonPool()}.
+     */
+    public GridFFT() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Создает преобразование.
+     *
+     * @param executor исполнитель задач, например {@link ForkJoinPool}.
+     */
+    public GridFFT(Executor executor) {
+        if(executor == null) throw new NullPointerException("executor == null");
+        this.executor = executor;
+    }
+
+    /**
+     * Прямое преобразование двухмерной сетки.
+     *
+     * @param data   пары {@code (r, i)}, не меньше {@code 2 * width * height} чисел.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     */
+    public void forward2D(float[] data, int width, int height) {
+        this.transform(data, width, height, 1, false);
+    }
+
+    /**
+     * Обратное преобразование двухмерной сетки, с делением на
+     * {@code width * height}.
+     *
+     * @param data   пары {@code (r, i)}, не меньше {@code 2 * width * height} чисел.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     */
+    public void inverse2D(float[] data, int width, int height) {
+        this.transform(data, width, height, 1, true);
+    }
+
+    /**
+     * Прямое преобразование трехмерной сетки.
+     *
+     * @param data   пары {@code (r, i)}, не меньше {@code 2 * width * height * depth} чисел.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param depth  количество точек по z.
+     */
+    public void forward3D(float[] data, int width, int height, int depth) {
+        this.transform(data, width, height, depth, false);
+    }
+
+    /**
+     * Обратное преобразование трехмерной сетки, с делением на
+     * {@code width * height * depth}.
+     *
+     * @param data   пары {@code (r, i)}, не меньше {@code 2 * width * height * depth} чисел.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param depth  количество точек по z.
+     */
+    public void inverse3D(float[] data, int width, int height, int depth) {
+        this.transform(data, width, height, depth, true);
+    }
+
+    private void transform(float[] data, int width, int height, int depth, boolean inverse) {
+        if(data == null) throw new NullPointerException("data == null");
+        if(width <= 0) throw new IllegalArgumentException("width = " + width);
+        if(height <= 0) throw new IllegalArgumentException("height = " + height);
+        if(depth <= 0) throw new IllegalArgumentException("depth = " + depth);
+        long n = 2L * width * height * depth;
+        if(n > data.length) throw new IllegalArgumentException("data.length = " + data.length + ", required " + n);
+
+        int slice = width * height;
+        if(width > 1) this.axis(data, width, 1, width, height * depth, 1, 0, inverse);
+        if(height > 1) this.axis(data, height, width, 1, width, depth, slice, inverse);
+        if(depth > 1) this.axis(data, depth, slice, 1, slice, 1, 0, inverse);
+    }
+
+    /**
+     * Преобразует линии длины {@code n} с шагом точек {@code stride}:
+     * {@code groups} групп через {@code groupStep} точек, в группе
+     * {@code lines} линий через {@code lineStep} точек.
+     */
+    private void axis(float[] data, int n, int stride, int lineStep, int lines,
+                      int groups, int groupStep, boolean inverse) {
+        FFT fft = FFT.of(n);
+        int blocks = (lines + BLOCK - 1) / BLOCK;
+        int count = groups * blocks;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[count];
+        for(int t = 0; t < count; t++) {
+            final int start = t / blocks * groupStep + t % blocks * BLOCK * lineStep;
+            final int size = Math.min(BLOCK, lines - t % blocks * BLOCK);
+            futures[t] = CompletableFuture.runAsync(() -> {
+                if(stride == 1) {
+                    for(int b = 0; b < size; b++) run(fft, data, 2 * (start + b * lineStep), inverse);
+                } else {
+                    this.block(fft, data, start, size, stride, inverse);
+                }
+            }, this.executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch(CompletionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if(cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Преобразует {@code size} соседних линий с шагом {@code stride} через
+     * транспонированный буфер: линия {@code b} становится строкой буфера.
+     */
+    private void block(FFT fft, float[] data, int start, int size, int stride, boolean inverse) {
+        int n = fft.getSize();
+        float[] buffer = this.buffers.get();
+        if(buffer == null || buffer.length < 2 * BLOCK * n) {
+            buffer = new float[2 * BLOCK * n];
+            this.buffers.set(buffer);
+        }
+
+        for(int e = 0; e < n; e++) {
+            int src = 2 * (start + e * stride);
+            for(int b = 0; b < size; b++) {
+                buffer[2 * (b * n + e)] = data[src + 2 * b];
+                buffer[2 * (b * n + e) + 1] = data[src + 2 * b + 1];
+            }
+        }
+        for(int b = 0; b < size; b++) run(fft, buffer, 2 * b * n, inverse);
+        for(int e = 0; e < n; e++) {
+            int dst = 2 * (start + e * stride);
+            for(int b = 0; b < size; b++) {
+                data[dst + 2 * b] = buffer[2 * (b * n + e)];
+                data[dst + 2 * b + 1] = buffer[2 * (b * n + e) + 1];
+            }
+        }
+    }
+
+    private static void run(FFT fft, float[] data, int off, boolean inverse) {
+        if(inverse) fft.inverse(data, off);
+        else fft.forward(data, off);
+    }
+
+}
@@ -14,11 +14,26 @@ import java.util.Random;
  */
 public final class MoreMath {
 
-    /** Генератор случайных чисел. */
+    /**
+     * Общий генератор случайных чисел.
+     * @deprecated все потоки меняют одно атомарное зерно, что при
+     * параллельной выборке становится узким местом. Методы {@link #random()},
+     * {@link #gaussian()} и {@link #chance(float)} больше его не используют;
+     * следует использовать {@link #threadRandom()} или свой {@link SplitRandom}.
+     */
+    @Deprecated
     public static final Random random = new Random();
-    /** Генератор шума Перлина. */
+    /** Генераторы случайных чисел потоков, заменяется {@link #setRandomSeed(long)}. */
+    private static volatile RandomSource.PerThread randomSource = new RandomSource.PerThread(System.nanoTime());
+    /**
+     * Генератор шума Перлина. Смена его параметров или сида безопасна
+     * при одновременной выборке из других потоков, см. {@link Noise#getConfig()}.
+     */
     public static final Noise noise = new Noise();
 
+    /** Операции над массивами, скалярные или векторные. */
+    private static final FloatArrayOps ops = FloatArrayOps.INSTANCE;
+
     /** Число <i>e</i>, основание натуральных логарифмов. <i>e</i> = {@value #E}. */
     public static final float E = 2.71828182845904523536f;
     /** Натуральный логарифм числа 2. <i>log 2</i> = {@value #LN_2}. */
@@ -72,30 +87,21 @@ public final class MoreMath {
      * Флаг, определяющий, будут ли включены таблицы синусов и косинусов, т.е.
      * значения синусов и косинусов будут браться из таблицы, при этом значения
      * могут быть не точными, но может увеличиться произодительность .
+     * @deprecated флаг изменяем и читается при каждом вызове, поэтому JIT не может
+     * его свернуть. Следует сохранить нужный {@link TrigProvider} в {@code final} поле.
      */
+    @Deprecated
     public static boolean LUT_ENABLED = true;
     /**
      * Флаг линейной интерполяции значений таблиц синусов и косинусов. Если он
      * включен, то значения синусов и косинусов буден возвращаться не строго
      * из таблиц, а будут расчитываться между этими значениями.
+     * @deprecated см. {@link #LUT_ENABLED}, вместо флага используется
+     * {@link TrigProvider#TABLE_LERP} или {@link TrigProvider#TABLE}.
      */
+    @Deprecated
     public static boolean LUT_LERP = true;
 
-    private static final int TABLE_SIZE_BITS = 12;
-    private static final int TABLE_SIZE = 1 << TABLE_SIZE_BITS;
-    private static final int TABLE_SIZE_MASK = TABLE_SIZE - 1;
-    private static final float CONVERSION_FACTOR = TABLE_SIZE / TWO_PI;
-
-    /** Таблица значений синусов и косинусов от 0 до 2*PI. */
-    private static final float[] sinTable = new float[TABLE_SIZE];
-    private static final float[] cosTable = new float[TABLE_SIZE];
-    static {
-        for(int i = 0; i < TABLE_SIZE; i++) {
-            sinTable[i] = (float) StrictMath.sin(i / CONVERSION_FACTOR);
-            cosTable[i] = (float) StrictMath.cos(i / CONVERSION_FACTOR);
-        }
-    }
-
     // -- Математика --------
 
     /**
@@ -422,19 +428,14 @@ public final class MoreMath {
     }
 
     /**
-     * Получает меньшее из множества действительных чисел.
+     * Получает меньшее из множества действительных чисел. Значения {@code NaN}
+     * пропускаются, если только {@code NaN} не стоит первым.
      * @param n множество действительных чисел.
      * @return меньшее из действительных чисел.
      */
     public static float min(float[] n) {
         //if(n == null) throw new NullPointerException("n == null");
-        float min = n[0];
-        for(int i = 1; i < n.length; i++) {
-            if(n[i] < min) {
-                min = n[i];
-            }
-        }
-        return min;
+        return ops.min(n, 0, n.length);
     }
 
     /**
@@ -496,19 +497,14 @@ public final class MoreMath {
     }
 
     /**
-     * Получает большее из множества действительных чисел.
+     * Получает большее из множества действительных чисел. Значения {@code NaN}
+     * пропускаются, если только {@code NaN} не стоит первым.
      * @param n множество действительных чисел.
      * @return большее из действительных чисел.
      */
     public static float max(float[] n) {
         //if(n == null) throw new NullPointerException("n == null");
-        float max = n[0];
-        for(int i = 1; i < n.length; i++) {
-            if(n[i] > max) {
-                max = n[i];
-            }
-        }
-        return max;
+        return ops.max(n, 0, n.length);
     }
 
     /**
@@ -539,12 +535,14 @@ public final class MoreMath {
      * @param y1 y координата первой точки.
      * @param x2 x координата второй точки.
      * @param y2 y координата второй точки.
-     * @return расстояние между двумя двухмерными точками.
+     * @return расстояние между двумя двухмерными точками, без переполнения
+     * для любых конечных координат.
      */
     public static float dist(float x1, float y1, float x2, float y2) {
         float x = x1 - x2;
         float y = y1 - y2;
-        return sqrt(x * x + y * y);
+        float s = x * x + y * y;
+        return isSafe(s) ? (float) Math.sqrt(s) : mag(x1 - (double) x2, y1 - (double) y2);
     }
 
     /**
@@ -555,13 +553,15 @@ public final class MoreMath {
      * @param x2 x координата второй точки.
      * @param y2 y координата второй точки.
      * @param z2 z координата второй точки.
-     * @return расстояние между двумя трехмерными точками.
+     * @return расстояние между двумя трехмерными точками, без переполнения
+     * для любых конечных координат.
      */
     public static float dist(float x1, float y1, float z1, float x2, float y2, float z2) {
         float x = x1 - x2;
         float y = y1 - y2;
         float z = z1 - z2;
-        return sqrt(x * x + y * y + z * z);
+        float s = x * x + y * y + z * z;
+        return isSafe(s) ? (float) Math.sqrt(s) : mag(x1 - (double) x2, y1 - (double) y2, z1 - (double) z2);
     }
 
     /**
@@ -569,10 +569,12 @@ public final class MoreMath {
      * есть начало координат.
      * @param x x координата вектора.
      * @param y y координата вектора.
-     * @return длину двухмерного вектора.
+     * @return длину двухмерного вектора, без переполнения для любых конечных
+     * координат.
      */
     public static float mag(float x, float y) {
-        return sqrt(x * x + y * y);
+        float s = x * x + y * y;
+        return isSafe(s) ? (float) Math.sqrt(s) : mag((double) x, y);
     }
 
     /**
@@ -581,19 +583,64 @@ public final class MoreMath {
      * @param x x координата первой точки.
      * @param y y координата первой точки.
      * @param z z координата первой точки.
-     * @return длину трехмерного вектора.
+     * @return длину трехмерного вектора, без переполнения для любых конечных
+     * координат.
      */
     public static float mag(float x, float y, float z) {
-        return sqrt(x * x + y * y + z * z);
+        float s = x * x + y * y + z * z;
+        return isSafe(s) ? (float) Math.sqrt(s) : mag((double) x, y, z);
+    }
+
+    /**
+     * Проверяет, что сумма квадратов, посчитанная во float, не переполнилась и
+     * не потеряла точность в денормализованных числах.
+     */
+    private static boolean isSafe(float s) {
+        return s >= Float.MIN_NORMAL && s < Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Длина вектора с компонентами во float, посчитанная в double. Квадраты
+     * float чисел точно представимы в double и не переполняются, поэтому
+     * результат без переполнения, как у {@link Math#hypot(double, double)},
+     * но в несколько раз быстрее. Double корень вдвое медленнее float корня,
+     * поэтому используется, только если сумма во float вышла за диапазон.
+     */
+    private static float mag(double x, double y) {
+        return (float) Math.sqrt(x * x + y * y);
+    }
+
+    private static float mag(double x, double y, double z) {
+        return (float) Math.sqrt(x * x + y * y + z * z);
     }
 
     /**
      * Получает экспоненту числа.
      * @param a число.
      * @return экспоненту числа {@code a}.
+     * @see FastExp
      */
     public static float exp(float a) {
-        return (float) StrictMath.exp(a);
+        return FastExp.exp(a, FastExp.Accuracy.HIGH);
+    }
+
+    /**
+     * Получает приближенную экспоненту числа с точностью {@link FastExp.Accuracy#MEDIUM}.
+     * @param a число.
+     * @return экспоненту числа {@code a}.
+     */
+    public static float fastExp(float a) {
+        return FastExp.exp(a, FastExp.Accuracy.MEDIUM);
+    }
+
+    /**
+     * Получает приближенную экспоненту числа.
+     * @param a число.
+     * @param accuracy точность.
+     * @return экспоненту числа {@code a}.
+     */
+    public static float fastExp(float a, FastExp.Accuracy accuracy) {
+        return FastExp.exp(a, accuracy);
     }
 
     /**
@@ -664,7 +711,7 @@ public final class MoreMath {
      * @return логарифм числа {@code a} по основанию {@code base}.
      */
     public static float log(float base, float a) {
-        return (float) (StrictMath.log(a) / StrictMath.log(base));
+        return FastExp.log(base, a, FastExp.Accuracy.HIGH);
     }
 
     /**
@@ -673,7 +720,7 @@ public final class MoreMath {
      * @return натуральный логарифм числа {@code a}.
      */
     public static float log(float a) {
-        return (float) StrictMath.log(a);
+        return FastExp.log(a, FastExp.Accuracy.HIGH);
     }
 
     /**
@@ -682,7 +729,47 @@ public final class MoreMath {
      * @return десятичный логарифм числа {@code a}.
      */
     public static float lg(float a) {
-        return (float) StrictMath.log10(a);
+        return FastExp.log10(a, FastExp.Accuracy.HIGH);
+    }
+
+    /**
+     * Расчитывает приближенный натуральный логарифм числа {@code a} с точностью
+     * {@link FastExp.Accuracy#MEDIUM}.
+     * @param a число.
+     * @return натуральный логарифм числа {@code a}.
+     */
+    public static float fastLog(float a) {
+        return FastExp.log(a, FastExp.Accuracy.MEDIUM);
+    }
+
+    /**
+     * Расчитывает приближенный натуральный логарифм числа {@code a}.
+     * @param a число.
+     * @param accuracy точность.
+     * @return натуральный логарифм числа {@code a}.
+     */
+    public static float fastLog(float a, FastExp.Accuracy accuracy) {
+        return FastExp.log(a, accuracy);
+    }
+
+    /**
+     * Расчитывает приближенный двоичный логарифм числа {@code a} с точностью
+     * {@link FastExp.Accuracy#MEDIUM}.
+     * @param a число.
+     * @return двоичный логарифм числа {@code a}.
+     */
+    public static float fastLog2(float a) {
+        return FastExp.log2(a, FastExp.Accuracy.MEDIUM);
+    }
+
+    /**
+     * Расчитывает приближенный двоичный логарифм числа {@code a}.
+     * @param a число.
+     * @param accuracy точность.
+     * @return двоичный логарифм числа {@code a}.
+     */
+    public static float fastLog2(float a, FastExp.Accuracy accuracy) {
+        return FastExp.log2(a, accuracy);
     }
 
     /**
@@ -692,6 +779,17 @@ public final class MoreMath {
      * @return число, возведенное в степень {@code b}.
      */
     public static float pow(float a, float b) {
+        return powBits(a, b);
+    }
+
+    /**
+     * Возводит число {@code a} в степень {@code b} через битовое представление,
+     * общий код {@link #pow(float, float)} и пакетных вариантов.
+     * @param a число.
+     * @param b степень.
+     * @return число, возведенное в степень {@code b}.
+     */
+    private static float powBits(float a, float b) {
         //1 - adapted from: http://www.dctsystems.co.uk/Software/power.html
         float x = Float.floatToRawIntBits(a);
         x *= INV_SHIFT_23;
@@ -721,6 +819,28 @@ public final class MoreMath {
         */
     }
 
+    /**
+     * Возводит число {@code a} в степень {@code b} с точностью {@link FastExp.Accuracy#MEDIUM}.
+     * В отличии от {@link #pow(float, float)} ошибка ограничена, см. {@link FastExp}.
+     * @param a число.
+     * @param b степень.
+     * @return число, возведенное в степень {@code b}.
+     */
+    public static float fastPow(float a, float b) {
+        return FastExp.pow(a, b, FastExp.Accuracy.MEDIUM);
+    }
+
+    /**
+     * Возводит число {@code a} в степень {@code b}.
+     * @param a число.
+     * @param b степень.
+     * @param accuracy точность.
+     * @return число, возведенное в степень {@code b}.
+     */
+    public static float fastPow(float a, float b, FastExp.Accuracy accuracy) {
+        return FastExp.pow(a, b, accuracy);
+    }
+
     /**
      * Расчитывает квадрат целого числа.
      * @param a целое число.
@@ -797,42 +917,45 @@ public final class MoreMath {
     }
 
     /**
-     * Расчитывает корень квадратный действительного числа.
+     * Расчитывает корень квадратный действительного числа. Результат точный,
+     * как у {@link Math#sqrt(double)}, который JIT заменяет инструкцией
+     * процессора; прежний метод Ньютона был в несколько раз медленнее и
+     * зацикливался на бесконечности.
      * @param a действительное число.
-     * @return корень квадратный действительного числа.
+     * @return корень квадратный действительного числа, {@code 0} для
+     * неположительных чисел.
      */
     public static float sqrt(float a) {
-        // Алгоритм Ньютона
-        int sp = 0;
-        boolean inv = false;
-        float result, b;
-
-        if(a <= 0.0f) {
-            return 0.0f;
-        } else if(a < 1.0f) {
-            a = 1.0f / a;
-            inv = true;
-        }
-
-        while(a > 16.0f) {
-            sp++;
-            a /= 16.0f;
-        }
-
-        result = 2.0f;
-        int ITERATIONS = 4;
-        for(int i = ITERATIONS; i > 0; i--) {
-            b = a / result;
-            result += b;
-            result *= 0.5f;
-        }
+        return a <= 0.0f ? 0.0f : (float) Math.sqrt(a);
+    }
 
-        while(sp > 0) {
-            sp--;
-            result *= 4.0f;
-        }
+    /**
+     * Расчитывает обратный корень квадратный {@code 1/sqrt(a)} действительного
+     * числа с точностью до 1 ulp.
+     * @param a действительное число.
+     * @return обратный корень квадратный, {@code +inf} для {@code 0} и
+     * {@code NaN} для отрицательных чисел.
+     * @see #fastInvSqrt(float)
+     */
+    public static float invSqrt(float a) {
+        return (float) (1.0 / Math.sqrt(a));
+    }
 
-        return inv ? 1.0f / result : result;
+    /**
+     * Приближенно расчитывает обратный корень квадратный действительного числа:
+     * начальное приближение по битам числа и два шага метода Ньютона.
+     * Относительная погрешность не больше {@code 5e-6} для положительных
+     * нормализованных чисел, для нуля, отрицательных, денормализованных и
+     * бесконечных чисел результат не определен.
+     * @param a положительное действительное число.
+     * @return обратный корень квадратный.
+     * @see #invSqrt(float)
+     */
+    public static float fastInvSqrt(float a) {
+        float half = 0.5f * a;
+        float y = Float.intBitsToFloat(0x5f375a86 - (Float.floatToRawIntBits(a) >> 1));
+        y *= 1.5f - half * y * y;
+        return y * (1.5f - half * y * y);
     }
 
     /**
@@ -917,15 +1040,11 @@ public final class MoreMath {
      * Вычисляет синус угла.
      * @param a угол в радианах.
      * @return синус угла от -1 до 1.
+     * @see TrigProvider
      */
     public static float sin(float a) {
         if(LUT_ENABLED) {
-            int index = (int) (a * CONVERSION_FACTOR) & TABLE_SIZE_MASK;
-            if(LUT_LERP) {
-                return (1.0f - a) * sinTable[index] + a * sinTable[index + 1 & TABLE_SIZE_MASK];
-            } else {
-                return sinTable[index];
-            }
+            return LUT_LERP ? TrigProvider.TABLE_LERP.sin(a) : TrigProvider.TABLE.sin(a);
         } else {
             return (float) StrictMath.sin(a);
         }
@@ -935,17 +1054,35 @@ public final class MoreMath {
      * Вычисляет косинус угла.
      * @param a угол в радианах.
      * @return косинус угла от -1 до 1.
+     * @see TrigProvider
      */
     public static float cos(float a) {
         if(LUT_ENABLED) {
-            int index = (int) (a * CONVERSION_FACTOR) & TABLE_SIZE_MASK;
+            return LUT_LERP ? TrigProvider.TABLE_LERP.cos(a) : TrigProvider.TABLE.cos(a);
+        } else {
+            return (float) StrictMath.cos(a);
+        }
+    }
+
+    /**
+     * Вычисляет синус и косинус угла. Позиция в таблице вычисляется один раз,
+     * а оба значения лежат в таблице рядом, поэтому это быстрее, чем вызовы
+     * {@link #sin(float)} и {@link #cos(float)} по отдельности.
+     * @param a угол в радианах.
+     * @param out массив, в который записываются синус {@code out[off]} и косинус {@code out[off + 1]}.
+     * @param off индекс синуса в массиве {@code out}.
+     * @see TrigProvider
+     */
+    public static void sincos(float a, float[] out, int off) {
+        if(LUT_ENABLED) {
             if(LUT_LERP) {
-                return (1.0f - a) * cosTable[index] + a * cosTable[index + 1 & TABLE_SIZE_MASK];
+                TrigProvider.TABLE_LERP.sincos(a, out, off);
             } else {
-                return cosTable[index];
+                TrigProvider.TABLE.sincos(a, out, off);
             }
         } else {
-            return (float) StrictMath.cos(a);
+            out[off] = (float) StrictMath.sin(a);
+            out[off + 1] = (float) StrictMath.cos(a);
         }
     }
 
@@ -953,45 +1090,50 @@ public final class MoreMath {
      * Вычисляет тангенс угла.
      * @param a угол в радианах.
      * @return тангенс угла.
+     * @see FastTrig
      */
     public static float tan(float a) {
-        return (float) StrictMath.tan(a);
+        return FastTrig.tan(a);
     }
 
     /**
      * Вычисляет котангенс угла.
      * @param a угол в радианах.
      * @return котангенс угла.
+     * @see FastTrig
      */
     public static float cot(float a) {
-        return (float) (1.0 / StrictMath.tan(a));
+        return 1.0f / FastTrig.tan(a);
     }
 
     /**
      * Вычисляет арксинус числа.
      * @param a число от -1 до 1.
      * @return арксинус числа, угол от <i>-pi/2</i> до <i>pi/2</i>.
+     * @see FastTrig
      */
     public static float asin(float a) {
-        return (float) StrictMath.asin(a);
+        return FastTrig.asin(a);
     }
 
     /**
      * Вычисляет арккосинус числа.
      * @param a число от -1 до 1.
      * @return арккосинус числа, угол от 0 до <i>pi</i>.
+     * @see FastTrig
      */
     public static float acos(float a) {
-        return (float) StrictMath.acos(a);
+        return FastTrig.acos(a);
     }
 
     /**
      * Вычисляет арктангенс числа.
      * @param a число.
      * @return арктангенс числа, угол от <i>-pi/2</i> до <i>pi/2</i>.
+     * @see FastTrig
      */
     public static float atan(float a) {
-        return (float) StrictMath.atan(a);
+        return FastTrig.atan(a);
     }
 
     /**
@@ -1070,14 +1212,242 @@ public final class MoreMath {
         return theta;
     }
 
+    // -- Массивы ----------
+
+    /**
+     * Вычисляет синусы углов массива {@code src} и записывает их в массив {@code dst}.
+     * Флаги {@link #LUT_ENABLED} и {@link #LUT_LERP} читаются один раз на весь массив.
+     * @param src массив углов в радианах.
+     * @param off индекс первого угла в массиве {@code src}.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    public static void sin(float[] src, int off, float[] dst, int dstOff, int len) {
+        if(LUT_ENABLED) {
+            (LUT_LERP ? TrigProvider.TABLE_LERP : TrigProvider.TABLE).sin(src, off, dst, dstOff, len);
+        } else {
+            for(int i = 0; i < len; i++) {
+                dst[dstOff + i] = (float) StrictMath.sin(src[off + i]);
+            }
+        }
+    }
+
+    /**
+     * Вычисляет косинусы углов массива {@code src} и записывает их в массив {@code dst}.
+     * Флаги {@link #LUT_ENABLED} и {@link #LUT_LERP} читаются один раз на весь массив.
+     * @param src массив углов в радианах.
+     * @param off индекс первого угла в массиве {@code src}.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    public static void cos(float[] src, int off, float[] dst, int dstOff, int len) {
+        if(LUT_ENABLED) {
+            (LUT_LERP ? TrigProvider.TABLE_LERP : TrigProvider.TABLE).cos(src, off, dst, dstOff, len);
+        } else {
+            for(int i = 0; i < len; i++) {
+                dst[dstOff + i] = (float) StrictMath.cos(src[off + i]);
+            }
+        }
+    }
+
+    /**
+     * Вычисляет синусы и косинусы углов массива {@code angles}.
+     * @param angles массив углов в радианах.
+     * @param sinOut массив синусов, не короче {@code angles}.
+     * @param cosOut массив косинусов, не короче {@code angles}.
+     */
+    public static void sincos(float[] angles, float[] sinOut, float[] cosOut) {
+        sincos(angles, 0, sinOut, 0, cosOut, 0, angles.length);
+    }
+
+    /**
+     * Вычисляет синусы и косинусы углов массива {@code src}.
+     * Флаги {@link #LUT_ENABLED} и {@link #LUT_LERP} читаются один раз на весь массив.
+     * @param src массив углов в радианах.
+     * @param off индекс первого угла в массиве {@code src}.
+     * @param sinDst массив синусов, может совпадать с {@code src}.
+     * @param sinOff индекс первого синуса в массиве {@code sinDst}.
+     * @param cosDst массив косинусов, может совпадать с {@code src}.
+     * @param cosOff индекс первого косинуса в массиве {@code cosDst}.
+     * @param len количество элементов.
+     */
+    public static void sincos(float[] src, int off, float[] sinDst, int sinOff, float[] cosDst, int cosOff, int len) {
+        if(LUT_ENABLED) {
+            (LUT_LERP ? TrigProvider.TABLE_LERP : TrigProvider.TABLE).sincos(src, off, sinDst, sinOff, cosDst, cosOff, len);
+        } else {
+            TrigProvider.STRICT.sincos(src, off, sinDst, sinOff, cosDst, cosOff, len);
+        }
+    }
+
+    /**
+     * Расчитывает углы поворота точек с координатами {@code (x[i];y[i])} вокруг оси OX.
+     * @param y массив y-координат.
+     * @param yOff индекс первой y-координаты.
+     * @param x массив x-координат.
+     * @param xOff индекс первой x-координаты.
+     * @param dst массив результатов, углы от <i>-pi</i> до <i>pi</i>.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     * @see #atan2(float, float)
+     */
+    public static void atan2(float[] y, int yOff, float[] x, int xOff, float[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            dst[dstOff + i] = atan2(y[yOff + i], x[xOff + i]);
+        }
+    }
+
+    /**
+     * Возводит числа массива {@code src} в степень {@code b}.
+     * @param src массив чисел.
+     * @param off индекс первого числа в массиве {@code src}.
+     * @param b степень.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     * @see #pow(float, float)
+     */
+    public static void pow(float[] src, int off, float b, float[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            dst[dstOff + i] = powBits(src[off + i], b);
+        }
+    }
+
+    /**
+     * Возводит числа массива {@code a} в степени из массива {@code b}.
+     * @param a массив чисел.
+     * @param aOff индекс первого числа в массиве {@code a}.
+     * @param b массив степеней.
+     * @param bOff индекс первой степени в массиве {@code b}.
+     * @param dst массив результатов.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     * @see #pow(float, float)
+     */
+    public static void pow(float[] a, int aOff, float[] b, int bOff, float[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            dst[dstOff + i] = powBits(a[aOff + i], b[bOff + i]);
+        }
+    }
+
+    /**
+     * Получает экспоненты чисел массива {@code src}.
+     * @param src массив чисел.
+     * @param off индекс первого числа в массиве {@code src}.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    public static void exp(float[] src, int off, float[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            dst[dstOff + i] = FastExp.exp(src[off + i], FastExp.Accuracy.HIGH);
+        }
+    }
+
+    /**
+     * Получает {@code true}, если операции над массивами действительных чисел
+     * ({@link #sum(float...)}, {@link #min(float[])}, {@link #max(float[])},
+     * и массивные {@code lerp}, {@code map}, {@code clamp},
+     * {@code sqrt}) выполняются векторными инструкциями через {@code jdk.incubator.vector}.
+     * @return {@code true}, если используется векторная реализация.
+     */
+    public static boolean isVectorized() {
+        return ops.isVectorized();
+    }
+
+    /**
+     * Линейно интерполирует элементы массивов {@code a} и {@code b}.
+     * @param a массив первых чисел.
+     * @param aOff индекс первого элемента в массиве {@code a}.
+     * @param b массив вторых чисел.
+     * @param bOff индекс первого элемента в массиве {@code b}.
+     * @param alpha коэффициент.
+     * @param dst массив результатов.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     * @see #lerp(float, float, float)
+     */
+    public static void lerp(float[] a, int aOff, float[] b, int bOff, float alpha, float[] dst, int dstOff, int len) {
+        ops.lerp(a, aOff, b, bOff, alpha, dst, dstOff, len);
+    }
+
+    /**
+     * Переводит числа массива {@code src} из одного диапазона в другой. Отношение
+     * диапазонов вычисляется один раз, поэтому результат может отличаться от
+     * {@link #map(float, float, float, float, float)} в последнем знаке.
+     * @param src массив чисел.
+     * @param off индекс первого числа в массиве {@code src}.
+     * @param low1 нижняя граница текущего диапазона.
+     * @param high1 верхняя граница текущего диапазона.
+     * @param low2 нижняя граница конечного диапазона.
+     * @param high2 верхняя граница конечного диапазона.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    public static void map(float[] src, int off, float low1, float high1, float low2, float high2, float[] dst, int dstOff, int len) {
+        ops.map(src, off, low1, high1, low2, high2, dst, dstOff, len);
+    }
+
+    /**
+     * Фиксирует числа массива {@code src} на интервале {@code [low; high]}.
+     * @param src массив чисел.
+     * @param off индекс первого числа в массиве {@code src}.
+     * @param low нижний предел.
+     * @param high верхний предел.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    public static void clamp(float[] src, int off, float low, float high, float[] dst, int dstOff, int len) {
+        ops.clamp(src, off, low, high, dst, dstOff, len);
+    }
+
+    /**
+     * Расчитывает корни квадратные чисел массива {@code src}. Результат
+     * точный, как у {@link Math#sqrt(double)}; в отличии от {@link #sqrt(float)}
+     * для отрицательных чисел получается {@code NaN}.
+     * @param src массив чисел.
+     * @param off индекс первого числа в массиве {@code src}.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    public static void sqrt(float[] src, int off, float[] dst, int dstOff, int len) {
+        ops.sqrt(src, off, dst, dstOff, len);
+    }
+
     // -- Генераторы случайных чисел
 
+    /**
+     * Получает генератор случайных чисел текущего потока, которым пользуются
+     * методы {@link #random()}, {@link #gaussian()} и {@link #chance(float)}.
+     * Генератор не потокобезопасен и не должен передаваться другим потокам.
+     * @return генератор текущего потока.
+     * @see RandomSource.PerThread
+     */
+    public static SplitRandom threadRandom() {
+        return randomSource.current();
+    }
+
+    /**
+     * Задает зерно генераторов случайных чисел. Потоки получают новые
+     * генераторы в порядке первого обращения после вызова, поэтому
+     * однопоточный код повторяет последовательность при том же зерне.
+     * @param seed зерно.
+     * @see RandomSource.PerThread
+     */
+    public static void setRandomSeed(long seed) {
+        randomSource = new RandomSource.PerThread(seed);
+    }
+
     /**
      * Расчитывает случайное действительное число, лежащее между 0 и 1.
      * @return случайное действительное число, лежащее между 0 и 1.
      */
     public static float random() {
-        return random.nextFloat();
+        return threadRandom().nextFloat();
     }
 
     /**
@@ -1086,7 +1456,7 @@ public final class MoreMath {
      * @return случайное целое число, лежащее между 0 и {@code n}.
      */
     public static int random(int max) {
-        return random.nextInt(max);
+        return threadRandom().nextInt(max);
     }
 
     /**
@@ -1096,7 +1466,7 @@ public final class MoreMath {
      * @return случайное целое число от {@code min} до {@code max}.
      */
     public static int random(int min, int max) {
-        return floor(random.nextFloat() * (max - min + 1)) + min;
+        return floor(threadRandom().nextFloat() * (max - min + 1)) + min;
     }
 
     /**
@@ -1105,7 +1475,7 @@ public final class MoreMath {
      * @return случайное действительное число от 0 до {@code n}.
      */
     public static float random(float max) {
-        return random.nextFloat() * max;
+        return threadRandom().nextFloat() * max;
     }
 
     /**
@@ -1115,7 +1485,7 @@ public final class MoreMath {
      * @return случайное действительное число от {@code min} до {@code max}.
      */
     public static float random(float min, float max) {
-        return random.nextFloat() * (max - min) + min;
+        return threadRandom().nextFloat() * (max - min) + min;
     }
 
     /**
@@ -1123,7 +1493,7 @@ public final class MoreMath {
      * @return случайное действительное число, от -1 до 1.
      */
     public static float gaussian() {
-        return (float) random.nextGaussian();
+        return (float) threadRandom().nextGaussian();
     }
 
     /**
@@ -1133,7 +1503,7 @@ public final class MoreMath {
      */
     public static int gaussian(int max) {
         //return round(map(random.nextGaussian(), -1.0, 1.0, 0.0, n));
-        return round(((float) random.nextGaussian() + 1.0f) / 2.0f * max);
+        return round(((float) threadRandom().nextGaussian() + 1.0f) / 2.0f * max);
     }
 
     /**
@@ -1143,7 +1513,7 @@ public final class MoreMath {
      */
     public static float gaussian(float max) {
         //return map(gaussian(), -1.0, 1.0, 0.0, n);
-        return ((float) random.nextGaussian() + 1.0f) / 2.0f * max;
+        return ((float) threadRandom().nextGaussian() + 1.0f) / 2.0f * max;
     }
 
     /**
@@ -1154,7 +1524,7 @@ public final class MoreMath {
      */
     public static int gaussian(int min, int max) {
         //return round(map(gaussian(), -1.0, 1.0, min, max));
-        return round(min + ((float) random.nextGaussian() + 1.0f) / 2.0f * (max - min));
+        return round(min + ((float) threadRandom().nextGaussian() + 1.0f) / 2.0f * (max - min));
     }
 
     /**
@@ -1165,7 +1535,39 @@ public final class MoreMath {
      */
     public static float gaussian(float min, float max) {
         //return map(gaussian(), -1.0, 1.0, min, max);
-        return min + ((float) random.nextGaussian() + 1.0f) / 2.0f * (max - min);
+        return min + ((float) threadRandom().nextGaussian() + 1.0f) / 2.0f * (max - min);
+    }
+
+    /**
+     * Заполняет массив случайными числами от 0 до 1 генератором текущего
+     * потока.
+     * @param dst массив результатов.
+     */
+    public static void fillUniform(float[] dst) {
+        threadRandom().fillUniform(dst, 0, dst.length);
+    }
+
+    /**
+     * Заполняет массив случайными числами с нормальным распределением
+     * генератором текущего потока (метод зиккурата).
+     * @param dst массив результатов.
+     * @param mu математическое ожидание.
+     * @param sigma стандартное отклонение.
+     */
+    public static void fillGaussian(float[] dst, float mu, float sigma) {
+        threadRandom().fillGaussian(dst, 0, dst.length, mu, sigma);
+    }
+
+    /**
+     * Заполняет массив случайными целыми числами от {@code min} до
+     * {@code max} включительно генератором текущего потока.
+     * @param dst массив результатов.
+     * @param min минимальная величина.
+     * @param max максимальная величина.
+     * @throws IllegalArgumentException если {@code min > max}.
+     */
+    public static void fillInt(int[] dst, int min, int max) {
+        threadRandom().fillInt(dst, 0, dst.length, min, max);
     }
 
     /**
@@ -1216,7 +1618,7 @@ public final class MoreMath {
      * @return {@code true}, если событие имеет шанс.
      */
     public static boolean chance(float probability) {
-        return random.nextFloat() <= probability;
+        return threadRandom().nextFloat() <= probability;
     }
 
     // -- Другое ----------
@@ -1415,11 +1817,7 @@ public final class MoreMath {
     public static float sum(float... values) {
         if(values == null) throw new NullPointerException("values == null");
 
-        float sum = 0.0f;
-        for(int i = 0; i < values.length; i++) {
-            sum += values[i];
-        }
-        return sum;
+        return ops.sum(values, 0, values.length);
     }
 
     /**
@@ -1451,13 +1849,7 @@ public final class MoreMath {
         if(values == null) throw new NullPointerException("values == null");
         float[] sum = new float[values.length];
 
-        for(int i = 0; i < values.length; i++) {
-            if(i == 0) {
-                sum[i] = values[0];
-            } else {
-                sum[i] = sum[i - 1] + values[i];
-            }
-        }
+        ops.cumSum(values, 0, sum, 0, values.length);
 
         return sum;
     }
@@ -3,7 +3,7 @@
  */
 package ru.ildev.math;
 
-import java.util.Random;
+import java.util.Arrays;
 
 /**
  * Класс генератора шума Перлина.
@@ -11,14 +11,33 @@ import java.util.Random;
  * @author Ilyas74
  * @version 1.4.5
  */
-public class Noise {
+public class Noise implements NoiseSource {
 
-    private static final int[][] G1 = {{-1}, {1}};
-    private static final int[][] G2 = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
-    private static final int[][] G3 = {{1, 1, 0}, {-1, 1, 0}, {1, -1, 0}, {-1, -1, 0}, {1, 0, 1}, {-1, 0, 1}, {1, 0, -1}, {-1, 0, -1}, {0, 1, 1}, {0, -1, 1}, {0, 1, -1}, {0, -1, -1}, {1, 1, 0}, {-1, 1, 0}, {0, -1, 1}, {0, -1, -1}};
-    private static final int[][] G4 = {{-1, -1, -1, 0}, {-1, -1, 1, 0}, {-1, 1, -1, 0}, {-1, 1, 1, 0}, {1, -1, -1, 0}, {1, -1, 1, 0}, {1, 1, -1, 0}, {1, 1, 1, 0}, {-1, -1, 0, -1}, {-1, 1, 0, -1}, {1, -1, 0, -1}, {1, 1, 0, -1}, {-1, -1, 0, 1}, {-1, 1, 0, 1}, {1, -1, 0, 1}, {1, 1, 0, 1}, {-1, 0, -1, -1}, {1, 0, -1, -1}, {-1, 0, -1, 1}, {1, 0, -1, 1}, {-1, 0, 1, -1}, {1, 0, 1, -1}, {-1, 0, 1, 1}, {1, 0, 1, 1}, {0, -1, -1, -1}, {0, -1, -1, 1}, {0, -1, 1, -1}, {0, -1, 1, 1}, {0, 1, -1, -1}, {0, 1, -1, 1}, {0, 1, 1, -1}, {0, 1, 1, 1}};
-
-    private int[] p = new int[512];
+    /**
+     * Градиенты, плоско и сразу во {@code float}: компоненты градиента
+     * {@code h} лежат подряд с шагом 1, 2, 4 и 4 (трехмерные дополнены
+     * нулем до четырех, чтобы индекс считался сдвигом).
+     */
+    private static final float[] G1 = {-1, 1};
+    private static final float[] G2 = {
+            1, 0, -1, 0, 0, 1, 0, -1
+    };
+    private static final float[] G3 = {
+            1, 1, 0, 0, -1, 1, 0, 0, 1, -1, 0, 0, -1, -1, 0, 0,
+            1, 0, 1, 0, -1, 0, 1, 0, 1, 0, -1, 0, -1, 0, -1, 0,
+            0, 1, 1, 0, 0, -1, 1, 0, 0, 1, -1, 0, 0, -1, -1, 0,
+            1, 1, 0, 0, -1, 1, 0, 0, 0, -1, 1, 0, 0, -1, -1, 0
+    };
+    private static final float[] G4 = {
+            -1, -1, -1, 0, -1, -1, 1, 0, -1, 1, -1, 0, -1, 1, 1, 0,
+            1, -1, -1, 0, 1, -1, 1, 0, 1, 1, -1, 0, 1, 1, 1, 0,
+            -1, -1, 0, -1, -1, 1, 0, -1, 1, -1, 0, -1, 1, 1, 0, -1,
+            -1, -1, 0, 1, -1, 1, 0, 1, 1, -1, 0, 1, 1, 1, 0, 1,
+            -1, 0, -1, -1, 1, 0, -1, -1, -1, 0, -1, 1, 1, 0, -1, 1,
+            -1, 0, 1, -1, 1, 0, 1, -1, -1, 0, 1, 1, 1, 0, 1, 1,
+            0, -1, -1, -1, 0, -1, -1, 1, 0, -1, 1, -1, 0, -1, 1, 1,
+            0, 1, -1, -1, 0, 1, -1, 1, 0, 1, 1, -1, 0, 1, 1, 1
+    };
 
     /**
      * Стандартная стойкость.
@@ -38,31 +57,19 @@ public class Noise {
     public static final int DEFAULT_OCTAVES = 4;
 
     /**
-     * Стойкость.
-     */
-    private float persistence;
-    /**
-     * Частота.
+     * Текущие параметры вместе с таблицей перестановки. Сеттеры не меняют
+     * конфигурацию, а публикуют новую, и каждый вызов шума читает поле один
+     * раз, поэтому смена параметров или сида из другого потока никогда не
+     * дает смесь старых и новых значений, а поля конфигурации, будучи
+     * {@code final}, выносятся JIT из цикла по октавам.
      */
-    private float frequency;
-    /**
-     * Амплитуда.
-     */
-    private float amplitude;
-    /**
-     * Количество октав.
-     */
-    private int octaves;
+    private volatile NoiseConfig config;
 
     /**
      * Стандартный конструктор.
      */
     public Noise() {
-        this.persistence = DEFAULT_PERSISTENCE;
-        this.frequency = DEFAULT_FREQUENCY;
-        this.amplitude = DEFAULT_AMPLITUDE;
-        this.octaves = DEFAULT_OCTAVES;
-        this.setSeed(System.nanoTime());
+        this(NoiseConfig.builder().seed(System.nanoTime()).build());
     }
 
     /**
@@ -71,11 +78,7 @@ public class Noise {
      * @param seed сид.
      */
     public Noise(long seed) {
-        this.persistence = DEFAULT_PERSISTENCE;
-        this.frequency = DEFAULT_FREQUENCY;
-        this.amplitude = DEFAULT_AMPLITUDE;
-        this.octaves = DEFAULT_OCTAVES;
-        this.setSeed(seed);
+        this(NoiseConfig.builder().seed(seed).build());
     }
 
     /**
@@ -87,11 +90,7 @@ public class Noise {
      * @param octaves     октавы.
      */
     public Noise(float persistence, float frequency, float amplitude, int octaves) {
-        this.persistence = persistence;
-        this.frequency = frequency;
-        this.amplitude = amplitude;
-        this.octaves = octaves;
-        this.setSeed(System.nanoTime());
+        this(System.nanoTime(), persistence, frequency, amplitude, octaves);
     }
 
     /**
@@ -104,11 +103,55 @@ public class Noise {
      * @param octaves     октавы.
      */
     public Noise(long seed, float persistence, float frequency, float amplitude, int octaves) {
-        this.persistence = persistence;
-        this.frequency = frequency;
-        this.amplitude = amplitude;
-        this.octaves = octaves;
-        this.setSeed(seed);
+        this(NoiseConfig.builder()
+                .seed(seed)
+                .persistence(persistence)
+                .frequency(frequency)
+                .amplitude(amplitude)
+                .octaves(octaves)
+                .build());
+    }
+
+    /**
+     * Конструктор по готовой конфигурации. Если сеттеры такого шума не
+     * вызываются, он неизменяем и может без синхронизации использоваться
+     * из любых потоков.
+     *
+     * @param config конфигурация.
+     */
+    public Noise(NoiseConfig config) {
+        if (config == null) throw new NullPointerException("config == null");
+        this.config = config;
+    }
+
+    /**
+     * Получает текущую конфигурацию.
+     *
+     * @return конфигурация.
+     */
+    public NoiseConfig getConfig() {
+        return this.config;
+    }
+
+    /**
+     * Заменяет конфигурацию. Вызовы шума в других потоках видят либо
+     * старую, либо новую конфигурацию целиком. Замена упорядочена с
+     * сеттерами отдельных параметров, поэтому ни одно изменение не теряется.
+     *
+     * @param config конфигурация.
+     */
+    public synchronized void setConfig(NoiseConfig config) {
+        if (config == null) throw new NullPointerException("config == null");
+        this.config = config;
+    }
+
+    /**
+     * Получает сид.
+     *
+     * @return сид.
+     */
+    public long getSeed() {
+        return this.config.getSeed();
     }
 
     /**
@@ -117,7 +160,7 @@ public class Noise {
      * @return стойкость.
      */
     public float getPersistence() {
-        return this.persistence;
+        return this.config.getPersistence();
     }
 
     /**
@@ -125,8 +168,8 @@ public class Noise {
      *
      * @param persistence стойкость.
      */
-    public void setPersistence(float persistence) {
-        this.persistence = persistence;
+    public synchronized void setPersistence(float persistence) {
+        this.config = this.config.toBuilder().persistence(persistence).build();
     }
 
     /**
@@ -135,7 +178,7 @@ public class Noise {
      * @return частоту.
      */
     public float getFrequency() {
-        return this.frequency;
+        return this.config.getFrequency();
     }
 
     /**
@@ -143,8 +186,8 @@ public class Noise {
      *
      * @param frequency частота.
      */
-    public void setFrequency(float frequency) {
-        this.frequency = frequency;
+    public synchronized void setFrequency(float frequency) {
+        this.config = this.config.toBuilder().frequency(frequency).build();
     }
 
     /**
@@ -153,7 +196,7 @@ public class Noise {
      * @return амплитуду.
      */
     public float getAmplitude() {
-        return this.amplitude;
+        return this.config.getAmplitude();
     }
 
     /**
@@ -161,8 +204,8 @@ public class Noise {
      *
      * @param amplitude амплитуда.
      */
-    public void setAmplitude(float amplitude) {
-        this.amplitude = amplitude;
+    public synchronized void setAmplitude(float amplitude) {
+        this.config = this.config.toBuilder().amplitude(amplitude).build();
     }
 
     /**
@@ -171,16 +214,17 @@ public class Noise {
      * @return количество октав.
      */
     public int getOctaves() {
-        return this.octaves;
+        return this.config.getOctaves();
     }
 
     /**
      * Устанавливает количество октав.
      *
      * @param octaves количество октав.
+     * @throws IllegalArgumentException если {@code octaves < 0}.
      */
-    public void setOctaves(int octaves) {
-        this.octaves = octaves;
+    public synchronized void setOctaves(int octaves) {
+        this.config = this.config.toBuilder().octaves(octaves).build();
     }
 
     /**
@@ -188,16 +232,8 @@ public class Noise {
      *
      * @param seed сид.
      */
-    public void setSeed(long seed) {
-        Random random = new Random(seed);
-        for (int i = 0; i < 256; i++) this.p[i] = i;
-        for (int i = 0; i < 256; i++) {
-            int j = random.nextInt() & 255;
-            int t = this.p[j];
-            this.p[j] = this.p[i];
-            this.p[i] = t;
-        }
-        for (int i = 0; i < 256; i++) this.p[i + 256] = this.p[i];
+    public synchronized void setSeed(long seed) {
+        this.config = this.config.toBuilder().seed(seed).build();
     }
 
     /**
@@ -207,44 +243,50 @@ public class Noise {
      * @return одномерный шум.
      */
     public float noise(float x) {
+        NoiseConfig config = this.config;
+        short[] p = config.p;
+        int[] periods = config.periods;
+        float[] frequencies = config.frequencies;
+        float[] amplitudes = config.amplitudes;
         float total = 0.0f;
-        float frequency = this.frequency;
-        float amplitude = this.amplitude;
 
-        for (int i = 0; i < this.octaves; i++) {
-            total += amplitude * (1.0f + this.noise1D(x * frequency)) / 2.0f;
-            amplitude *= this.persistence;
-            frequency *= 2.0f;
+        for (int i = 0; i < config.active; i++) {
+            float frequency = frequencies[i];
+            total += amplitudes[i] * (1.0f + noise1D(p, periods[i], x * frequency)) / 2.0f;
         }
 
         return total;
     }
 
     /**
-     * Генерирует двухмерный шум.
+     * Генерирует двухмерный шум. Без периода при {@code y == 0} совпадает с
+     * одномерным шумом {@link #noise(float)}.
      *
      * @param x первое число.
      * @param y второе число.
      * @return двухмерный шум
      */
     public float noise(float x, float y) {
-        if (y == 0.0f) return this.noise(x);
+        NoiseConfig config = this.config;
+        if (y == 0.0f && !config.isPeriodic()) return this.noise(x);
 
+        short[] p = config.p;
+        int[] periods = config.periods;
+        float[] frequencies = config.frequencies;
+        float[] amplitudes = config.amplitudes;
         float total = 0.0f;
-        float frequency = this.frequency;
-        float amplitude = this.amplitude;
 
-        for (int i = 0; i < this.octaves; i++) {
-            total += amplitude * (1.0f + this.noise2D(x * frequency, y * frequency)) / 2.0f;
-            amplitude *= this.persistence;
-            frequency *= 2.0f;
+        for (int i = 0; i < config.active; i++) {
+            float frequency = frequencies[i];
+            total += amplitudes[i] * (1.0f + noise2D(p, periods[i], x * frequency, y * frequency)) / 2.0f;
         }
 
         return total;
     }
 
     /**
-     * Генерирует трехмерный шум.
+     * Генерирует трехмерный шум. Без периода при {@code z == 0} совпадает с
+     * двухмерным шумом {@link #noise(float, float)}.
      *
      * @param x первое число.
      * @param y второе число.
@@ -252,23 +294,26 @@ public class Noise {
      * @return двухмерный шум
      */
     public float noise(float x, float y, float z) {
-        if (z == 0.0f) return this.noise(x, y);
+        NoiseConfig config = this.config;
+        if (z == 0.0f && !config.isPeriodic()) return this.noise(x, y);
 
+        short[] p = config.p;
+        int[] periods = config.periods;
+        float[] frequencies = config.frequencies;
+        float[] amplitudes = config.amplitudes;
         float total = 0.0f;
-        float frequency = this.frequency;
-        float amplitude = this.amplitude;
 
-        for (int i = 0; i < this.octaves; i++) {
-            total += amplitude * (1.0f + this.noise3D(x * frequency, y * frequency, z * frequency)) / 2.0f;
-            amplitude *= this.persistence;
-            frequency *= 2.0f;
+        for (int i = 0; i < config.active; i++) {
+            float frequency = frequencies[i];
+            total += amplitudes[i] * (1.0f + noise3D(p, periods[i], x * frequency, y * frequency, z * frequency)) / 2.0f;
         }
 
         return total;
     }
 
     /**
-     * Генерирует четырехмерный шум.
+     * Генерирует четырехмерный шум. Без периода при {@code w == 0} совпадает
+     * с трехмерным шумом {@link #noise(float, float, float)}.
      *
      * @param x первое число.
      * @param y второе число.
@@ -277,21 +322,448 @@ public class Noise {
      * @return двухмерный шум
      */
     public float noise(float x, float y, float z, float w) {
-        if (w == 0.0f) return this.noise(x, y, z);
+        NoiseConfig config = this.config;
+        if (w == 0.0f && !config.isPeriodic()) return this.noise(x, y, z);
+
+        short[] p = config.p;
+        int[] periods = config.periods;
+        float[] frequencies = config.frequencies;
+        float[] amplitudes = config.amplitudes;
+        float total = 0.0f;
+
+        for (int i = 0; i < config.active; i++) {
+            float frequency = frequencies[i];
+            total += amplitudes[i] * (1.0f + noise4D(p, periods[i], x * frequency, y * frequency, z * frequency, w * frequency)) / 2.0f;
+        }
+
+        return total;
+    }
+
+    /**
+     * Генерирует двухмерный фрактальный шум способом
+     * {@link NoiseConfig#getFractal()}: сумму {@code a * shape(noise2D(x * f, y * f))}
+     * по октавам с частотами {@code f} и амплитудами {@code a}. В отличие от
+     * {@link #noise(float, float)} значения не сдвигаются в {@code [0, 1]}
+     * и лежат в пределах {@link NoiseConfig#getMaxValue()} по модулю.
+     *
+     * @param x первое число.
+     * @param y второе число.
+     * @return фрактальный шум.
+     */
+    public float fractal2D(float x, float y) {
+        NoiseConfig config = this.config;
+        short[] p = config.p;
+        int[] periods = config.periods;
+        float[] frequencies = config.frequencies;
+        float[] amplitudes = config.amplitudes;
+        Fractal fractal = config.getFractal();
+        float total = 0.0f;
+
+        for (int i = 0; i < config.active; i++) {
+            float frequency = frequencies[i];
+            total += amplitudes[i] * fractal.shape(noise2D(p, periods[i], x * frequency, y * frequency));
+        }
+
+        return total;
+    }
 
+    /**
+     * Генерирует трехмерный фрактальный шум.
+     *
+     * @param x первое число.
+     * @param y второе число.
+     * @param z третье число.
+     * @return фрактальный шум.
+     * @see #fractal2D(float, float)
+     */
+    public float fractal3D(float x, float y, float z) {
+        NoiseConfig config = this.config;
+        short[] p = config.p;
+        int[] periods = config.periods;
+        float[] frequencies = config.frequencies;
+        float[] amplitudes = config.amplitudes;
+        Fractal fractal = config.getFractal();
         float total = 0.0f;
-        float frequency = this.frequency;
-        float amplitude = this.amplitude;
 
-        for (int i = 0; i < this.octaves; i++) {
-            total += amplitude * (1.0f + this.noise4D(x * frequency, y * frequency, z * frequency, w * frequency)) / 2.0f;
-            amplitude *= this.persistence;
-            frequency *= 2.0f;
+        for (int i = 0; i < config.active; i++) {
+            float frequency = frequencies[i];
+            total += amplitudes[i] * fractal.shape(noise3D(p, periods[i], x * frequency, y * frequency, z * frequency));
         }
 
         return total;
     }
 
+    /**
+     * Генерирует четырехмерный фрактальный шум.
+     *
+     * @param x первое число.
+     * @param y второе число.
+     * @param z третье число.
+     * @param w четвертое число.
+     * @return фрактальный шум.
+     * @see #fractal2D(float, float)
+     */
+    public float fractal4D(float x, float y, float z, float w) {
+        NoiseConfig config = this.config;
+        short[] p = config.p;
+        int[] periods = config.periods;
+        float[] frequencies = config.frequencies;
+        float[] amplitudes = config.amplitudes;
+        Fractal fractal = config.getFractal();
+        float total = 0.0f;
+
+        for (int i = 0; i < config.active; i++) {
+            float frequency = frequencies[i];
+            total += amplitudes[i] * fractal.shape(noise4D(p, periods[i], x * frequency, y * frequency, z * frequency, w * frequency));
+        }
+
+        return total;
+    }
+
+    /**
+     * Генерирует двухмерный фрактальный шум по координатам двойной точности.
+     * Координаты умножаются на частоты и делятся на клетку решетки и
+     * дробную часть в {@code double}, поэтому точность не теряется и вдали
+     * от начала координат, а без периода шум не повторяется через 256
+     * единиц решетки, как у {@code float} версии.
+     *
+     * @param x первое число.
+     * @param y второе число.
+     * @return фрактальный шум.
+     * @see #fractal2D(float, float)
+     * @see #noise2D(double, double)
+     */
+    public float fractal2D(double x, double y) {
+        NoiseConfig config = this.config;
+        short[] p = config.p;
+        int[] periods = config.periods;
+        float[] frequencies = config.frequencies;
+        float[] amplitudes = config.amplitudes;
+        Fractal fractal = config.getFractal();
+        float total = 0.0f;
+
+        for (int i = 0; i < config.active; i++) {
+            double frequency = frequencies[i];
+            total += amplitudes[i] * fractal.shape(noise2D(p, periods[i], x * frequency, y * frequency));
+        }
+
+        return total;
+    }
+
+    /**
+     * Генерирует трехмерный фрактальный шум по координатам двойной точности.
+     *
+     * @param x первое число.
+     * @param y второе число.
+     * @param z третье число.
+     * @return фрактальный шум.
+     * @see #fractal2D(double, double)
+     */
+    public float fractal3D(double x, double y, double z) {
+        NoiseConfig config = this.config;
+        short[] p = config.p;
+        int[] periods = config.periods;
+        float[] frequencies = config.frequencies;
+        float[] amplitudes = config.amplitudes;
+        Fractal fractal = config.getFractal();
+        float total = 0.0f;
+
+        for (int i = 0; i < config.active; i++) {
+            double frequency = frequencies[i];
+            total += amplitudes[i] * fractal.shape(noise3D(p, periods[i], x * frequency, y * frequency, z * frequency));
+        }
+
+        return total;
+    }
+
+    /**
+     * Генерирует четырехмерный фрактальный шум по координатам двойной
+     * точности.
+     *
+     * @param x первое число.
+     * @param y второе число.
+     * @param z третье число.
+     * @param w четвертое число.
+     * @return фрактальный шум.
+     * @see #fractal2D(double, double)
+     */
+    public float fractal4D(double x, double y, double z, double w) {
+        NoiseConfig config = this.config;
+        short[] p = config.p;
+        int[] periods = config.periods;
+        float[] frequencies = config.frequencies;
+        float[] amplitudes = config.amplitudes;
+        Fractal fractal = config.getFractal();
+        float total = 0.0f;
+
+        for (int i = 0; i < config.active; i++) {
+            double frequency = frequencies[i];
+            total += amplitudes[i] * fractal.shape(noise4D(p, periods[i], x * frequency, y * frequency, z * frequency, w * frequency));
+        }
+
+        return total;
+    }
+
+    /**
+     * Заполняет двухмерную сетку фрактальным шумом. Значение
+     * {@code out[j * width + i]} равно {@code noise(x0 + i * step, y0 + j * step)},
+     * но клетки решетки, их хеши, сглаживание и градиенты считаются один раз на
+     * столбец, строку или клетку, а не на каждую точку.
+     *
+     * @param out    массив результатов длиной не меньше {@code width * height}.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param x0     x координата первой точки.
+     * @param y0     y координата первой точки.
+     * @param step   шаг сетки.
+     */
+    public void fill2D(float[] out, int width, int height, float x0, float y0, float step) {
+        checkFill(out, width, height, 1);
+        this.fillRegion2D(out, 0, width, 0, 0, width, height, x0, y0, step);
+    }
+
+    /**
+     * Заполняет трехмерную сетку фрактальным шумом. Значение
+     * {@code out[(k * height + j) * width + i]} равно
+     * {@code noise(x0 + i * step, y0 + j * step, z0 + k * step)}.
+     *
+     * @param out    массив результатов длиной не меньше {@code width * height * depth}.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param depth  количество точек по z.
+     * @param x0     x координата первой точки.
+     * @param y0     y координата первой точки.
+     * @param z0     z координата первой точки.
+     * @param step   шаг сетки.
+     * @see #fill2D(float[], int, int, float, float, float)
+     */
+    public void fill3D(float[] out, int width, int height, int depth, float x0, float y0, float z0, float step) {
+        checkFill(out, width, height, depth);
+        this.fillRegion3D(out, 0, width, width * height, 0, 0, 0, width, height, depth, x0, y0, z0, step);
+    }
+
+    /**
+     * Заполняет прямоугольную часть двухмерной сетки с началом в
+     * {@code (x0, y0)}. Точка {@code (i0 + i, j0 + j)} сетки записывается в
+     * {@code out[off + j * stride + i]}, ее координаты считаются от начала
+     * сетки, поэтому значения не зависят от разбиения сетки на части.
+     */
+    void fillRegion2D(float[] out, int off, int stride, int i0, int j0, int width, int height,
+                      float x0, float y0, float step) {
+        for (int j = 0; j < height; j++) Arrays.fill(out, off + j * stride, off + j * stride + width, 0.0f);
+        NoiseConfig config = this.config;
+        short[] p = config.p;
+        Column column = new Column(width);
+
+        for (int o = 0; o < config.active; o++) {
+            float frequency = config.frequencies[o];
+            float amplitude = config.amplitudes[o];
+            int period = config.periods[o];
+            column.set(x0, step, frequency, i0, period);
+            for (int j = 0; j < height; j++) {
+                row2D(p, out, off + j * stride, column, y0 + (j0 + j) * step, frequency, amplitude, period);
+            }
+        }
+    }
+
+    /**
+     * Заполняет прямоугольную часть трехмерной сетки, точка
+     * {@code (i0 + i, j0 + j, k0 + k)} записывается в
+     * {@code out[off + k * sliceStride + j * rowStride + i]}.
+     *
+     * @see #fillRegion2D(float[], int, int, int, int, int, int, float, float, float)
+     */
+    void fillRegion3D(float[] out, int off, int rowStride, int sliceStride, int i0, int j0, int k0,
+                      int width, int height, int depth, float x0, float y0, float z0, float step) {
+        for (int k = 0; k < depth; k++) {
+            for (int j = 0; j < height; j++) {
+                int row = off + k * sliceStride + j * rowStride;
+                Arrays.fill(out, row, row + width, 0.0f);
+            }
+        }
+        NoiseConfig config = this.config;
+        short[] p = config.p;
+        Column column = new Column(width);
+
+        for (int o = 0; o < config.active; o++) {
+            float frequency = config.frequencies[o];
+            float amplitude = config.amplitudes[o];
+            int period = config.periods[o];
+            column.set(x0, step, frequency, i0, period);
+            for (int k = 0; k < depth; k++) {
+                float z = z0 + (k0 + k) * step;
+                for (int j = 0; j < height; j++) {
+                    int row = off + k * sliceStride + j * rowStride;
+                    float y = y0 + (j0 + j) * step;
+                    if (z == 0.0f && period == 0) row2D(p, out, row, column, y, frequency, amplitude, period);
+                    else row3D(p, out, row, column, y, z, frequency, amplitude, period);
+                }
+            }
+        }
+    }
+
+    private static void checkFill(float[] out, int width, int height, int depth) {
+        if (out == null) throw new NullPointerException("out == null");
+        if (width < 0) throw new IllegalArgumentException("width = " + width);
+        if (height < 0) throw new IllegalArgumentException("height = " + height);
+        if (depth < 0) throw new IllegalArgumentException("depth = " + depth);
+        long n = (long) width * height * depth;
+        if (n > out.length) throw new IllegalArgumentException("out.length = " + out.length + ", required " + n);
+    }
+
+    /**
+     * Столбцы сетки одной октавы: индексы клетки решетки и следующей за ней,
+     * дробная часть и сглаживание по x, общие для всех строк. Соседние
+     * столбцы одной клетки образуют отрезок {@code [run[r], run[r + 1])},
+     * внутри которого углы клетки не меняются.
+     */
+    private static final class Column {
+
+        final int width;
+        final int[] cell;
+        final int[] next;
+        final float[] frac;
+        final float[] fade;
+        final int[] run;
+        int runs;
+
+        Column(int width) {
+            this.width = width;
+            this.cell = new int[width];
+            this.next = new int[width];
+            this.frac = new float[width];
+            this.fade = new float[width];
+            this.run = new int[width + 1];
+        }
+
+        void set(float x0, float step, float frequency, int i0, int period) {
+            int runs = 0;
+            int last = 0;
+            for (int i = 0; i < this.width; i++) {
+                float x = (x0 + (i0 + i) * step) * frequency;
+                int xf = MoreMath.floor(x);
+                x -= xf;
+                if (i == 0 || xf != last) this.run[runs++] = i;
+                last = xf;
+                int X = cell(xf, period);
+                this.cell[i] = X;
+                this.next[i] = next(X, xf, period);
+                this.frac[i] = x;
+                this.fade[i] = fade(x);
+            }
+            this.run[runs] = this.width;
+            this.runs = runs;
+        }
+
+    }
+
+    /**
+     * Добавляет одну октаву одномерного шума к строке, как {@link #noise(float)}.
+     */
+    private static void row1D(short[] p, float[] out, int off, Column column, float amplitude) {
+        float[] frac = column.frac;
+        float[] fade = column.fade;
+        for (int r = 0; r < column.runs; r++) {
+            int start = column.run[r], end = column.run[r + 1];
+            float g0 = G1[p[p[column.cell[start]]] & 1];
+            float g1 = G1[p[p[column.next[start]]] & 1];
+            for (int i = start; i < end; i++) {
+                float x = frac[i];
+                float n = lerp(fade[i], x * g0, (x - 1.0f) * g1);
+                out[off + i] += amplitude * (1.0f + n) / 2.0f;
+            }
+        }
+    }
+
+    /**
+     * Добавляет одну октаву двухмерного шума к строке, как
+     * {@link #noise(float, float)}. Хеши и градиенты углов клетки считаются
+     * один раз на отрезок столбцов этой клетки, вклад y в скалярные
+     * произведения тогда же.
+     */
+    private static void row2D(short[] p, float[] out, int off, Column column, float y, float frequency, float amplitude,
+                              int period) {
+        if (y == 0.0f && period == 0) {
+            row1D(p, out, off, column, amplitude);
+            return;
+        }
+        float[] frac = column.frac;
+        float[] fade = column.fade;
+        y *= frequency;
+        int yf = MoreMath.floor(y);
+        y -= yf;
+        int Y0 = cell(yf, period), Y1 = next(Y0, yf, period);
+        float fy = fade(y);
+        float y1 = y - 1.0f;
+
+        for (int r = 0; r < column.runs; r++) {
+            int start = column.run[r], end = column.run[r + 1];
+            int A = p[column.cell[start]], B = p[column.next[start]];
+            int g00 = (p[A + Y0] & 3) << 1, g10 = (p[B + Y0] & 3) << 1, g01 = (p[A + Y1] & 3) << 1, g11 = (p[B + Y1] & 3) << 1;
+            float x00 = G2[g00], x10 = G2[g10], x01 = G2[g01], x11 = G2[g11];
+            float c00 = y * G2[g00 + 1], c10 = y * G2[g10 + 1], c01 = y1 * G2[g01 + 1], c11 = y1 * G2[g11 + 1];
+            for (int i = start; i < end; i++) {
+                float x = frac[i];
+                float fx = fade[i];
+                float x1 = x - 1.0f;
+                float n = lerp(fy, lerp(fx, x * x00 + c00, x1 * x10 + c10), lerp(fx, x * x01 + c01, x1 * x11 + c11));
+                out[off + i] += amplitude * (1.0f + n) / 2.0f;
+            }
+        }
+    }
+
+    /**
+     * Добавляет одну октаву трехмерного шума к строке, как
+     * {@link #noise(float, float, float)}.
+     *
+     * @see #row2D(short[], float[], int, Column, float, float, float, int)
+     */
+    private static void row3D(short[] p, float[] out, int off, Column column, float y, float z, float frequency,
+                              float amplitude, int period) {
+        float[] frac = column.frac;
+        float[] fade = column.fade;
+        y *= frequency;
+        int yf = MoreMath.floor(y);
+        y -= yf;
+        int Y0 = cell(yf, period), Y1 = next(Y0, yf, period);
+        z *= frequency;
+        int zf = MoreMath.floor(z);
+        z -= zf;
+        int Z0 = cell(zf, period), Z1 = next(Z0, zf, period);
+        float fy = fade(y);
+        float fz = fade(z);
+        float y1 = y - 1.0f;
+        float z1 = z - 1.0f;
+
+        for (int r = 0; r < column.runs; r++) {
+            int start = column.run[r], end = column.run[r + 1];
+            int A = p[column.cell[start]], B = p[column.next[start]];
+            int AA = p[A + Y0], AB = p[A + Y1], BA = p[B + Y0], BB = p[B + Y1];
+            // Углы клетки: суффикс xyz, например 011 это (x, y - 1, z - 1)
+            int g000 = (p[AA + Z0] & 15) << 2, g100 = (p[BA + Z0] & 15) << 2,
+                    g010 = (p[AB + Z0] & 15) << 2, g110 = (p[BB + Z0] & 15) << 2,
+                    g001 = (p[AA + Z1] & 15) << 2, g101 = (p[BA + Z1] & 15) << 2,
+                    g011 = (p[AB + Z1] & 15) << 2, g111 = (p[BB + Z1] & 15) << 2;
+            float x000 = G3[g000], x100 = G3[g100], x010 = G3[g010], x110 = G3[g110],
+                    x001 = G3[g001], x101 = G3[g101], x011 = G3[g011], x111 = G3[g111];
+            float y000 = y * G3[g000 + 1], y100 = y * G3[g100 + 1], y010 = y1 * G3[g010 + 1], y110 = y1 * G3[g110 + 1],
+                    y001 = y * G3[g001 + 1], y101 = y * G3[g101 + 1], y011 = y1 * G3[g011 + 1], y111 = y1 * G3[g111 + 1];
+            float z000 = z * G3[g000 + 2], z100 = z * G3[g100 + 2], z010 = z * G3[g010 + 2], z110 = z * G3[g110 + 2],
+                    z001 = z1 * G3[g001 + 2], z101 = z1 * G3[g101 + 2], z011 = z1 * G3[g011 + 2], z111 = z1 * G3[g111 + 2];
+            for (int i = start; i < end; i++) {
+                float x = frac[i];
+                float fx = fade[i];
+                float x1 = x - 1.0f;
+                float n = lerp(fz,
+                        lerp(fy, lerp(fx, x * x000 + y000 + z000, x1 * x100 + y100 + z100),
+                                lerp(fx, x * x010 + y010 + z010, x1 * x110 + y110 + z110)),
+                        lerp(fy, lerp(fx, x * x001 + y001 + z001, x1 * x101 + y101 + z101),
+                                lerp(fx, x * x011 + y011 + z011, x1 * x111 + y111 + z111)));
+                out[off + i] += amplitude * (1.0f + n) / 2.0f;
+            }
+        }
+    }
+
     /**
      * Получает одномерный шум.
      *
@@ -299,14 +771,7 @@ public class Noise {
      * @return одномерный шум.
      */
     public float noise1D(float x) {
-        int xf = MoreMath.floor(x);
-        x -= xf;
-        int X = xf & 255;
-
-        float fx = fade(x);
-        int A = this.p[X], B = this.p[X + 1];
-
-        return lerp(fx, grad(this.p[A], x), grad(this.p[B], x - 1.0f));
+        return noise1D(this.config.p, 0, x);
     }
 
     /**
@@ -316,19 +781,9 @@ public class Noise {
      * @param y число.
      * @return двухмерный шум.
      */
+    @Override
     public float noise2D(float x, float y) {
-        int xf = MoreMath.floor(x);
-        x -= xf;
-        int X = xf & 255;
-        int yf = MoreMath.floor(y);
-        y -= yf;
-        int Y = yf & 255;
-
-        float fx = fade(x);
-        float fy = fade(y);
-        int A = this.p[X] + Y, B = this.p[X + 1] + Y;
-
-        return lerp(fy, lerp(fx, grad(this.p[A], x, y), grad(this.p[B], x - 1.0f, y)), lerp(fx, grad(this.p[A + 1], x, y - 1.0f), grad(this.p[B + 1], x - 1.0f, y - 1.0f)));
+        return noise2D(this.config.p, 0, x, y);
     }
 
     /**
@@ -339,36 +794,123 @@ public class Noise {
      * @param z число.
      * @return трехмерный шум.
      */
+    @Override
     public float noise3D(float x, float y, float z) {
+        return noise3D(this.config.p, 0, x, y, z);
+    }
+
+    /**
+     * Получает четырехмерный шум.
+     *
+     * @param x число.
+     * @param y число.
+     * @param z число.
+     * @param w число.
+     * @return четырехмерный шум.
+     */
+    @Override
+    public float noise4D(float x, float y, float z, float w) {
+        return noise4D(this.config.p, 0, x, y, z, w);
+    }
+
+    /**
+     * Получает двухмерный шум по координатам двойной точности. Клетка
+     * решетки берется целиком, а не по модулю 256, поэтому шум не
+     * повторяется; для клеток от 0 до 254 он совпадает с
+     * {@link #noise2D(float, float)}.
+     *
+     * @param x число.
+     * @param y число.
+     * @return двухмерный шум.
+     */
+    public float noise2D(double x, double y) {
+        return noise2D(this.config.p, 0, x, y);
+    }
+
+    /**
+     * Получает трехмерный шум по координатам двойной точности.
+     *
+     * @param x число.
+     * @param y число.
+     * @param z число.
+     * @return трехмерный шум.
+     * @see #noise2D(double, double)
+     */
+    public float noise3D(double x, double y, double z) {
+        return noise3D(this.config.p, 0, x, y, z);
+    }
+
+    /**
+     * Получает четырехмерный шум по координатам двойной точности.
+     *
+     * @param x число.
+     * @param y число.
+     * @param z число.
+     * @param w число.
+     * @return четырехмерный шум.
+     * @see #noise2D(double, double)
+     */
+    public float noise4D(double x, double y, double z, double w) {
+        return noise4D(this.config.p, 0, x, y, z, w);
+    }
+
+    /**
+     * Получает двухмерный шум вместе с его градиентом за одно вычисление,
+     * вместо двух-трех лишних вызовов для конечных разностей. Значение
+     * совпадает с {@link #noise2D(float, float)}, в {@code gradOut[0]} и
+     * {@code gradOut[1]} записываются частные производные по x и y.
+     *
+     * @param x       число.
+     * @param y       число.
+     * @param gradOut массив длиной не меньше 2 для градиента.
+     * @return двухмерный шум.
+     */
+    public float noise2D(float x, float y, float[] gradOut) {
+        checkGradient(gradOut, 2);
+        short[] p = this.config.p;
         int xf = MoreMath.floor(x);
         x -= xf;
         int X = xf & 255;
         int yf = MoreMath.floor(y);
         y -= yf;
         int Y = yf & 255;
-        int zf = MoreMath.floor(z);
-        z -= zf;
-        int Z = zf & 255;
 
-        float fx = fade(x);
-        float fy = fade(y);
-        float fz = fade(z);
-        int A = this.p[X] + Y, AA = this.p[A] + Z, AB = this.p[A + 1] + Z,
-                B = this.p[X + 1] + Y, BA = this.p[B] + Z, BB = this.p[B + 1] + Z;
+        int A = p[X], B = p[X + 1];
+        int h00 = (p[A + Y] & 3) << 1, h10 = (p[B + Y] & 3) << 1,
+                h01 = (p[A + Y + 1] & 3) << 1, h11 = (p[B + Y + 1] & 3) << 1;
+        float x1 = x - 1.0f;
+        float y1 = y - 1.0f;
+        float a = x * G2[h00] + y * G2[h00 + 1];
+        float b = x1 * G2[h10] + y * G2[h10 + 1];
+        float c = x * G2[h01] + y1 * G2[h01 + 1];
+        float d = x1 * G2[h11] + y1 * G2[h11 + 1];
+        float u = fade(x);
+        float v = fade(y);
 
-        return lerp(fz, lerp(fy, lerp(fx, grad(this.p[AA], x, y, z), grad(this.p[BA], x - 1.0f, y, z)), lerp(fx, grad(this.p[AB], x, y - 1.0f, z), grad(this.p[BB], x - 1.0f, y - 1.0f, z))), lerp(fy, lerp(fx, grad(this.p[AA + 1], x, y, z - 1.0f), grad(this.p[BA + 1], x - 1.0f, y, z - 1.0f)), lerp(fx, grad(this.p[AB + 1], x, y - 1.0f, z - 1.0f), grad(this.p[BB + 1], x - 1.0f, y - 1.0f, z - 1.0f))));
+        // n = a + u(b - a) + v(c - a) + uv(a - b - c + d), где a..d и u, v
+        // зависят от координат: градиенты углов интерполируются так же, как
+        // значения, плюс производные сглаживания
+        float k1 = b - a, k2 = c - a, k4 = a - b - c + d;
+        gradOut[0] = lerp(v, lerp(u, G2[h00], G2[h10]), lerp(u, G2[h01], G2[h11])) + dfade(x) * (k1 + k4 * v);
+        gradOut[1] = lerp(v, lerp(u, G2[h00 + 1], G2[h10 + 1]), lerp(u, G2[h01 + 1], G2[h11 + 1])) + dfade(y) * (k2 + k4 * u);
+        return lerp(v, lerp(u, a, b), lerp(u, c, d));
     }
 
     /**
-     * Получает четырехмерный шум.
+     * Получает трехмерный шум вместе с его градиентом. Значение совпадает с
+     * {@link #noise3D(float, float, float)}, в {@code gradOut[0..2]}
+     * записываются частные производные по x, y и z.
      *
-     * @param x число.
-     * @param y число.
-     * @param z число.
-     * @param w число.
-     * @return четырехмерный шум.
+     * @param x       число.
+     * @param y       число.
+     * @param z       число.
+     * @param gradOut массив длиной не меньше 3 для градиента.
+     * @return трехмерный шум.
+     * @see #noise2D(float, float, float[])
      */
-    public float noise4D(float x, float y, float z, float w) {
+    public float noise3D(float x, float y, float z, float[] gradOut) {
+        checkGradient(gradOut, 3);
+        short[] p = this.config.p;
         int xf = MoreMath.floor(x);
         x -= xf;
         int X = xf & 255;
@@ -378,49 +920,210 @@ public class Noise {
         int zf = MoreMath.floor(z);
         z -= zf;
         int Z = zf & 255;
+
+        int A = p[X], B = p[X + 1];
+        int AA = p[A + Y], AB = p[A + Y + 1], BA = p[B + Y], BB = p[B + Y + 1];
+        // Углы клетки: суффикс xyz, например 011 это (x, y - 1, z - 1)
+        int h000 = (p[AA + Z] & 15) << 2, h100 = (p[BA + Z] & 15) << 2,
+                h010 = (p[AB + Z] & 15) << 2, h110 = (p[BB + Z] & 15) << 2,
+                h001 = (p[AA + Z + 1] & 15) << 2, h101 = (p[BA + Z + 1] & 15) << 2,
+                h011 = (p[AB + Z + 1] & 15) << 2, h111 = (p[BB + Z + 1] & 15) << 2;
+        float x1 = x - 1.0f;
+        float y1 = y - 1.0f;
+        float z1 = z - 1.0f;
+        float a = x * G3[h000] + y * G3[h000 + 1] + z * G3[h000 + 2];
+        float b = x1 * G3[h100] + y * G3[h100 + 1] + z * G3[h100 + 2];
+        float c = x * G3[h010] + y1 * G3[h010 + 1] + z * G3[h010 + 2];
+        float d = x1 * G3[h110] + y1 * G3[h110 + 1] + z * G3[h110 + 2];
+        float e = x * G3[h001] + y * G3[h001 + 1] + z1 * G3[h001 + 2];
+        float f = x1 * G3[h101] + y * G3[h101 + 1] + z1 * G3[h101 + 2];
+        float g = x * G3[h011] + y1 * G3[h011 + 1] + z1 * G3[h011 + 2];
+        float h = x1 * G3[h111] + y1 * G3[h111 + 1] + z1 * G3[h111 + 2];
+        float u = fade(x);
+        float v = fade(y);
+        float w = fade(z);
+
+        // n = a + k1 u + k2 v + k3 w + k4 uv + k5 vw + k6 wu + k7 uvw
+        float k1 = b - a, k2 = c - a, k3 = e - a;
+        float k4 = a - b - c + d, k5 = a - c - e + g, k6 = a - b - e + f;
+        float k7 = -a + b + c - d + e - f - g + h;
+        for (int i = 0; i < 3; i++) {
+            gradOut[i] = lerp(w,
+                    lerp(v, lerp(u, G3[h000 + i], G3[h100 + i]), lerp(u, G3[h010 + i], G3[h110 + i])),
+                    lerp(v, lerp(u, G3[h001 + i], G3[h101 + i]), lerp(u, G3[h011 + i], G3[h111 + i])));
+        }
+        gradOut[0] += dfade(x) * (k1 + k4 * v + k6 * w + k7 * v * w);
+        gradOut[1] += dfade(y) * (k2 + k4 * u + k5 * w + k7 * u * w);
+        gradOut[2] += dfade(z) * (k3 + k5 * v + k6 * u + k7 * u * v);
+        return lerp(w, lerp(v, lerp(u, a, b), lerp(u, c, d)), lerp(v, lerp(u, e, f), lerp(u, g, h)));
+    }
+
+    private static void checkGradient(float[] gradOut, int length) {
+        if (gradOut == null) throw new NullPointerException("gradOut == null");
+        if (gradOut.length < length) throw new IllegalArgumentException("gradOut.length = " + gradOut.length);
+    }
+
+    private static float noise1D(short[] p, int period, float x) {
+        int xf = MoreMath.floor(x);
+        int X0 = cell(xf, period);
+        return lattice1D(p, X0, next(X0, xf, period), x - xf);
+    }
+
+    private static float noise2D(short[] p, int period, float x, float y) {
+        int xf = MoreMath.floor(x);
+        int yf = MoreMath.floor(y);
+        int X0 = cell(xf, period), Y0 = cell(yf, period);
+        return lattice2D(p, X0, next(X0, xf, period), Y0, next(Y0, yf, period), x - xf, y - yf);
+    }
+
+    private static float noise3D(short[] p, int period, float x, float y, float z) {
+        int xf = MoreMath.floor(x);
+        int yf = MoreMath.floor(y);
+        int zf = MoreMath.floor(z);
+        int X0 = cell(xf, period), Y0 = cell(yf, period), Z0 = cell(zf, period);
+        return lattice3D(p, X0, next(X0, xf, period), Y0, next(Y0, yf, period), Z0, next(Z0, zf, period),
+                x - xf, y - yf, z - zf);
+    }
+
+    private static float noise4D(short[] p, int period, float x, float y, float z, float w) {
+        int xf = MoreMath.floor(x);
+        int yf = MoreMath.floor(y);
+        int zf = MoreMath.floor(z);
         int wf = MoreMath.floor(w);
-        w -= wf;
-        int W = wf & 255;
+        int X0 = cell(xf, period), Y0 = cell(yf, period), Z0 = cell(zf, period), W0 = cell(wf, period);
+        return lattice4D(p, X0, next(X0, xf, period), Y0, next(Y0, yf, period), Z0, next(Z0, zf, period),
+                W0, next(W0, wf, period), x - xf, y - yf, z - zf, w - wf);
+    }
+
+    private static float noise2D(short[] p, int period, double x, double y) {
+        long xf = (long) Math.floor(x);
+        long yf = (long) Math.floor(y);
+        return lattice2D(p, cell(xf, period), cell(xf + 1, period), cell(yf, period), cell(yf + 1, period),
+                (float) (x - xf), (float) (y - yf));
+    }
 
+    private static float noise3D(short[] p, int period, double x, double y, double z) {
+        long xf = (long) Math.floor(x);
+        long yf = (long) Math.floor(y);
+        long zf = (long) Math.floor(z);
+        return lattice3D(p, cell(xf, period), cell(xf + 1, period), cell(yf, period), cell(yf + 1, period),
+                cell(zf, period), cell(zf + 1, period), (float) (x - xf), (float) (y - yf), (float) (z - zf));
+    }
+
+    private static float noise4D(short[] p, int period, double x, double y, double z, double w) {
+        long xf = (long) Math.floor(x);
+        long yf = (long) Math.floor(y);
+        long zf = (long) Math.floor(z);
+        long wf = (long) Math.floor(w);
+        return lattice4D(p, cell(xf, period), cell(xf + 1, period), cell(yf, period), cell(yf + 1, period),
+                cell(zf, period), cell(zf + 1, period), cell(wf, period), cell(wf + 1, period),
+                (float) (x - xf), (float) (y - yf), (float) (z - zf), (float) (w - wf));
+    }
+
+    /**
+     * Индекс клетки решетки в таблице перестановки для {@code float}
+     * координат: без периода младшие 8 бит, как всегда было, с периодом
+     * остаток от деления на период.
+     */
+    private static int cell(int c, int period) {
+        return period == 0 ? c & 255 : fold(Math.floorMod(c, period));
+    }
+
+    /**
+     * Индекс следующей клетки. Без периода это {@code X + 1}, до 256
+     * включительно, таблица перестановки для этого и повторена дважды.
+     */
+    private static int next(int X, int c, int period) {
+        return period == 0 ? X + 1 : fold(Math.floorMod(c + 1, period));
+    }
+
+    /**
+     * Индекс клетки решетки для {@code double} координат: клетка целиком
+     * или остаток от деления на период.
+     */
+    private static int cell(long c, int period) {
+        return fold(period == 0 ? c : Math.floorMod(c, (long) period));
+    }
+
+    /**
+     * Сворачивает номер клетки в индекс таблицы перестановки. Клетки от 0 до
+     * 255 остаются на месте, остальные перемешиваются умножением на
+     * золотое сечение, так что сдвиг на 256 клеток не повторяет шум.
+     * Непрерывность не страдает: хеш угла зависит только от номеров клеток.
+     */
+    private static int fold(long c) {
+        return (c & ~255L) == 0 ? (int) c : (int) ((c * 0x9E3779B97F4A7C15L) >>> 56);
+    }
+
+    private static float lattice1D(short[] p, int X0, int X1, float x) {
+        float fx = fade(x);
+        return lerp(fx, grad(p[p[X0]], x), grad(p[p[X1]], x - 1.0f));
+    }
+
+    private static float lattice2D(short[] p, int X0, int X1, int Y0, int Y1, float x, float y) {
+        float fx = fade(x);
+        float fy = fade(y);
+        int A = p[X0], B = p[X1];
+
+        return lerp(fy, lerp(fx, grad(p[A + Y0], x, y), grad(p[B + Y0], x - 1.0f, y)), lerp(fx, grad(p[A + Y1], x, y - 1.0f), grad(p[B + Y1], x - 1.0f, y - 1.0f)));
+    }
+
+    private static float lattice3D(short[] p, int X0, int X1, int Y0, int Y1, int Z0, int Z1, float x, float y, float z) {
+        float fx = fade(x);
+        float fy = fade(y);
+        float fz = fade(z);
+        int A = p[X0], B = p[X1];
+        int AA = p[A + Y0], AB = p[A + Y1], BA = p[B + Y0], BB = p[B + Y1];
+
+        return lerp(fz, lerp(fy, lerp(fx, grad(p[AA + Z0], x, y, z), grad(p[BA + Z0], x - 1.0f, y, z)), lerp(fx, grad(p[AB + Z0], x, y - 1.0f, z), grad(p[BB + Z0], x - 1.0f, y - 1.0f, z))), lerp(fy, lerp(fx, grad(p[AA + Z1], x, y, z - 1.0f), grad(p[BA + Z1], x - 1.0f, y, z - 1.0f)), lerp(fx, grad(p[AB + Z1], x, y - 1.0f, z - 1.0f), grad(p[BB + Z1], x - 1.0f, y - 1.0f, z - 1.0f))));
+    }
+
+    private static float lattice4D(short[] p, int X0, int X1, int Y0, int Y1, int Z0, int Z1, int W0, int W1,
+                                   float x, float y, float z, float w) {
         float fx = fade(x);
         float fy = fade(y);
         float fz = fade(z);
         float fw = fade(w);
-        int A = this.p[X] + Y, AA = this.p[A] + Z, AB = this.p[A + 1] + Z,
-                B = this.p[X + 1] + Y, BA = this.p[B] + Z, BB = this.p[B + 1] + Z,
-                AAA = this.p[AA] + W, AAB = this.p[AA + 1] + W, ABA = this.p[AB] + W,
-                ABB = this.p[AB + 1] + W, BAA = this.p[BA] + W, BAB = this.p[BA + 1] + W,
-                BBA = this.p[BB] + W, BBB = this.p[BB + 1] + W;
+        int A = p[X0], B = p[X1];
+        int AA = p[A + Y0], AB = p[A + Y1], BA = p[B + Y0], BB = p[B + Y1];
+        int AAA = p[AA + Z0], AAB = p[AA + Z1], ABA = p[AB + Z0], ABB = p[AB + Z1],
+                BAA = p[BA + Z0], BAB = p[BA + Z1], BBA = p[BB + Z0], BBB = p[BB + Z1];
 
-        return lerp(fw, lerp(fz, lerp(fy, lerp(fx, grad(this.p[AAA], x, y, z, w), grad(this.p[BAA], x - 1.0f, y, z, w)), lerp(fx, grad(this.p[ABA], x, y - 1.0f, z, w), grad(this.p[BBA], x - 1.0f, y - 1.0f, z, w))), lerp(fy, lerp(fx, grad(this.p[AAB], x, y, z - 1.0f, w), grad(this.p[BAB], x - 1.0f, y, z - 1.0f, w)), lerp(fx, grad(this.p[ABB], x, y - 1.0f, z - 1.0f, w), grad(this.p[BBB], x - 1.0f, y - 1.0f, z - 1.0f, w)))), lerp(fz, lerp(fy, lerp(fx, grad(this.p[AAA + 1], x, y, z, w - 1.0f), grad(this.p[BAA + 1], x - 1.0f, y, z, w - 1.0f)), lerp(fx, grad(this.p[ABA + 1], x, y - 1.0f, z, w - 1.0f), grad(this.p[BBA + 1], x - 1.0f, y - 1.0f, z, w - 1.0f))), lerp(fy, lerp(fx, grad(this.p[AAB + 1], x, y, z - 1.0f, w - 1.0f), grad(this.p[BAB + 1], x - 1.0f, y, z - 1.0f, w - 1.0f)), lerp(fx, grad(this.p[ABB + 1], x, y - 1.0f, z - 1.0f, w - 1.0f), grad(this.p[BBB + 1], x - 1.0f, y - 1.0f, z - 1.0f, w - 1.0f)))));
+        return lerp(fw, lerp(fz, lerp(fy, lerp(fx, grad(p[AAA + W0], x, y, z, w), grad(p[BAA + W0], x - 1.0f, y, z, w)), lerp(fx, grad(p[ABA + W0], x, y - 1.0f, z, w), grad(p[BBA + W0], x - 1.0f, y - 1.0f, z, w))), lerp(fy, lerp(fx, grad(p[AAB + W0], x, y, z - 1.0f, w), grad(p[BAB + W0], x - 1.0f, y, z - 1.0f, w)), lerp(fx, grad(p[ABB + W0], x, y - 1.0f, z - 1.0f, w), grad(p[BBB + W0], x - 1.0f, y - 1.0f, z - 1.0f, w)))), lerp(fz, lerp(fy, lerp(fx, grad(p[AAA + W1], x, y, z, w - 1.0f), grad(p[BAA + W1], x - 1.0f, y, z, w - 1.0f)), lerp(fx, grad(p[ABA + W1], x, y - 1.0f, z, w - 1.0f), grad(p[BBA + W1], x - 1.0f, y - 1.0f, z, w - 1.0f))), lerp(fy, lerp(fx, grad(p[AAB + W1], x, y, z - 1.0f, w - 1.0f), grad(p[BAB + W1], x - 1.0f, y, z - 1.0f, w - 1.0f)), lerp(fx, grad(p[ABB + W1], x, y - 1.0f, z - 1.0f, w - 1.0f), grad(p[BBB + W1], x - 1.0f, y - 1.0f, z - 1.0f, w - 1.0f)))));
     }
 
     private static float fade(float t) {
         return t * t * t * (t * (t * 6.0f - 15.0f) + 10.0f);
     }
 
+    /**
+     * Производная {@link #fade(float)}: {@code 30 t^2 (t - 1)^2}.
+     */
+    private static float dfade(float t) {
+        return t * t * (t * (t * 30.0f - 60.0f) + 30.0f);
+    }
+
     private static float lerp(float t, float a, float b) {
         return a + t * (b - a);
     }
 
     private static float grad(int hash, float x) {
-        int h = hash & 1;
-        return x * G1[h][0];
+        return x * G1[hash & 1];
     }
 
     private static float grad(int hash, float x, float y) {
-        int h = hash & 3;
-        return x * G2[h][0] + y * G2[h][1];
+        int h = (hash & 3) << 1;
+        return x * G2[h] + y * G2[h + 1];
     }
 
     private static float grad(int hash, float x, float y, float z) {
-        int h = hash & 15;
-        return x * G3[h][0] + y * G3[h][1] + z * G3[h][2];
+        int h = (hash & 15) << 2;
+        return x * G3[h] + y * G3[h + 1] + z * G3[h + 2];
     }
 
     private static float grad(int hash, float x, float y, float z, float w) {
-        int h = hash & 31;
-        return x * G4[h][0] + y * G4[h][1] + z * G4[h][2] + w * G4[h][3];
+        int h = (hash & 31) << 2;
+        return x * G4[h] + y * G4[h + 1] + z * G4[h + 2] + w * G4[h + 3];
     }
 
 }
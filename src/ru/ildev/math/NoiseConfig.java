@@ -0,0 +1,451 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.util.Random;
+
+/**
+ * Неизменяемые параметры шума Перлина: сид, стойкость, частота, амплитуда,
+ * количество октав, множитель частоты октав, способ их сложения и допуск.
+ * Таблица перестановки, частоты и амплитуды октав строятся один раз при
+ * создании и дальше только читаются, поэтому один экземпляр можно без
+ * синхронизации использовать из любого количества потоков.
+ * <p>
+ * Допуск {@link #getTolerance()} отбрасывает старшие октавы, сумма амплитуд
+ * которых не больше допуска: вклад октавы по модулю примерно не больше ее
+ * амплитуды (см. {@link Fractal}), так что результат меняется примерно на
+ * допуск, а на каждую точку считается меньше октав. Это оценка, а не
+ * строгая граница.
+ * <p>
+ * Период {@link #getPeriod()} делает шум периодическим по каждой координате,
+ * например для бесшовных текстур: значения в {@code x} и {@code x + period}
+ * совпадают. Частота каждой октавы для этого чуть подправляется, чтобы на
+ * период приходилось целое число клеток решетки.
+ * <p>
+ * Создается через {@link #builder()}:
+ * <pre>
+ * NoiseConfig config = NoiseConfig.builder().seed(42L).octaves(6).build();
+ * Noise noise = new Noise(config);
+ * </pre>
+ *
+ * @author Ilyas74
+ * @see Noise
+ */
+public final class NoiseConfig {
+
+    private final long seed;
+    private final float persistence;
+    private final float frequency;
+    private final float amplitude;
+    private final int octaves;
+    private final float lacunarity;
+    private final Fractal fractal;
+    private final float tolerance;
+    private final float period;
+    /** Перестановка 0..255, повторенная дважды. */
+    final short[] p;
+    /** Частоты октав. */
+    final float[] frequencies;
+    /** Амплитуды октав. */
+    final float[] amplitudes;
+    /** Периоды октав в клетках решетки, нули без периода. */
+    final int[] periods;
+    /** Количество октав, оставшихся после отбрасывания по допуску. */
+    final int active;
+
+    private NoiseConfig(Builder builder) {
+        this.seed = builder.seed;
+        this.persistence = builder.persistence;
+        this.frequency = builder.frequency;
+        this.amplitude = builder.amplitude;
+        this.octaves = builder.octaves;
+        this.lacunarity = builder.lacunarity;
+        this.fractal = builder.fractal;
+        this.tolerance = builder.tolerance;
+        this.period = builder.period;
+        this.p = permutation(builder.seed);
+
+        // Те же умножения, что делал цикл октав, чтобы значения не изменились
+        this.frequencies = new float[this.octaves];
+        this.amplitudes = new float[this.octaves];
+        float frequency = this.frequency;
+        float amplitude = this.amplitude;
+        for (int i = 0; i < this.octaves; i++) {
+            this.frequencies[i] = frequency;
+            this.amplitudes[i] = amplitude;
+            amplitude *= this.persistence;
+            frequency *= this.lacunarity;
+        }
+        this.periods = new int[this.octaves];
+        if (this.period > 0.0f) {
+            for (int i = 0; i < this.octaves; i++) {
+                long cells = Math.max(1L, Math.round((double) this.period * this.frequencies[i]));
+                if (cells > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("period * frequency = " + cells + " cells, octave " + i);
+                }
+                this.periods[i] = (int) cells;
+                this.frequencies[i] = (float) (cells / (double) this.period);
+            }
+        }
+        int active = this.octaves;
+        float dropped = 0.0f;
+        while (active > 0 && dropped + Math.abs(this.amplitudes[active - 1]) <= this.tolerance) {
+            dropped += Math.abs(this.amplitudes[--active]);
+        }
+        this.active = active;
+    }
+
+    /**
+     * Создает построитель со стандартными параметрами {@link Noise} и
+     * нулевым сидом.
+     *
+     * @return построитель.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Создает построитель, заполненный параметрами этой конфигурации.
+     *
+     * @return построитель.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .seed(this.seed)
+                .persistence(this.persistence)
+                .frequency(this.frequency)
+                .amplitude(this.amplitude)
+                .octaves(this.octaves)
+                .lacunarity(this.lacunarity)
+                .fractal(this.fractal)
+                .tolerance(this.tolerance)
+                .period(this.period);
+    }
+
+    /**
+     * Получает сид.
+     *
+     * @return сид.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Получает стойкость шума.
+     *
+     * @return стойкость.
+     */
+    public float getPersistence() {
+        return this.persistence;
+    }
+
+    /**
+     * Получает частоту шума.
+     *
+     * @return частоту.
+     */
+    public float getFrequency() {
+        return this.frequency;
+    }
+
+    /**
+     * Получает амплитуду шума.
+     *
+     * @return амплитуду.
+     */
+    public float getAmplitude() {
+        return this.amplitude;
+    }
+
+    /**
+     * Получает количество октав.
+     *
+     * @return количество октав.
+     */
+    public int getOctaves() {
+        return this.octaves;
+    }
+
+    /**
+     * Получает множитель частоты каждой следующей октавы.
+     *
+     * @return множитель частоты.
+     */
+    public float getLacunarity() {
+        return this.lacunarity;
+    }
+
+    /**
+     * Получает способ сложения октав.
+     *
+     * @return способ сложения октав.
+     */
+    public Fractal getFractal() {
+        return this.fractal;
+    }
+
+    /**
+     * Получает допуск, в пределах которого старшие октавы отбрасываются.
+     *
+     * @return допуск.
+     */
+    public float getTolerance() {
+        return this.tolerance;
+    }
+
+    /**
+     * Получает период шума.
+     *
+     * @return период, 0 если шум не периодический.
+     */
+    public float getPeriod() {
+        return this.period;
+    }
+
+    /**
+     * Определяет, периодический ли шум.
+     *
+     * @return {@code true}, если период задан.
+     */
+    public boolean isPeriodic() {
+        return this.period > 0.0f;
+    }
+
+    /**
+     * Получает количество октав, которые действительно считаются, то есть
+     * {@link #getOctaves()} без отброшенных по допуску.
+     *
+     * @return количество считаемых октав.
+     */
+    public int getActiveOctaves() {
+        return this.active;
+    }
+
+    /**
+     * Получает наибольшее по модулю значение фрактальной суммы, сумму
+     * модулей амплитуд считаемых октав.
+     *
+     * @return сумма модулей амплитуд.
+     */
+    public float getMaxValue() {
+        float sum = 0.0f;
+        for (int i = 0; i < this.active; i++) sum += Math.abs(this.amplitudes[i]);
+        return sum;
+    }
+
+    /**
+     * Перемешивает перестановку так же, как это всегда делал
+     * {@link Noise#setSeed(long)}, чтобы шум с тем же сидом не изменился.
+     */
+    private static short[] permutation(long seed) {
+        short[] p = new short[512];
+        Random random = new Random(seed);
+        for (int i = 0; i < 256; i++) p[i] = (short) i;
+        for (int i = 0; i < 256; i++) {
+            int j = random.nextInt() & 255;
+            short t = p[j];
+            p[j] = p[i];
+            p[i] = t;
+        }
+        System.arraycopy(p, 0, p, 256, 256);
+        return p;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == null) {
+            return false;
+        } else if (this == other) {
+            return true;
+        } else if (other instanceof NoiseConfig) {
+            NoiseConfig config = (NoiseConfig) other;
+            return this.seed == config.seed
+                    && Float.floatToIntBits(this.persistence) == Float.floatToIntBits(config.persistence)
+                    && Float.floatToIntBits(this.frequency) == Float.floatToIntBits(config.frequency)
+                    && Float.floatToIntBits(this.amplitude) == Float.floatToIntBits(config.amplitude)
+                    && this.octaves == config.octaves
+                    && Float.floatToIntBits(this.lacunarity) == Float.floatToIntBits(config.lacunarity)
+                    && this.fractal == config.fractal
+                    && Float.floatToIntBits(this.tolerance) == Float.floatToIntBits(config.tolerance)
+                    && Float.floatToIntBits(this.period) == Float.floatToIntBits(config.period);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 79 * hash + (int) (this.seed ^ (this.seed >>> 32));
+        hash = 79 * hash + Float.floatToIntBits(this.persistence);
+        hash = 79 * hash + Float.floatToIntBits(this.frequency);
+        hash = 79 * hash + Float.floatToIntBits(this.amplitude);
+        hash = 79 * hash + this.octaves;
+        hash = 79 * hash + Float.floatToIntBits(this.lacunarity);
+        hash = 79 * hash + this.fractal.hashCode();
+        hash = 79 * hash + Float.floatToIntBits(this.tolerance);
+        hash = 79 * hash + Float.floatToIntBits(this.period);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getName() + "[seed=" + this.seed + ",persistence=" + this.persistence
+                + ",frequency=" + this.frequency + ",amplitude=" + this.amplitude + ",octaves=" + this.octaves
+                + ",lacunarity=" + this.lacunarity + ",fractal=" + this.fractal + ",tolerance=" + this.tolerance
+                + ",period=" + this.period + "]";
+    }
+
+    /**
+     * Построитель {@link NoiseConfig}. Не потокобезопасен, в отличие от
+     * создаваемых им конфигураций.
+     */
+    public static final class Builder {
+
+        private long seed;
+        private float persistence = Noise.DEFAULT_PERSISTENCE;
+        private float frequency = Noise.DEFAULT_FREQUENCY;
+        private float amplitude = Noise.DEFAULT_AMPLITUDE;
+        private int octaves = Noise.DEFAULT_OCTAVES;
+        private float lacunarity = 2.0f;
+        private Fractal fractal = Fractal.FBM;
+        private float tolerance;
+        private float period;
+
+        private Builder() {
+        }
+
+        /**
+         * Устанавливает сид.
+         *
+         * @param seed сид.
+         * @return этот построитель.
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Устанавливает стойкость, множитель амплитуды каждой следующей
+         * октавы.
+         *
+         * @param persistence стойкость.
+         * @return этот построитель.
+         */
+        public Builder persistence(float persistence) {
+            this.persistence = persistence;
+            return this;
+        }
+
+        /**
+         * Устанавливает частоту первой октавы.
+         *
+         * @param frequency частота.
+         * @return этот построитель.
+         */
+        public Builder frequency(float frequency) {
+            this.frequency = frequency;
+            return this;
+        }
+
+        /**
+         * Устанавливает амплитуду первой октавы.
+         *
+         * @param amplitude амплитуда.
+         * @return этот построитель.
+         */
+        public Builder amplitude(float amplitude) {
+            this.amplitude = amplitude;
+            return this;
+        }
+
+        /**
+         * Устанавливает количество октав.
+         *
+         * @param octaves количество октав.
+         * @return этот построитель.
+         * @throws IllegalArgumentException если {@code octaves < 0}.
+         */
+        public Builder octaves(int octaves) {
+            if (octaves < 0) throw new IllegalArgumentException("octaves = " + octaves);
+            this.octaves = octaves;
+            return this;
+        }
+
+        /**
+         * Устанавливает множитель частоты каждой следующей октавы,
+         * стандартно 2.
+         *
+         * @param lacunarity множитель частоты.
+         * @return этот построитель.
+         */
+        public Builder lacunarity(float lacunarity) {
+            this.lacunarity = lacunarity;
+            return this;
+        }
+
+        /**
+         * Устанавливает способ сложения октав для
+         * {@link Noise#fractal3D(float, float, float)} и подобных, стандартно
+         * {@link Fractal#FBM}.
+         *
+         * @param fractal способ сложения октав.
+         * @return этот построитель.
+         */
+        public Builder fractal(Fractal fractal) {
+            if (fractal == null) throw new NullPointerException("fractal == null");
+            this.fractal = fractal;
+            return this;
+        }
+
+        /**
+         * Устанавливает допуск: старшие октавы, сумма амплитуд которых не
+         * больше допуска, не считаются. Стандартно 0, считаются все октавы.
+         *
+         * @param tolerance допуск.
+         * @return этот построитель.
+         * @throws IllegalArgumentException если допуск отрицателен или не число.
+         */
+        public Builder tolerance(float tolerance) {
+            if (!(tolerance >= 0.0f)) throw new IllegalArgumentException("tolerance = " + tolerance);
+            this.tolerance = tolerance;
+            return this;
+        }
+
+        /**
+         * Устанавливает период шума по каждой координате. Стандартно 0, шум
+         * не периодический. Частота октавы {@code f} заменяется ближайшей
+         * {@code n / period} с целым {@code n >= 1}, поэтому для точного
+         * сохранения частот {@code period * frequency} и множитель частоты
+         * должны быть целыми.
+         *
+         * @param period период, 0 чтобы выключить.
+         * @return этот построитель.
+         * @throws IllegalArgumentException если период отрицателен, бесконечен или не число.
+         */
+        public Builder period(float period) {
+            if (!(period >= 0.0f) || Float.isInfinite(period)) {
+                throw new IllegalArgumentException("period = " + period);
+            }
+            this.period = period;
+            return this;
+        }
+
+        /**
+         * Создает конфигурацию.
+         *
+         * @return новая неизменяемая конфигурация.
+         * @throws IllegalArgumentException если на период старшей октавы
+         *                                  приходится больше {@code 2^31 - 1} клеток.
+         */
+        public NoiseConfig build() {
+            return new NoiseConfig(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,399 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Параллельный генератор больших полей шума. Область разбивается на плитки
+ * {@code tileSize x tileSize} точек (трехмерная область еще и по слоям z),
+ * плитки считаются независимо на {@link ForkJoinPool} или переданном
+ * {@link Executor} через {@link Noise#fill2D(float[], int, int, float, float, float)}.
+ * Координаты точек считаются от начала всей области, поэтому результат
+ * не зависит ни от размера плиток, ни от количества потоков.
+ * <p>
+ * Ширина плитки кратна 16 точкам, то есть 64 байтам. Строка {@code j}
+ * плитки начинается с точки {@code j * width + i0}, поэтому соседние по x
+ * плитки пишут в разные строки кэша, только если массив выровнен по строке
+ * кэша и ширина поля {@code width} тоже кратна 16. Все плитки одного вызова
+ * считаются по одной конфигурации шума, взятой в начале вызова, даже если
+ * шум меняется параллельно.
+ *
+ * @author Ilyas74
+ */
+public final class NoiseField {
+
+    /** Стандартный размер плитки: 128 x 128 точек, 64 КиБ, помещается в L2 кэш. */
+    public static final int DEFAULT_TILE_SIZE = 128;
+
+    private final Noise noise;
+    private final Executor executor;
+    private final int tileSize;
+
+    /**
+     * Создает генератор на общем {@link ForkJoinPool#commonPool()} со
+     * стандартным размером плитки.
+     *
+     * @param noise шум.
+     */
+    public NoiseField(Noise noise) {
+        this(noise, ForkJoinPool.commonPool(), DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Создает генератор.
+     *
+     * @param noise    шум.
+     * @param executor исполнитель плиток, например {@link ForkJoinPool}.
+     * @param tileSize сторона плитки в точках, округляется вверх до кратной 16.
+     */
+    public NoiseField(Noise noise, Executor executor, int tileSize) {
+        if (noise == null) throw new NullPointerException("noise == null");
+        if (executor == null) throw new NullPointerException("executor == null");
+        if (tileSize <= 0) throw new IllegalArgumentException("tileSize = " + tileSize);
+        this.noise = noise;
+        this.executor = executor;
+        this.tileSize = (tileSize + 15) & ~15;
+    }
+
+    /**
+     * Получает шум генератора.
+     *
+     * @return шум.
+     */
+    public Noise getNoise() {
+        return this.noise;
+    }
+
+    /**
+     * Получает сторону плитки.
+     *
+     * @return сторона плитки в точках, кратная 16.
+     */
+    public int getTileSize() {
+        return this.tileSize;
+    }
+
+    /**
+     * Заполняет двухмерную область, результат совпадает с
+     * {@link Noise#fill2D(float[], int, int, float, float, float)}.
+     *
+     * @param out    массив результатов длиной не меньше {@code width * height}.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param x0     x координата первой точки.
+     * @param y0     y координата первой точки.
+     * @param step   шаг сетки.
+     * @return время расчета плиток.
+     */
+    public Timing fill2D(float[] out, int width, int height, float x0, float y0, float step) {
+        if (out == null) throw new NullPointerException("out == null");
+        return this.fill3D(new ArrayTarget(out), width, height, 1, 0, 0, x0, y0, 0.0f, step, false);
+    }
+
+    /**
+     * Заполняет двухмерную область, записывая точку {@code (i, j)} в
+     * {@code out.get(out.position() + j * width + i)}. Позиция буфера не
+     * меняется.
+     *
+     * @param out    буфер результатов, например отображенный в память файл.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param x0     x координата первой точки.
+     * @param y0     y координата первой точки.
+     * @param step   шаг сетки.
+     * @return время расчета плиток.
+     */
+    public Timing fill2D(FloatBuffer out, int width, int height, float x0, float y0, float step) {
+        if (out == null) throw new NullPointerException("out == null");
+        return this.fill3D(new BufferTarget(out), width, height, 1, 0, 0, x0, y0, 0.0f, step, false);
+    }
+
+    /**
+     * Заполняет трехмерную область, результат совпадает с
+     * {@link Noise#fill3D(float[], int, int, int, float, float, float, float)}.
+     *
+     * @param out    массив результатов длиной не меньше {@code width * height * depth}.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param depth  количество точек по z.
+     * @param x0     x координата первой точки.
+     * @param y0     y координата первой точки.
+     * @param z0     z координата первой точки.
+     * @param step   шаг сетки.
+     * @return время расчета плиток.
+     */
+    public Timing fill3D(float[] out, int width, int height, int depth, float x0, float y0, float z0, float step) {
+        if (out == null) throw new NullPointerException("out == null");
+        return this.fill3D(new ArrayTarget(out), width, height, depth, 0, 0, x0, y0, z0, step, true);
+    }
+
+    /**
+     * Заполняет трехмерную область, записывая точку {@code (i, j, k)} в
+     * {@code out.get(out.position() + (k * height + j) * width + i)}.
+     * Позиция буфера не меняется.
+     *
+     * @param out    буфер результатов.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param depth  количество точек по z.
+     * @param x0     x координата первой точки.
+     * @param y0     y координата первой точки.
+     * @param z0     z координата первой точки.
+     * @param step   шаг сетки.
+     * @return время расчета плиток.
+     */
+    public Timing fill3D(FloatBuffer out, int width, int height, int depth, float x0, float y0, float z0, float step) {
+        if (out == null) throw new NullPointerException("out == null");
+        return this.fill3D(new BufferTarget(out), width, height, depth, 0, 0, x0, y0, z0, step, true);
+    }
+
+    /**
+     * Создает генератор с тем же исполнителем и размером плитки на копии
+     * текущей конфигурации шума.
+     */
+    NoiseField snapshot() {
+        return new NoiseField(new Noise(this.noise.getConfig()), this.executor, this.tileSize);
+    }
+
+    /**
+     * Заполняет полосу строк {@code [j0, j0 + height)} слоев
+     * {@code [k0, k0 + depth)} большей области, записывая точку
+     * {@code (i, j0 + j, k0 + k)} в
+     * {@code out.get(out.position() + (k * height + j) * width + i)}.
+     * Координаты точек считаются от начала всей области, поэтому полосы
+     * вместе дают то же, что одно заполнение всей области.
+     */
+    Timing fillBand(FloatBuffer out, int width, int height, int depth, int j0, int k0,
+                    float x0, float y0, float z0, float step, boolean is3D) {
+        if (out == null) throw new NullPointerException("out == null");
+        return this.fill3D(new BufferTarget(out), width, height, depth, j0, k0, x0, y0, z0, step, is3D);
+    }
+
+    private Timing fill3D(Target target, int width, int height, int depth, int jOff, int kOff,
+                          float x0, float y0, float z0, float step, boolean is3D) {
+        if (width < 0) throw new IllegalArgumentException("width = " + width);
+        if (height < 0) throw new IllegalArgumentException("height = " + height);
+        if (depth < 0) throw new IllegalArgumentException("depth = " + depth);
+        long n = (long) width * height * depth;
+        if (n > target.capacity()) {
+            throw new IllegalArgumentException("out capacity = " + target.capacity() + ", required " + n);
+        }
+
+        int tile = this.tileSize;
+        int tilesX = (width + tile - 1) / tile;
+        int tilesY = (height + tile - 1) / tile;
+        Timing timing = new Timing(tilesX, tilesY, depth);
+        int count = tilesX * tilesY * depth;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[count];
+        Noise noise = new Noise(this.noise.getConfig());
+        long start = System.nanoTime();
+        for (int t = 0; t < count; t++) {
+            final int index = t;
+            final int i0 = t % tilesX * tile;
+            final int j0 = t / tilesX % tilesY * tile;
+            final int k = t / tilesX / tilesY;
+            final int w = Math.min(tile, width - i0);
+            final int h = Math.min(tile, height - j0);
+            futures[t] = CompletableFuture.runAsync(() -> {
+                long begin = System.nanoTime();
+                target.fill(noise, width, height, i0, j0, k, w, h, jOff, kOff, x0, y0, z0, step, is3D);
+                timing.nanos[index] = System.nanoTime() - begin;
+            }, this.executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+        timing.wallNanos = System.nanoTime() - start;
+        return timing;
+    }
+
+    /**
+     * Куда пишутся плитки.
+     */
+    private interface Target {
+
+        long capacity();
+
+        void fill(Noise noise, int width, int height, int i0, int j0, int k, int w, int h, int jOff, int kOff,
+                  float x0, float y0, float z0, float step, boolean is3D);
+
+    }
+
+    /**
+     * Плитки пишутся прямо в массив.
+     */
+    private static final class ArrayTarget implements Target {
+
+        private final float[] out;
+
+        ArrayTarget(float[] out) {
+            this.out = out;
+        }
+
+        @Override
+        public long capacity() {
+            return this.out.length;
+        }
+
+        @Override
+        public void fill(Noise noise, int width, int height, int i0, int j0, int k, int w, int h, int jOff, int kOff,
+                         float x0, float y0, float z0, float step, boolean is3D) {
+            int off = (k * height + j0) * width + i0;
+            if (is3D) noise.fillRegion3D(this.out, off, width, 0, i0, j0 + jOff, k + kOff, w, h, 1, x0, y0, z0, step);
+            else noise.fillRegion2D(this.out, off, width, i0, j0 + jOff, w, h, x0, y0, step);
+        }
+
+    }
+
+    /**
+     * Плитка считается в массив потока и копируется в буфер по строкам.
+     */
+    private static final class BufferTarget implements Target {
+
+        private final FloatBuffer out;
+        private final int base;
+        private final ThreadLocal<float[]> tiles = new ThreadLocal<>();
+
+        BufferTarget(FloatBuffer out) {
+            this.out = out;
+            this.base = out.position();
+        }
+
+        @Override
+        public long capacity() {
+            return this.out.remaining();
+        }
+
+        @Override
+        public void fill(Noise noise, int width, int height, int i0, int j0, int k, int w, int h, int jOff, int kOff,
+                         float x0, float y0, float z0, float step, boolean is3D) {
+            float[] tile = this.tiles.get();
+            if (tile == null || tile.length < w * h) {
+                tile = new float[w * h];
+                this.tiles.set(tile);
+            }
+            if (is3D) noise.fillRegion3D(tile, 0, w, 0, i0, j0 + jOff, k + kOff, w, h, 1, x0, y0, z0, step);
+            else noise.fillRegion2D(tile, 0, w, i0, j0 + jOff, w, h, x0, y0, step);
+
+            FloatBuffer dst = this.out.duplicate();
+            for (int j = 0; j < h; j++) {
+                dst.position(this.base + (k * height + j0 + j) * width + i0);
+                dst.put(tile, j * w, w);
+            }
+        }
+
+    }
+
+    /**
+     * Время расчета плиток одного заполнения. Плитка {@code (tx, ty, tz)}
+     * покрывает точки {@code [tx * tileSize, (tx + 1) * tileSize)} по x,
+     * так же по y, и один слой {@code tz} по z.
+     */
+    public static final class Timing {
+
+        private final int tilesX;
+        private final int tilesY;
+        private final int tilesZ;
+        private final long[] nanos;
+        private long wallNanos;
+
+        Timing(int tilesX, int tilesY, int tilesZ) {
+            this.tilesX = tilesX;
+            this.tilesY = tilesY;
+            this.tilesZ = tilesZ;
+            this.nanos = new long[tilesX * tilesY * tilesZ];
+        }
+
+        /**
+         * Получает количество плиток по x.
+         *
+         * @return количество плиток.
+         */
+        public int getTilesX() {
+            return this.tilesX;
+        }
+
+        /**
+         * Получает количество плиток по y.
+         *
+         * @return количество плиток.
+         */
+        public int getTilesY() {
+            return this.tilesY;
+        }
+
+        /**
+         * Получает количество плиток по z, для двухмерной области 1.
+         *
+         * @return количество плиток.
+         */
+        public int getTilesZ() {
+            return this.tilesZ;
+        }
+
+        /**
+         * Получает время расчета плитки.
+         *
+         * @param tx номер плитки по x.
+         * @param ty номер плитки по y.
+         * @param tz номер плитки по z.
+         * @return время в наносекундах.
+         */
+        public long getTileNanos(int tx, int ty, int tz) {
+            return this.nanos[(tz * this.tilesY + ty) * this.tilesX + tx];
+        }
+
+        /**
+         * Получает суммарное время расчета всех плиток, то есть процессорное
+         * время всех потоков.
+         *
+         * @return время в наносекундах.
+         */
+        public long getTotalNanos() {
+            long total = 0;
+            for (long t : this.nanos) total += t;
+            return total;
+        }
+
+        /**
+         * Получает наибольшее время расчета плитки.
+         *
+         * @return время в наносекундах.
+         */
+        public long getMaxTileNanos() {
+            long max = 0;
+            for (long t : this.nanos) max = Math.max(max, t);
+            return max;
+        }
+
+        /**
+         * Получает время всего заполнения от разбиения до завершения
+         * последней плитки.
+         *
+         * @return время в наносекундах.
+         */
+        public long getWallNanos() {
+            return this.wallNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Timing{tiles=" + this.tilesX + "x" + this.tilesY + "x" + this.tilesZ
+                    + ", wall=" + this.wallNanos + "ns, total=" + this.getTotalNanos()
+                    + "ns, maxTile=" + this.getMaxTileNanos() + "ns}";
+        }
+
+    }
+
+}
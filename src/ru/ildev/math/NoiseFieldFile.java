@@ -0,0 +1,411 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Поле шума в отображенном в память файле. Поле пишется плитками
+ * {@link NoiseField} прямо в отображенные окна файла и читается без
+ * копирования через {@link FloatBuffer}, поэтому поля в несколько гигабайт
+ * не попадают в кучу Java.
+ * <p>
+ * Формат файла, все числа в порядке little-endian:
+ * <pre>
+ * смещение  тип     поле
+ *  0        byte[4] сигнатура "NOIS"
+ *  4        int     версия формата, {@link #VERSION}
+ *  8        int     размер заголовка, смещение значений, {@link #HEADER_SIZE}
+ * 12        int     width, количество точек по x
+ * 16        int     height, количество точек по y
+ * 20        int     depth, количество точек по z, 1 у двухмерного поля
+ * 24        float   x0, x координата первой точки
+ * 28        float   y0
+ * 32        float   z0, 0 у двухмерного поля
+ * 36        float   step, шаг сетки
+ * 40        long    сид шума
+ * 48        int     размерность шума, 2 или 3
+ * 52        byte[12] нули
+ * 64        float[] значения, точка (i, j, k) под номером (k * height + j) * width + i
+ * </pre>
+ * Значения начинаются с 64 байта, поэтому выровнены по строке кэша.
+ * Один {@link MappedByteBuffer} отображает не больше 2 ГиБ, поэтому
+ * запись идет окнами из целых строк, а {@link #open(Path)} один раз
+ * отображает файл окнами не больше 1 ГиБ: из целых слоев, если слой
+ * помещается в окно, иначе из полос строк одного слоя. Область чтения
+ * берется из окна без нового отображения; если слой больше окна, область
+ * не может пересекать границу полосы.
+ *
+ * @author Ilyas74
+ */
+public final class NoiseFieldFile implements Closeable {
+
+    /** Сигнатура файла, байты "NOIS" в порядке little-endian. */
+    public static final int MAGIC = 0x53494F4E;
+    /** Версия формата. */
+    public static final int VERSION = 1;
+    /** Размер заголовка в байтах. */
+    public static final int HEADER_SIZE = 64;
+    /** Размер окна записи по умолчанию: 2^26 значений, 256 МиБ. */
+    static final int WINDOW = 1 << 26;
+    /** Размер окна чтения по умолчанию: 2^28 значений, 1 ГиБ. */
+    static final int READ_WINDOW = 1 << 28;
+
+    private final FileChannel channel;
+    private final int width;
+    private final int height;
+    private final int depth;
+    private final float x0;
+    private final float y0;
+    private final float z0;
+    private final float step;
+    private final long seed;
+    private final int dimensions;
+    /** Количество строк слоя в окне чтения. */
+    private final int rows;
+    /** Количество слоев в окне чтения, 1 если окно из полосы строк. */
+    private final int slices;
+    /** Окна чтения: по слоям, внутри слоя по полосам строк. */
+    private final FloatBuffer[] windows;
+
+    private NoiseFieldFile(FileChannel channel, ByteBuffer header, int window) throws IOException {
+        this.channel = channel;
+        this.width = header.getInt(12);
+        this.height = header.getInt(16);
+        this.depth = header.getInt(20);
+        this.x0 = header.getFloat(24);
+        this.y0 = header.getFloat(28);
+        this.z0 = header.getFloat(32);
+        this.step = header.getFloat(36);
+        this.seed = header.getLong(40);
+        this.dimensions = header.getInt(48);
+        long bytes = 4L * this.width * this.height * this.depth;
+        if (channel.size() < HEADER_SIZE + bytes) {
+            throw new IOException("file size = " + channel.size() + ", required " + (HEADER_SIZE + bytes));
+        }
+        if (this.width > Integer.MAX_VALUE / 4) throw new IOException("width = " + this.width);
+
+        // Окно из целых слоев, если слой помещается в окно, иначе из строк одного слоя
+        int height = this.height, depth = this.depth;
+        this.rows = Math.max(1, Math.min(height, window / this.width));
+        this.slices = this.rows < height ? 1
+                : (int) Math.max(1, Math.min(depth, window / ((long) this.width * height)));
+        int bands = (height + this.rows - 1) / this.rows;
+        long count = (long) ((depth + this.slices - 1) / this.slices) * bands;
+        if (count > Integer.MAX_VALUE) throw new IOException("windows = " + count);
+        this.windows = new FloatBuffer[(int) count];
+        int n = 0;
+        for (int k = 0; k < depth; k += this.slices) {
+            int d = Math.min(this.slices, depth - k);
+            for (int j = 0; j < height; j += this.rows) {
+                int h = Math.min(this.rows, height - j);
+                long offset = HEADER_SIZE + 4L * ((long) k * height + j) * this.width;
+                this.windows[n++] = map(channel, FileChannel.MapMode.READ_ONLY, offset, 4L * d * h * this.width);
+            }
+        }
+    }
+
+    /**
+     * Записывает двухмерное поле, значения совпадают с
+     * {@link Noise#fill2D(float[], int, int, float, float, float)}.
+     *
+     * @param path   путь к файлу, существующий файл перезаписывается.
+     * @param field  генератор поля.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param x0     x координата первой точки.
+     * @param y0     y координата первой точки.
+     * @param step   шаг сетки.
+     * @throws IOException ошибка записи.
+     */
+    public static void write2D(Path path, NoiseField field, int width, int height,
+                               float x0, float y0, float step) throws IOException {
+        write(path, field, width, height, 1, x0, y0, 0.0f, step, false, WINDOW);
+    }
+
+    /**
+     * Записывает трехмерное поле, значения совпадают с
+     * {@link Noise#fill3D(float[], int, int, int, float, float, float, float)}.
+     *
+     * @param path   путь к файлу, существующий файл перезаписывается.
+     * @param field  генератор поля.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param depth  количество точек по z.
+     * @param x0     x координата первой точки.
+     * @param y0     y координата первой точки.
+     * @param z0     z координата первой точки.
+     * @param step   шаг сетки.
+     * @throws IOException ошибка записи.
+     */
+    public static void write3D(Path path, NoiseField field, int width, int height, int depth,
+                               float x0, float y0, float z0, float step) throws IOException {
+        write(path, field, width, height, depth, x0, y0, z0, step, true, WINDOW);
+    }
+
+    /**
+     * Записывает поле окнами не больше {@code window} значений, но не
+     * меньше одной строки. Все окна считаются по конфигурации шума,
+     * взятой в начале записи. Каждое окно сбрасывается на диск сразу после
+     * заполнения, так что в памяти не копятся измененные страницы.
+     */
+    static void write(Path path, NoiseField field, int width, int height, int depth,
+                      float x0, float y0, float z0, float step, boolean is3D, int window) throws IOException {
+        if (path == null) throw new NullPointerException("path == null");
+        if (field == null) throw new NullPointerException("field == null");
+        if (width <= 0 || width > Integer.MAX_VALUE / 4) throw new IllegalArgumentException("width = " + width);
+        if (height <= 0) throw new IllegalArgumentException("height = " + height);
+        if (depth <= 0) throw new IllegalArgumentException("depth = " + depth);
+        if (window <= 0) throw new IllegalArgumentException("window = " + window);
+        field = field.snapshot();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, HEADER_SIZE);
+        header.putInt(12, width);
+        header.putInt(16, height);
+        header.putInt(20, depth);
+        header.putFloat(24, x0);
+        header.putFloat(28, y0);
+        header.putFloat(32, z0);
+        header.putFloat(36, step);
+        header.putLong(40, field.getNoise().getSeed());
+        header.putInt(48, is3D ? 3 : 2);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) channel.write(header, header.position());
+
+            // Окно из целых слоев, если слой помещается в окно, иначе из строк одного слоя
+            int rows = Math.max(1, Math.min(height, window / width));
+            int slices = rows < height ? 1 : (int) Math.max(1, Math.min(depth, window / ((long) width * height)));
+            for (int k = 0; k < depth; k += slices) {
+                int d = Math.min(slices, depth - k);
+                for (int j = 0; j < height; j += rows) {
+                    int h = Math.min(rows, height - j);
+                    long offset = HEADER_SIZE + 4L * ((long) k * height + j) * width;
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, offset, 4L * d * h * width);
+                    field.fillBand(buffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer(),
+                            width, h, d, j, k, x0, y0, z0, step, is3D);
+                    buffer.force();
+                }
+            }
+        }
+    }
+
+    /**
+     * Открывает файл поля на чтение.
+     *
+     * @param path путь к файлу.
+     * @return поле.
+     * @throws IOException ошибка чтения или файл не в формате поля.
+     */
+    public static NoiseFieldFile open(Path path) throws IOException {
+        return open(path, READ_WINDOW);
+    }
+
+    /**
+     * Открывает файл поля на чтение окнами не больше {@code window}
+     * значений, но не меньше одной строки.
+     */
+    static NoiseFieldFile open(Path path, int window) throws IOException {
+        if (path == null) throw new NullPointerException("path == null");
+        if (window <= 0) throw new IllegalArgumentException("window = " + window);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) throw new IOException("truncated header");
+            }
+            if (header.getInt(0) != MAGIC) throw new IOException("magic = 0x" + Integer.toHexString(header.getInt(0)));
+            if (header.getInt(4) != VERSION) throw new IOException("version = " + header.getInt(4));
+            if (header.getInt(8) != HEADER_SIZE) throw new IOException("header size = " + header.getInt(8));
+            if (header.getInt(12) <= 0 || header.getInt(16) <= 0 || header.getInt(20) <= 0) {
+                throw new IOException("size = " + header.getInt(12) + "x" + header.getInt(16) + "x" + header.getInt(20));
+            }
+            return new NoiseFieldFile(channel, header, window);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Получает количество точек по x.
+     *
+     * @return ширина поля.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Получает количество точек по y.
+     *
+     * @return высота поля.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Получает количество точек по z.
+     *
+     * @return глубина поля, 1 у двухмерного поля.
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Получает x координату первой точки.
+     *
+     * @return x координата.
+     */
+    public float getX0() {
+        return this.x0;
+    }
+
+    /**
+     * Получает y координату первой точки.
+     *
+     * @return y координата.
+     */
+    public float getY0() {
+        return this.y0;
+    }
+
+    /**
+     * Получает z координату первой точки.
+     *
+     * @return z координата.
+     */
+    public float getZ0() {
+        return this.z0;
+    }
+
+    /**
+     * Получает шаг сетки.
+     *
+     * @return шаг.
+     */
+    public float getStep() {
+        return this.step;
+    }
+
+    /**
+     * Получает сид шума, которым записано поле.
+     *
+     * @return сид.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Получает размерность шума, которым записано поле.
+     *
+     * @return 2 или 3.
+     */
+    public int getDimensions() {
+        return this.dimensions;
+    }
+
+    /**
+     * Получает значение точки.
+     *
+     * @param i x индекс точки.
+     * @param j y индекс точки.
+     * @param k z индекс точки.
+     * @return значение.
+     */
+    public float get(int i, int j, int k) {
+        return this.getRegion(i, j, k, 1, 1).get(0);
+    }
+
+    /**
+     * Получает прямоугольную область слоя без копирования. Точка
+     * {@code (i0 + i, j0 + j, k)} лежит в буфере под номером
+     * {@code j * getWidth() + i}: строки области идут с шагом в ширину
+     * поля, буфер кончается на последней точке области. Буфер только для
+     * чтения и остается действительным после {@link #close()}.
+     *
+     * @param i0     x индекс первой точки.
+     * @param j0     y индекс первой точки.
+     * @param k      z индекс слоя.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @return буфер значений.
+     * @throws IllegalArgumentException если область выходит за поле или, у
+     *                                  слоя больше окна чтения, пересекает
+     *                                  границу полосы строк окна.
+     */
+    public FloatBuffer getRegion(int i0, int j0, int k, int width, int height) {
+        if (i0 < 0 || width <= 0 || i0 + (long) width > this.width) {
+            throw new IllegalArgumentException("i0 = " + i0 + ", width = " + width);
+        }
+        if (j0 < 0 || height <= 0 || j0 + (long) height > this.height) {
+            throw new IllegalArgumentException("j0 = " + j0 + ", height = " + height);
+        }
+        if (k < 0 || k >= this.depth) throw new IllegalArgumentException("k = " + k);
+        int band = j0 / this.rows;
+        if ((j0 + height - 1) / this.rows != band) {
+            throw new IllegalArgumentException("rows [" + j0 + ", " + (j0 + height) + ") cross read window boundary at row "
+                    + (band + 1) * this.rows + ", window = " + this.rows + " rows");
+        }
+        int bands = (this.height + this.rows - 1) / this.rows;
+        FloatBuffer buffer = this.windows[k / this.slices * bands + band].duplicate();
+        int start = (k % this.slices * this.height + j0 - band * this.rows) * this.width + i0;
+        buffer.limit(start + (height - 1) * this.width + width);
+        buffer.position(start);
+        return buffer.slice();
+    }
+
+    /**
+     * Получает строки {@code [j0, j0 + rows)} слоя без копирования, точка
+     * {@code (i, j0 + j, k)} лежит в буфере под номером
+     * {@code j * getWidth() + i}.
+     *
+     * @param j0   y индекс первой строки.
+     * @param rows количество строк.
+     * @param k    z индекс слоя.
+     * @return буфер значений.
+     * @throws IllegalArgumentException см. {@link #getRegion(int, int, int, int, int)}.
+     */
+    public FloatBuffer getRows(int j0, int rows, int k) {
+        return this.getRegion(0, j0, k, this.width, rows);
+    }
+
+    private static FloatBuffer map(FileChannel channel, FileChannel.MapMode mode, long offset, long bytes)
+            throws IOException {
+        return channel.map(mode, offset, bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    }
+
+    /**
+     * Закрывает файл. Уже полученные буферы остаются действительными.
+     *
+     * @throws IOException ошибка закрытия.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getName() + "[width=" + this.width + ",height=" + this.height + ",depth=" + this.depth
+                + ",x0=" + this.x0 + ",y0=" + this.y0 + ",z0=" + this.z0 + ",step=" + this.step
+                + ",seed=" + this.seed + ",dimensions=" + this.dimensions + "]";
+    }
+
+}
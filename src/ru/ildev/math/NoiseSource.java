@@ -0,0 +1,48 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+/**
+ * Источник однооктавного градиентного шума. Значения лежат примерно от -1
+ * до 1, непрерывны и гладки. Реализации неизменяемы по отношению к
+ * вызовам этих методов, поэтому могут вызываться из разных потоков, пока
+ * их не перенастраивают.
+ *
+ * @author Ilyas74
+ * @see Noise
+ * @see SimplexNoise
+ */
+public interface NoiseSource {
+
+    /**
+     * Получает двухмерный шум.
+     *
+     * @param x число.
+     * @param y число.
+     * @return двухмерный шум.
+     */
+    float noise2D(float x, float y);
+
+    /**
+     * Получает трехмерный шум.
+     *
+     * @param x число.
+     * @param y число.
+     * @param z число.
+     * @return трехмерный шум.
+     */
+    float noise3D(float x, float y, float z);
+
+    /**
+     * Получает четырехмерный шум.
+     *
+     * @param x число.
+     * @param y число.
+     * @param z число.
+     * @param w число.
+     * @return четырехмерный шум.
+     */
+    float noise4D(float x, float y, float z, float w);
+
+}
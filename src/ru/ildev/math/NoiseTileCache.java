@@ -0,0 +1,301 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Кэш плиток шума для повторяющихся запросов одних и тех же областей,
+ * например при прокрутке карты. Плитка уровня детализации {@code lod} это
+ * {@code tileSize x tileSize} значений {@link Noise#noise(float, float)} с
+ * шагом {@code step * 2^lod}: точка {@code (i, j)} сетки уровня равна
+ * {@code noise(i * step * 2^lod, j * step * 2^lod)}, плитка {@code (tx, ty)}
+ * содержит точки от {@code (tx * tileSize, ty * tileSize)}.
+ * <p>
+ * Ключ плитки включает текущую {@link NoiseConfig} шума, в ней и сид,
+ * поэтому после смены параметров шума старые плитки не выдаются, а
+ * вытесняются сами. Объем ограничен в байтах значений плиток, при
+ * превышении вытесняются давно не запрошенные плитки. Кэш потокобезопасен,
+ * плитки считаются вне блокировки, так что одновременные промахи по одной
+ * плитке могут посчитать ее дважды.
+ *
+ * @author Ilyas74
+ */
+public final class NoiseTileCache {
+
+    /** Стандартная сторона плитки в точках. */
+    public static final int DEFAULT_TILE_SIZE = 64;
+    /** Наибольший уровень детализации. */
+    public static final int MAX_LOD = 30;
+
+    private final Noise noise;
+    private final int tileSize;
+    private final float step;
+    private final long maxBytes;
+    private final long tileBytes;
+    /** Плитки в порядке обращения, от давних к недавним. */
+    private final LinkedHashMap<Key, float[]> tiles = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Создает кэш со стандартным размером плитки.
+     *
+     * @param noise    шум.
+     * @param step     шаг сетки нулевого уровня детализации.
+     * @param maxBytes наибольший объем значений плиток в байтах.
+     */
+    public NoiseTileCache(Noise noise, float step, long maxBytes) {
+        this(noise, DEFAULT_TILE_SIZE, step, maxBytes);
+    }
+
+    /**
+     * Создает кэш.
+     *
+     * @param noise    шум.
+     * @param tileSize сторона плитки в точках.
+     * @param step     шаг сетки нулевого уровня детализации.
+     * @param maxBytes наибольший объем значений плиток в байтах.
+     */
+    public NoiseTileCache(Noise noise, int tileSize, float step, long maxBytes) {
+        if (noise == null) throw new NullPointerException("noise == null");
+        if (tileSize <= 0 || tileSize > 46340) throw new IllegalArgumentException("tileSize = " + tileSize);
+        if (!(step > 0.0f) || Float.isInfinite(step)) throw new IllegalArgumentException("step = " + step);
+        if (maxBytes < 0) throw new IllegalArgumentException("maxBytes = " + maxBytes);
+        this.noise = noise;
+        this.tileSize = tileSize;
+        this.step = step;
+        this.maxBytes = maxBytes;
+        this.tileBytes = 4L * tileSize * tileSize;
+    }
+
+    /**
+     * Получает шум кэша.
+     *
+     * @return шум.
+     */
+    public Noise getNoise() {
+        return this.noise;
+    }
+
+    /**
+     * Получает сторону плитки.
+     *
+     * @return сторона плитки в точках.
+     */
+    public int getTileSize() {
+        return this.tileSize;
+    }
+
+    /**
+     * Получает шаг сетки уровня детализации.
+     *
+     * @param lod уровень детализации.
+     * @return шаг сетки, {@code step * 2^lod}.
+     */
+    public float getStep(int lod) {
+        checkLod(lod);
+        return this.step * (1 << lod);
+    }
+
+    /**
+     * Получает плитку, из кэша или посчитав и положив в кэш. Значение точки
+     * {@code (i, j)} плитки лежит в {@code tile[j * tileSize + i]}. Массив
+     * общий для всех, кто запросит эту плитку, и не должен изменяться.
+     *
+     * @param tx  номер плитки по x.
+     * @param ty  номер плитки по y.
+     * @param lod уровень детализации.
+     * @return плитка.
+     */
+    public float[] getTile(int tx, int ty, int lod) {
+        checkLod(lod);
+        Noise noise = new Noise(this.noise.getConfig());
+        Key key = new Key(noise.getConfig(), tx, ty, lod);
+        synchronized (this) {
+            float[] tile = this.tiles.get(key);
+            if (tile != null) {
+                this.hits++;
+                return tile;
+            }
+            this.misses++;
+        }
+
+        int size = this.tileSize;
+        float[] tile = new float[size * size];
+        noise.fillRegion2D(tile, 0, size, tx * size, ty * size, size, size, 0.0f, 0.0f, this.getStep(lod));
+
+        synchronized (this) {
+            float[] cached = this.tiles.get(key);
+            if (cached != null) return cached;
+            if (this.tileBytes > this.maxBytes) return tile;
+            this.evict(this.maxBytes - this.tileBytes);
+            this.tiles.put(key, tile);
+            this.bytes += this.tileBytes;
+        }
+        return tile;
+    }
+
+    /**
+     * Заполняет прямоугольную область сетки уровня детализации из плиток:
+     * точка {@code (i0 + i, j0 + j)} записывается в
+     * {@code out[j * width + i]}. Результат совпадает с
+     * {@link Noise#fill2D(float[], int, int, float, float, float)} всей сетки
+     * от начала координат с шагом {@link #getStep(int)}.
+     *
+     * @param out    массив результатов длиной не меньше {@code width * height}.
+     * @param i0     x индекс первой точки, может быть отрицательным.
+     * @param j0     y индекс первой точки.
+     * @param width  количество точек по x.
+     * @param height количество точек по y.
+     * @param lod    уровень детализации.
+     */
+    public void getRegion(float[] out, int i0, int j0, int width, int height, int lod) {
+        if (out == null) throw new NullPointerException("out == null");
+        if (width < 0) throw new IllegalArgumentException("width = " + width);
+        if (height < 0) throw new IllegalArgumentException("height = " + height);
+        long n = (long) width * height;
+        if (n > out.length) throw new IllegalArgumentException("out.length = " + out.length + ", required " + n);
+        checkLod(lod);
+
+        int size = this.tileSize;
+        for (int ty = Math.floorDiv(j0, size); ty <= Math.floorDiv(j0 + height - 1, size) && height > 0; ty++) {
+            int jStart = Math.max(j0, ty * size), jEnd = Math.min(j0 + height, (ty + 1) * size);
+            for (int tx = Math.floorDiv(i0, size); tx <= Math.floorDiv(i0 + width - 1, size) && width > 0; tx++) {
+                int iStart = Math.max(i0, tx * size), iEnd = Math.min(i0 + width, (tx + 1) * size);
+                float[] tile = this.getTile(tx, ty, lod);
+                for (int j = jStart; j < jEnd; j++) {
+                    System.arraycopy(tile, (j - ty * size) * size + iStart - tx * size,
+                            out, (j - j0) * width + iStart - i0, iEnd - iStart);
+                }
+            }
+        }
+    }
+
+    /**
+     * Вытесняет давние плитки, пока объем больше указанного.
+     */
+    private void evict(long limit) {
+        Iterator<Map.Entry<Key, float[]>> it = this.tiles.entrySet().iterator();
+        while (this.bytes > limit && it.hasNext()) {
+            it.next();
+            it.remove();
+            this.bytes -= this.tileBytes;
+            this.evictions++;
+        }
+    }
+
+    /**
+     * Удаляет все плитки. Счетчики не сбрасываются.
+     */
+    public synchronized void clear() {
+        this.tiles.clear();
+        this.bytes = 0;
+    }
+
+    /**
+     * Получает количество плиток в кэше.
+     *
+     * @return количество плиток.
+     */
+    public synchronized int size() {
+        return this.tiles.size();
+    }
+
+    /**
+     * Получает объем значений плиток в кэше.
+     *
+     * @return объем в байтах.
+     */
+    public synchronized long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Получает наибольший объем значений плиток.
+     *
+     * @return объем в байтах.
+     */
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    /**
+     * Получает количество запросов плиток, найденных в кэше.
+     *
+     * @return количество попаданий.
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Получает количество запросов плиток, которые пришлось посчитать.
+     *
+     * @return количество промахов.
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Получает количество вытесненных плиток.
+     *
+     * @return количество вытеснений.
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return this.getClass().getName() + "[tiles=" + this.tiles.size() + ",bytes=" + this.bytes
+                + ",maxBytes=" + this.maxBytes + ",hits=" + this.hits + ",misses=" + this.misses
+                + ",evictions=" + this.evictions + "]";
+    }
+
+    private static void checkLod(int lod) {
+        if (lod < 0 || lod > MAX_LOD) throw new IllegalArgumentException("lod = " + lod);
+    }
+
+    /**
+     * Ключ плитки: конфигурация шума, номер плитки и уровень детализации.
+     */
+    private static final class Key {
+
+        final NoiseConfig config;
+        final int tx;
+        final int ty;
+        final int lod;
+
+        Key(NoiseConfig config, int tx, int ty, int lod) {
+            this.config = config;
+            this.tx = tx;
+            this.ty = ty;
+            this.lod = lod;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) return false;
+            Key key = (Key) other;
+            return this.tx == key.tx && this.ty == key.ty && this.lod == key.lod && this.config.equals(key.config);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = this.config.hashCode();
+            hash = 31 * hash + this.tx;
+            hash = 31 * hash + this.ty;
+            hash = 31 * hash + this.lod;
+            return hash;
+        }
+
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Источник случайных чисел. Реализации должны переопределить только
+ * {@link #nextLong()}, остальные величины получаются из его битов.
+ * <p>
+ * В отличии от {@link java.util.Random} реализации не обязаны быть
+ * потокобезопасными: каждый поток или задача получает свой генератор, и
+ * общее состояние не становится узким местом.
+ *
+ * @author Ilyas74
+ * @see SplitRandom
+ * @see PerThread
+ */
+public interface RandomSource {
+
+    /**
+     * Получает следующее случайное 64-битное число.
+     * @return случайное число, все значения равновероятны.
+     */
+    long nextLong();
+
+    /**
+     * Получает следующее случайное 32-битное число.
+     * @return случайное число, все значения равновероятны.
+     */
+    default int nextInt() {
+        return (int) (this.nextLong() >>> 32);
+    }
+
+    /**
+     * Получает случайное целое число от {@code 0} до {@code bound - 1}
+     * без смещения (умножение по Лемиру с отбрасыванием).
+     * @param bound верхняя граница, не включается.
+     * @return случайное число от {@code 0} включительно до {@code bound}.
+     * @throws IllegalArgumentException если {@code bound <= 0}.
+     */
+    default int nextInt(int bound) {
+        if(bound <= 0) throw new IllegalArgumentException("bound = " + bound);
+        return bounded(this, bound);
+    }
+
+    /**
+     * Получает случайное действительное число от 0 до 1.
+     * @return случайное число от {@code 0} включительно до {@code 1}, все
+     * 2<sup>24</sup> значений равновероятны.
+     */
+    default float nextFloat() {
+        return (this.nextLong() >>> 40) * 0x1p-24f;
+    }
+
+    /**
+     * Получает случайное действительное число двойной точности от 0 до 1.
+     * @return случайное число от {@code 0} включительно до {@code 1}, все
+     * 2<sup>53</sup> значений равновероятны.
+     */
+    default double nextDouble() {
+        return (this.nextLong() >>> 11) * 0x1p-53;
+    }
+
+    /**
+     * Получает случайное целое число от {@code min} до {@code max}
+     * включительно, без смещения.
+     * @param min минимальная величина.
+     * @param max максимальная величина.
+     * @return случайное число от {@code min} до {@code max}.
+     * @throws IllegalArgumentException если {@code min > max}.
+     */
+    default int nextInt(int min, int max) {
+        if(min > max) throw new IllegalArgumentException("min = " + min + ", max = " + max);
+        return min + bounded(this, (long) max - min + 1);
+    }
+
+    /**
+     * Получает случайное число с нормальным распределением, средним 0 и
+     * стандартным отклонением 1 (метод зиккурата).
+     * @return случайное число.
+     */
+    default double nextGaussian() {
+        return Ziggurat.next(this);
+    }
+
+    /**
+     * Заполняет массив случайными числами от 0 до 1, как {@link #nextFloat()}.
+     * @param dst массив результатов.
+     * @param off индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    default void fillUniform(float[] dst, int off, int len) {
+        for(int i = 0; i < len; i++) {
+            dst[off + i] = this.nextFloat();
+        }
+    }
+
+    /**
+     * Заполняет массив случайными числами с нормальным распределением.
+     * @param dst массив результатов.
+     * @param off индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     * @param mu математическое ожидание.
+     * @param sigma стандартное отклонение.
+     */
+    default void fillGaussian(float[] dst, int off, int len, float mu, float sigma) {
+        for(int i = 0; i < len; i++) {
+            dst[off + i] = (float) (mu + sigma * this.nextGaussian());
+        }
+    }
+
+    /**
+     * Заполняет массив случайными целыми числами от {@code min} до
+     * {@code max} включительно, как {@link #nextInt(int, int)}.
+     * @param dst массив результатов.
+     * @param off индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     * @param min минимальная величина.
+     * @param max максимальная величина.
+     * @throws IllegalArgumentException если {@code min > max}.
+     */
+    default void fillInt(int[] dst, int off, int len, int min, int max) {
+        if(min > max) throw new IllegalArgumentException("min = " + min + ", max = " + max);
+        long range = (long) max - min + 1;
+        for(int i = 0; i < len; i++) {
+            dst[off + i] = min + bounded(this, range);
+        }
+    }
+
+    /**
+     * Случайное число от {@code 0} до {@code range - 1} умножением по Лемиру.
+     * @param random источник.
+     * @param range количество значений, от 1 до 2<sup>32</sup>.
+     * @return случайное число.
+     */
+    static int bounded(RandomSource random, long range) {
+        long m = (random.nextLong() >>> 32) * range;
+        if((m & 0xFFFFFFFFL) < range) {
+            long t = (0x100000000L - range) % range;
+            while((m & 0xFFFFFFFFL) < t) {
+                m = (random.nextLong() >>> 32) * range;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    /**
+     * Потокобезопасный источник: каждый поток при первом обращении получает
+     * свой {@link SplitRandom}, поток номер {@code n} по порядку первого
+     * обращения получает {@code new SplitRandom(seed, n)}. Поэтому
+     * однопоточный код с одним и тем же зерном повторяет результат от запуска
+     * к запуску. Если потоки пула берут задачи в разном порядке,
+     * воспроизводимость дает только генератор на задачу:
+     * {@code new SplitRandom(seed, taskIndex)}.
+     * <p>
+     * В горячем цикле следует один раз получить {@link #current()} и
+     * пользоваться им, а не обращаться к {@link ThreadLocal} на каждое число.
+     */
+    final class PerThread implements RandomSource {
+
+        private final long seed;
+        private final AtomicLong streams = new AtomicLong();
+        private final ThreadLocal<SplitRandom> local = new ThreadLocal<SplitRandom>() {
+            @Override
+            protected SplitRandom initialValue() {
+                return new SplitRandom(PerThread.this.seed, PerThread.this.streams.getAndIncrement());
+            }
+        };
+
+        /**
+         * Создает источник.
+         * @param seed зерно, общее для всех потоков.
+         */
+        public PerThread(long seed) {
+            this.seed = seed;
+        }
+
+        /**
+         * Получает зерно источника.
+         * @return зерно.
+         */
+        public long getSeed() {
+            return this.seed;
+        }
+
+        /**
+         * Получает генератор текущего потока. Генератор не потокобезопасен и
+         * не должен передаваться другим потокам.
+         * @return генератор текущего потока.
+         */
+        public SplitRandom current() {
+            return this.local.get();
+        }
+
+        @Override
+        public long nextLong() {
+            return this.local.get().nextLong();
+        }
+
+        @Override
+        public int nextInt() {
+            return this.local.get().nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return this.local.get().nextInt(bound);
+        }
+
+        @Override
+        public float nextFloat() {
+            return this.local.get().nextFloat();
+        }
+
+        @Override
+        public double nextDouble() {
+            return this.local.get().nextDouble();
+        }
+
+        @Override
+        public int nextInt(int min, int max) {
+            return this.local.get().nextInt(min, max);
+        }
+
+        @Override
+        public double nextGaussian() {
+            return this.local.get().nextGaussian();
+        }
+
+        @Override
+        public void fillUniform(float[] dst, int off, int len) {
+            this.local.get().fillUniform(dst, off, len);
+        }
+
+        @Override
+        public void fillGaussian(float[] dst, int off, int len, float mu, float sigma) {
+            this.local.get().fillGaussian(dst, off, len, mu, sigma);
+        }
+
+        @Override
+        public void fillInt(int[] dst, int off, int len, int min, int max) {
+            this.local.get().fillInt(dst, off, len, min, max);
+        }
+
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Быстрое преобразование Фурье {@code n} действительных чисел на месте.
+ * Образ действительного сигнала сопряженно-симметричен,
+ * {@code X[n - k] = conj(X[k])}, поэтому хранятся только
+ * {@code X[0..n/2]} в упакованном виде:
+ * <pre>
+ * data[0]      = re X[0]
+ * data[1]      = re X[n/2]
+ * data[2k]     = re X[k], 0 &lt; k &lt; n/2
+ * data[2k + 1] = im X[k]
+ * </pre>
+ * ({@code X[0]} и {@code X[n/2]} действительные). Четные и нечетные числа
+ * сигнала берутся как {@code n/2} комплексных, и сигнал считается одним
+ * {@link FFT} половинного размера с проходом разделения спектров, вдвое
+ * быстрее комплексного преобразования того же размера.
+ * <p>
+ * Как и в {@link FFT}, кэшируются только планы степеней двойки.
+ *
+ * @author Ilyas74
+ * @see FFT
+ */
+public final class RealFFT {
+
+    /** Планы степеней двойки по размеру. */
+    private static final ConcurrentHashMap<Integer, RealFFT> PLANS = new ConcurrentHashMap<>();
+
+    private final int n;
+    private final FFT half;
+    /** Пары {@code cos, sin} углов {@code 2 * pi * k / n}, k = 0..n/4. */
+    private final float[] twiddles;
+
+    private RealFFT(int n) {
+        this.n = n;
+        this.half = FFT.of(n / 2);
+        int count = n / 4 + 1;
+        this.twiddles = new float[2 * count];
+        for(int k = 0; k < count; k++) {
+            double angle = 2.0 * Math.PI * k / n;
+            this.twiddles[2 * k] = (float) Math.cos(angle);
+            this.twiddles[2 * k + 1] = (float) Math.sin(angle);
+        }
+    }
+
+    /**
+     * Получает план преобразования. План степени двойки кэшируется, повторный
+     * вызов с тем же размером возвращает тот же объект; план другого размера
+     * создается заново.
+     *
+     * @param n количество действительных чисел, четное: степень двойки не
+     *          больше 2^29 или другое число не больше 2^28, см. {@link FFT#of(int)}.
+     * @return план.
+     * @throws IllegalArgumentException если размер нечетный или вне этих пределов.
+     */
+    public static RealFFT of(int n) {
+        if(n <= 0 || (n & 1) != 0 || n > (1 << 29)) throw new IllegalArgumentException("n = " + n);
+        if(!MoreMath.isPowerOfTwo(n)) {
+            if(n > (1 << 28)) throw new IllegalArgumentException("n = " + n + ", not a power of two above 2^28");
+            return new RealFFT(n);
+        }
+        RealFFT plan = PLANS.get(n);
+        if(plan == null) {
+            plan = new RealFFT(n);
+            RealFFT old = PLANS.putIfAbsent(n, plan);
+            if(old != null) plan = old;
+        }
+        return plan;
+    }
+
+    /**
+     * Получает размер преобразования.
+     *
+     * @return количество действительных чисел.
+     */
+    public int getSize() {
+        return this.n;
+    }
+
+    /**
+     * Прямое преобразование на месте: {@code n} действительных чисел
+     * заменяются упакованным образом.
+     *
+     * @param data сигнал.
+     * @param off  смещение первого числа.
+     */
+    public void forward(float[] data, int off) {
+        this.half.forward(data, off);
+
+        int h = this.n / 2;
+        float r0 = data[off], i0 = data[off + 1];
+        data[off] = r0 + i0;
+        data[off + 1] = r0 - i0;
+
+        float[] w = this.twiddles;
+        for(int k = 1; 2 * k <= h; k++) {
+            int a = off + 2 * k, b = off + 2 * (h - k);
+            float zr = data[a], zi = data[a + 1];
+            float yr = data[b], yi = data[b + 1];
+            // E = (Z[k] + conj(Z[h - k])) / 2, O = (Z[k] - conj(Z[h - k])) / 2i
+            float er = 0.5f * (zr + yr), ei = 0.5f * (zi - yi);
+            float or = 0.5f * (zi + yi), oi = 0.5f * (yr - zr);
+            // T = exp(-2 * pi * i * k / n) * O
+            float c = w[2 * k], s = w[2 * k + 1];
+            float tr = or * c + oi * s, ti = oi * c - or * s;
+            // X[k] = E + T, X[h - k] = conj(E - T)
+            data[b] = er - tr;
+            data[b + 1] = ti - ei;
+            data[a] = er + tr;
+            data[a + 1] = ei + ti;
+        }
+    }
+
+    /**
+     * Обратное преобразование на месте, с делением на {@code n}:
+     * упакованный образ заменяется {@code n} действительными числами.
+     *
+     * @param data упакованный образ.
+     * @param off  смещение первого числа.
+     */
+    public void inverse(float[] data, int off) {
+        if(data == null) throw new NullPointerException("data == null");
+        if(off < 0 || off + (long) this.n > data.length) throw new IllegalArgumentException("off = " + off);
+
+        int h = this.n / 2;
+        float x0 = data[off], xh = data[off + 1];
+        data[off] = 0.5f * (x0 + xh);
+        data[off + 1] = 0.5f * (x0 - xh);
+
+        float[] w = this.twiddles;
+        for(int k = 1; 2 * k <= h; k++) {
+            int a = off + 2 * k, b = off + 2 * (h - k);
+            float ar = data[a], ai = data[a + 1];
+            float br = data[b], bi = data[b + 1];
+            // E = (X[k] + conj(X[h - k])) / 2, O = (X[k] - conj(X[h - k])) * exp(2 * pi * i * k / n) / 2
+            float er = 0.5f * (ar + br), ei = 0.5f * (ai - bi);
+            float dr = 0.5f * (ar - br), di = 0.5f * (ai + bi);
+            float c = w[2 * k], s = w[2 * k + 1];
+            float or = dr * c - di * s, oi = dr * s + di * c;
+            // Z[k] = E + iO, Z[h - k] = conj(E - iO)
+            data[b] = er + oi;
+            data[b + 1] = or - ei;
+            data[a] = er - oi;
+            data[a + 1] = ei + or;
+        }
+
+        this.half.inverse(data, off);
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getName() + "[n=" + this.n + "]";
+    }
+
+}
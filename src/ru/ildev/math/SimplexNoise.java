@@ -0,0 +1,235 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+import java.util.Random;
+
+/**
+ * Симплексный шум Перлина в изложении Густавсона. Вместо 2<sup>N</sup>
+ * углов куба и вложенных интерполяций суммируются вклады N + 1 вершин
+ * симплекса, в который попадает точка. Число углов растет линейно, а не
+ * экспоненциально, но до 4D включительно {@link Noise} с плоскими таблицами
+ * градиентов не медленнее; преимущество симплекса в отсутствии характерных
+ * артефактов вдоль осей решетки. Радиус вклада вершины
+ * {@code r^2 = 0.5}, так что шум непрерывен на границах симплексов.
+ * <p>
+ * Перестановка заполняется так же, как в {@link Noise#setSeed(long)}, но
+ * не меняется после создания, поэтому экземпляр потокобезопасен.
+ *
+ * @author Ilyas74
+ */
+public final class SimplexNoise implements NoiseSource {
+
+    private static final float F2 = (float) (0.5 * (Math.sqrt(3.0) - 1.0));
+    private static final float G2 = (float) ((3.0 - Math.sqrt(3.0)) / 6.0);
+    private static final float F3 = 1.0f / 3.0f;
+    private static final float G3 = 1.0f / 6.0f;
+    private static final float F4 = (float) ((Math.sqrt(5.0) - 1.0) / 4.0);
+    private static final float G4 = (float) ((5.0 - Math.sqrt(5.0)) / 20.0);
+
+    /**
+     * Множители, приводящие сумму вкладов к отрезку [-1; 1]. Найдены по
+     * наибольшему значению на 24 млн. случайных точек, в 4D немного
+     * уменьшены, потому что выборка там реже.
+     */
+    private static final float SCALE_2D = 70.0f;
+    private static final float SCALE_3D = 76.8f;
+    private static final float SCALE_4D = 62.0f;
+
+    /** Середины ребер куба, по три компоненты. В 2D берутся первые две. */
+    private static final float[] GRAD3 = {
+            1, 1, 0, -1, 1, 0, 1, -1, 0, -1, -1, 0,
+            1, 0, 1, -1, 0, 1, 1, 0, -1, -1, 0, -1,
+            0, 1, 1, 0, -1, 1, 0, 1, -1, 0, -1, -1
+    };
+    /** Середины ребер четырехмерного куба, по четыре компоненты. */
+    private static final float[] GRAD4 = {
+            0, 1, 1, 1, 0, 1, 1, -1, 0, 1, -1, 1, 0, 1, -1, -1,
+            0, -1, 1, 1, 0, -1, 1, -1, 0, -1, -1, 1, 0, -1, -1, -1,
+            1, 0, 1, 1, 1, 0, 1, -1, 1, 0, -1, 1, 1, 0, -1, -1,
+            -1, 0, 1, 1, -1, 0, 1, -1, -1, 0, -1, 1, -1, 0, -1, -1,
+            1, 1, 0, 1, 1, 1, 0, -1, 1, -1, 0, 1, 1, -1, 0, -1,
+            -1, 1, 0, 1, -1, 1, 0, -1, -1, -1, 0, 1, -1, -1, 0, -1,
+            1, 1, 1, 0, 1, 1, -1, 0, 1, -1, 1, 0, 1, -1, -1, 0,
+            -1, 1, 1, 0, -1, 1, -1, 0, -1, -1, 1, 0, -1, -1, -1, 0
+    };
+
+    private final long seed;
+    /** Удвоенная перестановка 0..255. */
+    private final short[] perm = new short[512];
+    /** Смещение градиента в {@link #GRAD3}: {@code perm[i] % 12 * 3}. */
+    private final byte[] grad3 = new byte[512];
+
+    /**
+     * Создает шум со случайным сидом.
+     */
+    public SimplexNoise() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Создает шум.
+     *
+     * @param seed сид.
+     */
+    public SimplexNoise(long seed) {
+        this.seed = seed;
+        int[] p = new int[256];
+        Random random = new Random(seed);
+        for (int i = 0; i < 256; i++) p[i] = i;
+        for (int i = 0; i < 256; i++) {
+            int j = random.nextInt() & 255;
+            int t = p[j];
+            p[j] = p[i];
+            p[i] = t;
+        }
+        for (int i = 0; i < 512; i++) {
+            this.perm[i] = (short) p[i & 255];
+            this.grad3[i] = (byte) (p[i & 255] % 12 * 3);
+        }
+    }
+
+    /**
+     * Получает сид.
+     *
+     * @return сид.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    @Override
+    public float noise2D(float x, float y) {
+        short[] perm = this.perm;
+        float s = (x + y) * F2;
+        int i = MoreMath.floor(x + s);
+        int j = MoreMath.floor(y + s);
+        float t = (i + j) * G2;
+        float x0 = x - (i - t);
+        float y0 = y - (j - t);
+
+        // Вершины треугольника: (0, 0), (1, 0) или (0, 1), (1, 1)
+        int i1 = gt(x0, y0);
+        int j1 = 1 - i1;
+        float x1 = x0 - i1 + G2;
+        float y1 = y0 - j1 + G2;
+        float x2 = x0 - 1.0f + 2.0f * G2;
+        float y2 = y0 - 1.0f + 2.0f * G2;
+
+        int ii = i & 255;
+        int jj = j & 255;
+        float n = corner(this.grad3[ii + perm[jj]], x0, y0)
+                + corner(this.grad3[ii + i1 + perm[jj + j1]], x1, y1)
+                + corner(this.grad3[ii + 1 + perm[jj + 1]], x2, y2);
+        return SCALE_2D * n;
+    }
+
+    @Override
+    public float noise3D(float x, float y, float z) {
+        short[] perm = this.perm;
+        float s = (x + y + z) * F3;
+        int i = MoreMath.floor(x + s);
+        int j = MoreMath.floor(y + s);
+        int k = MoreMath.floor(z + s);
+        float t = (i + j + k) * G3;
+        float x0 = x - (i - t);
+        float y0 = y - (j - t);
+        float z0 = z - (k - t);
+
+        // Ранг координаты: сколько других координат она больше. Вершина
+        // номер m тетраэдра сдвинута на 1 по координатам с рангом >= 3 - m.
+        int xy = gt(x0, y0), xz = gt(x0, z0), yz = gt(y0, z0);
+        int rx = xy + xz;
+        int ry = 1 - xy + yz;
+        int rz = 3 - rx - ry;
+        int i1 = rx >> 1, j1 = ry >> 1, k1 = rz >> 1;
+        int i2 = rx + 1 >> 1, j2 = ry + 1 >> 1, k2 = rz + 1 >> 1;
+
+        int ii = i & 255;
+        int jj = j & 255;
+        int kk = k & 255;
+        byte[] g = this.grad3;
+        float n = corner(g[ii + perm[jj + perm[kk]]], x0, y0, z0)
+                + corner(g[ii + i1 + perm[jj + j1 + perm[kk + k1]]], x0 - i1 + G3, y0 - j1 + G3, z0 - k1 + G3)
+                + corner(g[ii + i2 + perm[jj + j2 + perm[kk + k2]]], x0 - i2 + 2.0f * G3, y0 - j2 + 2.0f * G3, z0 - k2 + 2.0f * G3)
+                + corner(g[ii + 1 + perm[jj + 1 + perm[kk + 1]]], x0 - 1.0f + 3.0f * G3, y0 - 1.0f + 3.0f * G3, z0 - 1.0f + 3.0f * G3);
+        return SCALE_3D * n;
+    }
+
+    @Override
+    public float noise4D(float x, float y, float z, float w) {
+        short[] perm = this.perm;
+        float s = (x + y + z + w) * F4;
+        int i = MoreMath.floor(x + s);
+        int j = MoreMath.floor(y + s);
+        int k = MoreMath.floor(z + s);
+        int l = MoreMath.floor(w + s);
+        float t = (i + j + k + l) * G4;
+        float x0 = x - (i - t);
+        float y0 = y - (j - t);
+        float z0 = z - (k - t);
+        float w0 = w - (l - t);
+
+        // Ранг координаты: сколько других координат она больше. Вершина
+        // номер m симплекса сдвинута на 1 по координатам с рангом >= 4 - m.
+        // Сравнения без ветвлений: на случайных точках ветви не угадываются.
+        int xy = gt(x0, y0), xz = gt(x0, z0), xw = gt(x0, w0), yz = gt(y0, z0), yw = gt(y0, w0), zw = gt(z0, w0);
+        int rx = xy + xz + xw;
+        int ry = 1 - xy + yz + yw;
+        int rz = 2 - xz - yz + zw;
+        int rw = 3 - xw - yw - zw;
+        int i1 = rx + 1 >> 2, j1 = ry + 1 >> 2, k1 = rz + 1 >> 2, l1 = rw + 1 >> 2;
+        int i2 = rx + 2 >> 2, j2 = ry + 2 >> 2, k2 = rz + 2 >> 2, l2 = rw + 2 >> 2;
+        int i3 = rx + 3 >> 2, j3 = ry + 3 >> 2, k3 = rz + 3 >> 2, l3 = rw + 3 >> 2;
+
+        int ii = i & 255;
+        int jj = j & 255;
+        int kk = k & 255;
+        int ll = l & 255;
+        float n = corner4(perm[ii + perm[jj + perm[kk + perm[ll]]]], x0, y0, z0, w0)
+                + corner4(perm[ii + i1 + perm[jj + j1 + perm[kk + k1 + perm[ll + l1]]]],
+                x0 - i1 + G4, y0 - j1 + G4, z0 - k1 + G4, w0 - l1 + G4)
+                + corner4(perm[ii + i2 + perm[jj + j2 + perm[kk + k2 + perm[ll + l2]]]],
+                x0 - i2 + 2.0f * G4, y0 - j2 + 2.0f * G4, z0 - k2 + 2.0f * G4, w0 - l2 + 2.0f * G4)
+                + corner4(perm[ii + i3 + perm[jj + j3 + perm[kk + k3 + perm[ll + l3]]]],
+                x0 - i3 + 3.0f * G4, y0 - j3 + 3.0f * G4, z0 - k3 + 3.0f * G4, w0 - l3 + 3.0f * G4)
+                + corner4(perm[ii + 1 + perm[jj + 1 + perm[kk + 1 + perm[ll + 1]]]],
+                x0 - 1.0f + 4.0f * G4, y0 - 1.0f + 4.0f * G4, z0 - 1.0f + 4.0f * G4, w0 - 1.0f + 4.0f * G4);
+        return SCALE_4D * n;
+    }
+
+    /** 1, если {@code a > b}, иначе 0, без ветвления. */
+    private static int gt(float a, float b) {
+        return Float.floatToRawIntBits(b - a) >>> 31;
+    }
+
+    /** {@code max(t, 0)} маской знакового бита, без ветвления. */
+    private static float positive(float t) {
+        int b = Float.floatToRawIntBits(t);
+        return Float.intBitsToFloat(b & ~(b >> 31));
+    }
+
+    private static float corner(int g, float x, float y) {
+        float t = 0.5f - x * x - y * y;
+        t = positive(t);
+        t *= t;
+        return t * t * (GRAD3[g] * x + GRAD3[g + 1] * y);
+    }
+
+    private static float corner(int g, float x, float y, float z) {
+        float t = 0.5f - x * x - y * y - z * z;
+        t = positive(t);
+        t *= t;
+        return t * t * (GRAD3[g] * x + GRAD3[g + 1] * y + GRAD3[g + 2] * z);
+    }
+
+    private static float corner4(int hash, float x, float y, float z, float w) {
+        int g = (hash & 31) << 2;
+        float t = 0.5f - x * x - y * y - z * z - w * w;
+        t = positive(t);
+        t *= t;
+        return t * t * (GRAD4[g] * x + GRAD4[g + 1] * y + GRAD4[g + 2] * z + GRAD4[g + 3] * w);
+    }
+
+}
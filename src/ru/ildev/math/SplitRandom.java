@@ -0,0 +1,152 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+/**
+ * Разделяемый генератор случайных чисел SplitMix64, тот же алгоритм, что у
+ * {@link java.util.SplittableRandom}: состояние увеличивается на нечетную
+ * гамму, а результат перемешивается. Генератор не потокобезопасен, зато не
+ * использует атомарных операций и в несколько раз быстрее
+ * {@link java.util.Random}. Нормальное распределение считается методом
+ * зиккурата, а методы {@code fill*} заполняют массив без вызова метода на
+ * каждое число.
+ * <p>
+ * Независимые потоки чисел получаются либо {@link #split()}, либо
+ * конструктором {@link #SplitRandom(long, long)} по номеру потока, который
+ * не зависит от порядка создания генераторов.
+ *
+ * @author Ilyas74
+ */
+public final class SplitRandom implements RandomSource {
+
+    /** Дробная часть золотого сечения, гамма генератора по умолчанию. */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+    private final long gamma;
+
+    /**
+     * Создает генератор.
+     * @param seed зерно.
+     */
+    public SplitRandom(long seed) {
+        this.seed = seed;
+        this.gamma = GOLDEN_GAMMA;
+    }
+
+    /**
+     * Создает генератор для потока {@code stream}. Генераторы с одним зерном
+     * и разными номерами дают независимые последовательности.
+     * @param seed зерно.
+     * @param stream номер потока.
+     */
+    public SplitRandom(long seed, long stream) {
+        this.seed = mix64(seed + (stream + 1) * GOLDEN_GAMMA);
+        this.gamma = mixGamma(seed - (stream + 1) * GOLDEN_GAMMA);
+    }
+
+    private SplitRandom(SplitRandom parent) {
+        this.seed = parent.nextLong();
+        this.gamma = mixGamma(parent.nextSeed());
+    }
+
+    /**
+     * Создает новый генератор с независимой последовательностью и продвигает
+     * этот генератор. Последовательность нового генератора определяется
+     * состоянием этого.
+     * @return новый генератор.
+     */
+    public SplitRandom split() {
+        return new SplitRandom(this);
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(this.nextSeed());
+    }
+
+    /**
+     * Заполняет массив случайными числами от 0 до 1. Состояние генератора
+     * держится в локальной переменной цикла.
+     */
+    @Override
+    public void fillUniform(float[] dst, int off, int len) {
+        long s = this.seed;
+        long g = this.gamma;
+        for(int i = 0; i < len; i++) {
+            dst[off + i] = (mix64(s += g) >>> 40) * 0x1p-24f;
+        }
+        this.seed = s;
+    }
+
+    /**
+     * Заполняет массив случайными числами с нормальным распределением.
+     * Быстрая ветвь зиккурата встроена в цикл, генератор вызывается только
+     * в редкой медленной ветви.
+     */
+    @Override
+    public void fillGaussian(float[] dst, int off, int len, float mu, float sigma) {
+        long[] k = Ziggurat.K;
+        double[] w = Ziggurat.W;
+        long s = this.seed;
+        long g = this.gamma;
+        for(int i = 0; i < len; i++) {
+            long u = mix64(s += g);
+            int l = (int) u & (Ziggurat.N - 1);
+            long j = u >> 11;
+            double x;
+            if(Math.abs(j) < k[l]) {
+                x = j * w[l];
+            } else {
+                this.seed = s;
+                x = Ziggurat.slow(this, u);
+                s = this.seed;
+            }
+            dst[off + i] = (float) (mu + sigma * x);
+        }
+        this.seed = s;
+    }
+
+    /**
+     * Заполняет массив случайными целыми числами от {@code min} до
+     * {@code max} включительно.
+     */
+    @Override
+    public void fillInt(int[] dst, int off, int len, int min, int max) {
+        if(min > max) throw new IllegalArgumentException("min = " + min + ", max = " + max);
+        long range = (long) max - min + 1;
+        long t = (0x100000000L - range) % range;
+        long s = this.seed;
+        long g = this.gamma;
+        for(int i = 0; i < len; i++) {
+            long m = (mix64(s += g) >>> 32) * range;
+            while((m & 0xFFFFFFFFL) < t) {
+                m = (mix64(s += g) >>> 32) * range;
+            }
+            dst[off + i] = min + (int) (m >>> 32);
+        }
+        this.seed = s;
+    }
+
+    private long nextSeed() {
+        return this.seed += this.gamma;
+    }
+
+    /** Перемешивание результата, вариант 13 Стаффорда для MurmurHash3. */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Нечетная гамма с достаточным числом смен битов. */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return n < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+}
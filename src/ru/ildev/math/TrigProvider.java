@@ -0,0 +1,268 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+/**
+ * Способ вычисления синуса и косинуса. В отличии от флагов
+ * {@link MoreMath#LUT_ENABLED} и {@link MoreMath#LUT_LERP}, реализация
+ * выбирается один раз и сохраняется в {@code final} поле того, кто считает:
+ * <pre>
+ * private static final TrigProvider trig = TrigProvider.TABLE_LERP;
+ * ...
+ * float x = r * trig.cos(a);
+ * </pre>
+ * Вызов через такое поле мономорфен, поэтому JIT встраивает реализацию без
+ * проверок, а разные подсистемы одной JVM могут использовать разную точность.
+ * Все реализации неизменяемы и потокобезопасны.
+ *
+ * @author Ilyas74
+ * @see TrigTable
+ */
+public interface TrigProvider {
+
+    /** Точные значения {@link StrictMath}. */
+    Strict STRICT = new Strict();
+    /** Ближайшее значение из таблицы на 4096 значений. */
+    Table TABLE = new Table(new TrigTable(12, TrigTable.Interpolation.NONE));
+    /** Линейная интерполяция по той же таблице, что и {@link #TABLE}. */
+    TableLerp TABLE_LERP = new TableLerp(TABLE.getTable());
+    /** Минимаксные многочлены {@link FastTrig}. */
+    Polynomial POLYNOMIAL = new Polynomial();
+
+    /**
+     * Вычисляет синус угла.
+     * @param a угол в радианах.
+     * @return синус угла от -1 до 1.
+     */
+    float sin(float a);
+
+    /**
+     * Вычисляет косинус угла.
+     * @param a угол в радианах.
+     * @return косинус угла от -1 до 1.
+     */
+    float cos(float a);
+
+    /**
+     * Вычисляет синусы углов массива {@code src}.
+     * @param src массив углов в радианах.
+     * @param off индекс первого угла в массиве {@code src}.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    default void sin(float[] src, int off, float[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            dst[dstOff + i] = this.sin(src[off + i]);
+        }
+    }
+
+    /**
+     * Вычисляет косинусы углов массива {@code src}.
+     * @param src массив углов в радианах.
+     * @param off индекс первого угла в массиве {@code src}.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    default void cos(float[] src, int off, float[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            dst[dstOff + i] = this.cos(src[off + i]);
+        }
+    }
+
+    /**
+     * Вычисляет синус и косинус угла. Реализации сводят угол один раз для обоих значений.
+     * @param a угол в радианах.
+     * @param out массив, в который записываются синус {@code out[off]} и косинус {@code out[off + 1]}.
+     * @param off индекс синуса в массиве {@code out}.
+     */
+    default void sincos(float a, float[] out, int off) {
+        out[off] = this.sin(a);
+        out[off + 1] = this.cos(a);
+    }
+
+    /**
+     * Вычисляет синусы и косинусы углов массива {@code src}.
+     * @param src массив углов в радианах.
+     * @param off индекс первого угла в массиве {@code src}.
+     * @param sinDst массив синусов, может совпадать с {@code src}.
+     * @param sinOff индекс первого синуса в массиве {@code sinDst}.
+     * @param cosDst массив косинусов, может совпадать с {@code src}.
+     * @param cosOff индекс первого косинуса в массиве {@code cosDst}.
+     * @param len количество элементов.
+     */
+    default void sincos(float[] src, int off, float[] sinDst, int sinOff, float[] cosDst, int cosOff, int len) {
+        for(int i = 0; i < len; i++) {
+            float a = src[off + i];
+            sinDst[sinOff + i] = this.sin(a);
+            cosDst[cosOff + i] = this.cos(a);
+        }
+    }
+
+    /**
+     * Точные значения {@link StrictMath}.
+     */
+    final class Strict implements TrigProvider {
+
+        private Strict() {}
+
+        @Override
+        public float sin(float a) {
+            return (float) StrictMath.sin(a);
+        }
+
+        @Override
+        public float cos(float a) {
+            return (float) StrictMath.cos(a);
+        }
+
+    }
+
+    /**
+     * Ближайшее значение таблицы синусов, без интерполяции.
+     */
+    final class Table implements TrigProvider {
+
+        private final TrigTable table;
+        private final float factor;
+
+        /**
+         * Создает реализацию по таблице.
+         * @param table таблица синусов, способ интерполяции таблицы не учитывается.
+         */
+        public Table(TrigTable table) {
+            if(table == null) throw new NullPointerException("table == null");
+            this.table = table.withInterpolation(TrigTable.Interpolation.NONE);
+            this.factor = table.getFactor();
+        }
+
+        /**
+         * Получает таблицу синусов.
+         * @return таблица.
+         */
+        public TrigTable getTable() {
+            return this.table;
+        }
+
+        @Override
+        public float sin(float a) {
+            return this.table.nearest(a * this.factor, TrigTable.SIN);
+        }
+
+        @Override
+        public float cos(float a) {
+            return this.table.nearest(a * this.factor, TrigTable.COS);
+        }
+
+        @Override
+        public void sincos(float a, float[] out, int off) {
+            this.table.nearest(a * this.factor, out, off);
+        }
+
+        @Override
+        public void sin(float[] src, int off, float[] dst, int dstOff, int len) {
+            this.table.sin(src, off, dst, dstOff, len);
+        }
+
+        @Override
+        public void cos(float[] src, int off, float[] dst, int dstOff, int len) {
+            this.table.cos(src, off, dst, dstOff, len);
+        }
+
+        @Override
+        public void sincos(float[] src, int off, float[] sinDst, int sinOff, float[] cosDst, int cosOff, int len) {
+            this.table.sincos(src, off, sinDst, sinOff, cosDst, cosOff, len);
+        }
+
+    }
+
+    /**
+     * Линейная интерполяция между соседними значениями таблицы синусов.
+     */
+    final class TableLerp implements TrigProvider {
+
+        private final TrigTable table;
+        private final float factor;
+
+        /**
+         * Создает реализацию по таблице.
+         * @param table таблица синусов, способ интерполяции таблицы не учитывается.
+         */
+        public TableLerp(TrigTable table) {
+            if(table == null) throw new NullPointerException("table == null");
+            this.table = table.withInterpolation(TrigTable.Interpolation.LINEAR);
+            this.factor = table.getFactor();
+        }
+
+        /**
+         * Получает таблицу синусов.
+         * @return таблица.
+         */
+        public TrigTable getTable() {
+            return this.table;
+        }
+
+        @Override
+        public float sin(float a) {
+            return this.table.linear(a * this.factor, TrigTable.SIN);
+        }
+
+        @Override
+        public float cos(float a) {
+            return this.table.linear(a * this.factor, TrigTable.COS);
+        }
+
+        @Override
+        public void sincos(float a, float[] out, int off) {
+            this.table.linear(a * this.factor, out, off);
+        }
+
+        @Override
+        public void sin(float[] src, int off, float[] dst, int dstOff, int len) {
+            this.table.sin(src, off, dst, dstOff, len);
+        }
+
+        @Override
+        public void cos(float[] src, int off, float[] dst, int dstOff, int len) {
+            this.table.cos(src, off, dst, dstOff, len);
+        }
+
+        @Override
+        public void sincos(float[] src, int off, float[] sinDst, int sinOff, float[] cosDst, int cosOff, int len) {
+            this.table.sincos(src, off, sinDst, sinOff, cosDst, cosOff, len);
+        }
+
+    }
+
+    /**
+     * Минимаксные многочлены {@link FastTrig}, без таблиц.
+     */
+    final class Polynomial implements TrigProvider {
+
+        private Polynomial() {}
+
+        @Override
+        public float sin(float a) {
+            return FastTrig.sin(a);
+        }
+
+        @Override
+        public float cos(float a) {
+            return FastTrig.cos(a);
+        }
+
+        @Override
+        public void sincos(float a, float[] out, int off) {
+            FastTrig.sincos(a, out, off);
+        }
+
+        @Override
+        public void sincos(float[] src, int off, float[] sinDst, int sinOff, float[] cosDst, int cosOff, int len) {
+            FastTrig.sincos(src, off, sinDst, sinOff, cosDst, cosOff, len);
+        }
+
+    }
+
+}
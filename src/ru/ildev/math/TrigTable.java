@@ -0,0 +1,428 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+/**
+ * Таблица синусов и косинусов с настраиваемым размером и способом
+ * интерполяции. Таблица хранит {@code 2<sup>bits</sup>} пар значений синуса и
+ * косинуса на периоде {@code [0; 2*pi)} в одном массиве через одно, поэтому
+ * {@link #sincos(float, float[], int)} читает соседние элементы одной кэш-линии,
+ * а кубическая интерполяция берет производную из той же пары.
+ * <p>
+ * Ошибка таблицы зависит от размера и интерполяции (h = 2*pi / size):
+ * <pre>
+ * NONE   - ближайшее значение,             ошибка &lt;= h / 2
+ * LINEAR - линейная интерполяция,          ошибка &lt;= h<sup>2</sup> / 8
+ * CUBIC  - кубическая интерполяция Эрмита, ошибка &lt;= h<sup>4</sup> / 384
+ * </pre>
+ * К этому добавляется ошибка округления позиции в таблице до float, около
+ * 6e-7 на периоде {@code [0; 2*pi)} и пропорционально больше для больших углов.
+ * Фактическую максимальную ошибку возвращает {@link #getMaxError()}.
+ * Объект неизменяем и может использоваться из нескольких потоков.
+ *
+ * @author Ilyas74
+ */
+public final class TrigTable implements TrigProvider {
+
+    /** Способ интерполяции значений таблицы. */
+    public enum Interpolation {
+        /** Ближайшее значение таблицы. */
+        NONE,
+        /** Линейная интерполяция между соседними значениями. */
+        LINEAR,
+        /** Кубическая интерполяция Эрмита, производные берутся из той же таблицы. */
+        CUBIC
+    }
+
+    /** Минимальный размер таблицы в битах. */
+    public static final int MIN_BITS = 4;
+    /** Максимальный размер таблицы в битах. */
+    public static final int MAX_BITS = 24;
+
+    /** Смещение синуса в паре значений. */
+    static final int SIN = 0;
+    /** Смещение косинуса в паре значений. */
+    static final int COS = 1;
+
+    private final int bits;
+    private final int mask;
+    private final float factor;
+    private final float step;
+    /** Пары значений: {@code table[2*i] = sin(i*h)}, {@code table[2*i + 1] = cos(i*h)}. */
+    private final float[] table;
+    private final Interpolation interpolation;
+
+    /** Максимальная ошибка, вычисляется при первом запросе. */
+    private float maxError = -1.0f;
+
+    /**
+     * Создает таблицу.
+     * @param bits размер таблицы в битах, от {@value #MIN_BITS} до {@value #MAX_BITS}.
+     * @param interpolation способ интерполяции.
+     */
+    public TrigTable(int bits, Interpolation interpolation) {
+        if(bits < MIN_BITS || bits > MAX_BITS) throw new IllegalArgumentException("bits = " + bits);
+        if(interpolation == null) throw new NullPointerException("interpolation == null");
+
+        int size = 1 << bits;
+        this.bits = bits;
+        this.mask = size - 1;
+        this.factor = (float) (size / (2.0 * Math.PI));
+        this.step = (float) (2.0 * Math.PI / size);
+        this.table = new float[size << 1];
+        this.interpolation = interpolation;
+
+        for(int i = 0; i < size; i++) {
+            double a = i * (2.0 * Math.PI / size);
+            this.table[i << 1] = (float) StrictMath.sin(a);
+            this.table[i << 1 | 1] = (float) StrictMath.cos(a);
+        }
+    }
+
+    private TrigTable(TrigTable source, Interpolation interpolation) {
+        this.bits = source.bits;
+        this.mask = source.mask;
+        this.factor = source.factor;
+        this.step = source.step;
+        this.table = source.table;
+        this.interpolation = interpolation;
+    }
+
+    /**
+     * Создает наименьшую таблицу, ошибка которой не превышает {@code error}.
+     * Размер подбирается по теоретической оценке ошибки интерполяции.
+     * @param error допустимая ошибка.
+     * @param interpolation способ интерполяции.
+     * @return таблица.
+     * @throws IllegalArgumentException если ошибку нельзя получить таблицей
+     * размером до {@value #MAX_BITS} бит.
+     */
+    public static TrigTable forError(float error, Interpolation interpolation) {
+        for(int bits = MIN_BITS; bits <= MAX_BITS; bits++) {
+            if(errorBound(bits, interpolation) <= error) {
+                return new TrigTable(bits, interpolation);
+            }
+        }
+        throw new IllegalArgumentException("error = " + error);
+    }
+
+    private static double errorBound(int bits, Interpolation interpolation) {
+        double h = 2.0 * Math.PI / (1 << bits);
+        // Округление позиции a * size / (2 * pi) до float дает ошибку угла до pi * 2^-23,
+        // плюс округление значений таблицы.
+        double rounding = Math.PI * 0x1p-23 + 2.0 * Math.ulp(1.0f);
+        switch(interpolation) {
+            case LINEAR:
+                return h * h / 8.0 + rounding;
+            case CUBIC:
+                return h * h * h * h / 384.0 + rounding;
+            default:
+                return h / 2.0 + rounding;
+        }
+    }
+
+    /**
+     * Получает таблицу с теми же значениями, но другим способом интерполяции.
+     * Значения не копируются.
+     * @param interpolation способ интерполяции.
+     * @return таблица.
+     */
+    public TrigTable withInterpolation(Interpolation interpolation) {
+        if(interpolation == null) throw new NullPointerException("interpolation == null");
+        return interpolation == this.interpolation ? this : new TrigTable(this, interpolation);
+    }
+
+    /**
+     * Получает размер таблицы в битах.
+     * @return размер таблицы в битах.
+     */
+    public int getBits() {
+        return this.bits;
+    }
+
+    /**
+     * Получает количество значений в таблице.
+     * @return количество значений.
+     */
+    public int getSize() {
+        return this.table.length >> 1;
+    }
+
+    /**
+     * Получает способ интерполяции.
+     * @return способ интерполяции.
+     */
+    public Interpolation getInterpolation() {
+        return this.interpolation;
+    }
+
+    /**
+     * Получает максимальную абсолютную ошибку синуса и косинуса по сравнению
+     * с {@link StrictMath}. Ошибка измеряется на сетке углов периода при первом вызове.
+     * @return максимальная абсолютная ошибка.
+     */
+    public float getMaxError() {
+        float error = this.maxError;
+        if(error < 0.0f) {
+            error = this.measureError();
+            this.maxError = error;
+        }
+        return error;
+    }
+
+    private float measureError() {
+        // Внутри каждой ячейки берется 16 точек и точка перед серединой, где
+        // находится максимум ошибки без интерполяции. Большие таблицы
+        // проверяются через ячейку, т.к. ошибка меняется между ячейками плавно.
+        int size = this.getSize();
+        int stride = Math.max(1, size >> 16);
+        double h = 2.0 * Math.PI / size;
+        double error = 0.0;
+        for(int k = 0; k < size; k += stride) {
+            for(int j = 0; j <= 16; j++) {
+                double position = k + (j < 16 ? j / 16.0 : 0.5 - 1.0 / 1024.0);
+                float a = (float) (position * h);
+                error = Math.max(error, Math.abs(this.sin(a) - StrictMath.sin(a)));
+                error = Math.max(error, Math.abs(this.cos(a) - StrictMath.cos(a)));
+            }
+        }
+        return (float) error;
+    }
+
+    /**
+     * Вычисляет синус угла.
+     * @param a угол в радианах, может быть отрицательным.
+     * @return синус угла от -1 до 1.
+     */
+    @Override
+    public float sin(float a) {
+        return this.lookup(a * this.factor, SIN);
+    }
+
+    /**
+     * Вычисляет косинус угла.
+     * @param a угол в радианах, может быть отрицательным.
+     * @return косинус угла от -1 до 1.
+     */
+    @Override
+    public float cos(float a) {
+        return this.lookup(a * this.factor, COS);
+    }
+
+    /**
+     * Вычисляет синус и косинус угла по одной позиции в таблице.
+     * @param a угол в радианах, может быть отрицательным.
+     * @param out массив, в который записываются синус {@code out[off]} и косинус {@code out[off + 1]}.
+     * @param off индекс синуса в массиве {@code out}.
+     */
+    @Override
+    public void sincos(float a, float[] out, int off) {
+        float x = a * this.factor;
+        switch(this.interpolation) {
+            case LINEAR:
+                this.linear(x, out, off);
+                break;
+            case CUBIC:
+                int i = MoreMath.floor(x);
+                out[off] = this.hermite(i, x - i, SIN);
+                out[off + 1] = this.hermite(i, x - i, COS);
+                break;
+            default:
+                this.nearest(x, out, off);
+                break;
+        }
+    }
+
+    /**
+     * Вычисляет синусы углов массива {@code src}.
+     * @param src массив углов в радианах.
+     * @param off индекс первого угла в массиве {@code src}.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    @Override
+    public void sin(float[] src, int off, float[] dst, int dstOff, int len) {
+        this.lookup(src, off, SIN, dst, dstOff, len);
+    }
+
+    /**
+     * Вычисляет косинусы углов массива {@code src}.
+     * @param src массив углов в радианах.
+     * @param off индекс первого угла в массиве {@code src}.
+     * @param dst массив результатов, может совпадать с {@code src}.
+     * @param dstOff индекс первого результата в массиве {@code dst}.
+     * @param len количество элементов.
+     */
+    @Override
+    public void cos(float[] src, int off, float[] dst, int dstOff, int len) {
+        this.lookup(src, off, COS, dst, dstOff, len);
+    }
+
+    /**
+     * Вычисляет синусы и косинусы углов массива {@code src}, позиция в таблице
+     * для каждого угла вычисляется один раз.
+     * @param src массив углов в радианах.
+     * @param off индекс первого угла в массиве {@code src}.
+     * @param sinDst массив синусов, может совпадать с {@code src}.
+     * @param sinOff индекс первого синуса в массиве {@code sinDst}.
+     * @param cosDst массив косинусов, может совпадать с {@code src}.
+     * @param cosOff индекс первого косинуса в массиве {@code cosDst}.
+     * @param len количество элементов.
+     */
+    @Override
+    public void sincos(float[] src, int off, float[] sinDst, int sinOff, float[] cosDst, int cosOff, int len) {
+        float[] t = this.table;
+        int m = this.mask;
+        float k = this.factor;
+        switch(this.interpolation) {
+            case LINEAR:
+                for(int j = 0; j < len; j++) {
+                    float x = src[off + j] * k;
+                    int i = MoreMath.floor(x);
+                    float f = x - i;
+                    int i0 = (i & m) << 1;
+                    int i1 = (i + 1 & m) << 1;
+                    float s0 = t[i0];
+                    float c0 = t[i0 | 1];
+                    sinDst[sinOff + j] = s0 + f * (t[i1] - s0);
+                    cosDst[cosOff + j] = c0 + f * (t[i1 | 1] - c0);
+                }
+                break;
+            case CUBIC:
+                for(int j = 0; j < len; j++) {
+                    float x = src[off + j] * k;
+                    int i = MoreMath.floor(x);
+                    float f = x - i;
+                    sinDst[sinOff + j] = this.hermite(i, f, SIN);
+                    cosDst[cosOff + j] = this.hermite(i, f, COS);
+                }
+                break;
+            default:
+                for(int j = 0; j < len; j++) {
+                    int i = (MoreMath.floor(src[off + j] * k + 0.5f) & m) << 1;
+                    sinDst[sinOff + j] = t[i];
+                    cosDst[cosOff + j] = t[i | 1];
+                }
+                break;
+        }
+    }
+
+    /**
+     * Получает значение таблицы.
+     * @param x позиция в таблице, т.е. угол, умноженный на {@code size / (2 * pi)}.
+     * @param c {@link #SIN} или {@link #COS}.
+     * @return значение синуса или косинуса.
+     */
+    private float lookup(float x, int c) {
+        switch(this.interpolation) {
+            case LINEAR:
+                return this.linear(x, c);
+            case CUBIC:
+                return this.cubic(x, c);
+            default:
+                return this.nearest(x, c);
+        }
+    }
+
+    /** Ближайшее значение таблицы к позиции {@code x}. */
+    float nearest(float x, int c) {
+        return this.table[(MoreMath.floor(x + 0.5f) & this.mask) << 1 | c];
+    }
+
+    /** Ближайшие значения синуса и косинуса к позиции {@code x}. */
+    void nearest(float x, float[] out, int off) {
+        int i = (MoreMath.floor(x + 0.5f) & this.mask) << 1;
+        out[off] = this.table[i];
+        out[off + 1] = this.table[i | 1];
+    }
+
+    /** Линейная интерполяция значения таблицы в позиции {@code x}. */
+    float linear(float x, int c) {
+        float[] t = this.table;
+        int m = this.mask;
+        int i = MoreMath.floor(x);
+        float f = x - i;
+        float v0 = t[(i & m) << 1 | c];
+        return v0 + f * (t[(i + 1 & m) << 1 | c] - v0);
+    }
+
+    /** Линейная интерполяция синуса и косинуса в позиции {@code x}. */
+    void linear(float x, float[] out, int off) {
+        float[] t = this.table;
+        int m = this.mask;
+        int i = MoreMath.floor(x);
+        float f = x - i;
+        int i0 = (i & m) << 1;
+        int i1 = (i + 1 & m) << 1;
+        float s0 = t[i0];
+        float c0 = t[i0 | 1];
+        out[off] = s0 + f * (t[i1] - s0);
+        out[off + 1] = c0 + f * (t[i1 | 1] - c0);
+    }
+
+    /** Кубическая интерполяция значения таблицы в позиции {@code x}. */
+    float cubic(float x, int c) {
+        int i = MoreMath.floor(x);
+        return this.hermite(i, x - i, c);
+    }
+
+    /**
+     * Получает множитель перевода угла в позицию в таблице.
+     * @return {@code size / (2 * pi)}.
+     */
+    float getFactor() {
+        return this.factor;
+    }
+
+    private void lookup(float[] src, int off, int c, float[] dst, int dstOff, int len) {
+        float[] t = this.table;
+        int m = this.mask;
+        float k = this.factor;
+        switch(this.interpolation) {
+            case LINEAR:
+                for(int j = 0; j < len; j++) {
+                    float x = src[off + j] * k;
+                    int i = MoreMath.floor(x);
+                    float f = x - i;
+                    float v0 = t[(i & m) << 1 | c];
+                    dst[dstOff + j] = v0 + f * (t[(i + 1 & m) << 1 | c] - v0);
+                }
+                break;
+            case CUBIC:
+                for(int j = 0; j < len; j++) {
+                    float x = src[off + j] * k;
+                    int i = MoreMath.floor(x);
+                    dst[dstOff + j] = this.hermite(i, x - i, c);
+                }
+                break;
+            default:
+                for(int j = 0; j < len; j++) {
+                    dst[dstOff + j] = t[(MoreMath.floor(src[off + j] * k + 0.5f) & m) << 1 | c];
+                }
+                break;
+        }
+    }
+
+    /**
+     * Кубическая интерполяция Эрмита между {@code i}-й и {@code (i + 1)}-й парой.
+     * Производная синуса - косинус той же пары, производная косинуса - минус синус.
+     */
+    private float hermite(int i, float f, int c) {
+        float[] t = this.table;
+        int m = this.mask;
+        int i0 = (i & m) << 1;
+        int i1 = (i + 1 & m) << 1;
+        float d = c == SIN ? this.step : -this.step;
+        float p0 = t[i0 | c];
+        float p1 = t[i1 | c];
+        float m0 = t[i0 | c ^ 1] * d;
+        float m1 = t[i1 | c ^ 1] * d;
+        float f2 = f * f;
+        float f3 = f2 * f;
+        return (2.0f * f3 - 3.0f * f2 + 1.0f) * p0 + (f3 - 2.0f * f2 + f) * m0
+                + (3.0f * f2 - 2.0f * f3) * p1 + (f3 - f2) * m1;
+    }
+
+}
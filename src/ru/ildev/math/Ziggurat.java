@@ -0,0 +1,95 @@
+/*
+ *
+ */
+package ru.ildev.math;
+
+/**
+ * Таблицы зиккурата Марсальи и Цанга для нормального распределения на 256
+ * слоев. Одно 64-битное случайное число дает номер слоя (младшие 8 бит) и
+ * знаковую 53-битную абсциссу (старшие биты), поэтому в 98.5% случаев
+ * результат получается одним умножением и сравнением, без логарифмов и
+ * корней.
+ *
+ * @author Ilyas74
+ */
+final class Ziggurat {
+
+    /** Количество слоев. */
+    static final int N = 256;
+    /** Правая граница основания, за ней начинается хвост. */
+    static final double R = 3.6541528853610088;
+    /** Площадь слоя. */
+    private static final double V = 0.00492867323399;
+    /** Масштаб абсциссы, 2<sup>52</sup>. */
+    private static final double M = 0x1p52;
+
+    /** Граница прямоугольника слоя: {@code |j| < K[i]} значит, что точка внутри. */
+    static final long[] K = new long[N];
+    /** Ширина слоя, деленная на {@link #M}. */
+    static final double[] W = new double[N];
+    /** Плотность на правой границе слоя. */
+    static final double[] F = new double[N];
+
+    static {
+        double dn = R, tn = R;
+        double q = V / Math.exp(-0.5 * dn * dn);
+        K[0] = (long) (dn / q * M);
+        K[1] = 0;
+        W[0] = q / M;
+        W[N - 1] = dn / M;
+        F[0] = 1.0;
+        F[N - 1] = Math.exp(-0.5 * dn * dn);
+        for(int i = N - 2; i >= 1; i--) {
+            dn = Math.sqrt(-2.0 * Math.log(V / dn + Math.exp(-0.5 * dn * dn)));
+            K[i + 1] = (long) (dn / tn * M);
+            tn = dn;
+            F[i] = Math.exp(-0.5 * dn * dn);
+            W[i] = dn / M;
+        }
+    }
+
+    private Ziggurat() {
+    }
+
+    /**
+     * Получает случайное число с нормальным распределением, средним 0 и
+     * стандартным отклонением 1.
+     * @param random источник случайных чисел.
+     * @return случайное число.
+     */
+    static double next(RandomSource random) {
+        long u = random.nextLong();
+        int i = (int) u & (N - 1);
+        long j = u >> 11;
+        if(Math.abs(j) < K[i]) return j * W[i];
+        return slow(random, u);
+    }
+
+    /**
+     * Медленная ветвь: клин слоя или хвост основания.
+     * @param random источник случайных чисел.
+     * @param u случайное число, не прошедшее быструю проверку.
+     * @return случайное число.
+     */
+    static double slow(RandomSource random, long u) {
+        for(;;) {
+            int i = (int) u & (N - 1);
+            long j = u >> 11;
+            if(Math.abs(j) < K[i]) return j * W[i];
+
+            double x = j * W[i];
+            if(i == 0) {
+                // Хвост по методу Марсальи
+                double t, y;
+                do {
+                    t = -Math.log(1.0 - random.nextDouble()) / R;
+                    y = -Math.log(1.0 - random.nextDouble());
+                } while(y + y < t * t);
+                return j > 0 ? R + t : -R - t;
+            }
+            if(F[i] + random.nextDouble() * (F[i - 1] - F[i]) < Math.exp(-0.5 * x * x)) return x;
+            u = random.nextLong();
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class ComplexArrayTest {
+
+    private static ComplexArray random(Random random, int n) {
+        ComplexArray array = new ComplexArray(n);
+        for (int k = 0; k < n; k++) {
+            array.set(k, random.nextFloat() * 4.0f - 2.0f, random.nextFloat() * 4.0f - 2.0f);
+        }
+        return array;
+    }
+
+    @Test
+    public void testArithmetic() throws Exception {
+        Random random = new Random(42);
+        int n = 37;
+        ComplexArray a = random(random, n), b = random(random, n), c = random(random, n);
+        Complex x = new Complex(), y = new Complex(), z = new Complex();
+
+        ComplexArray sum = new ComplexArray(a).add(b);
+        ComplexArray difference = new ComplexArray(a).subtract(b);
+        ComplexArray product = new ComplexArray(a).multiply(b);
+        ComplexArray quotient = new ComplexArray(a).divide(b);
+        ComplexArray scalar = new ComplexArray(a).multiply(0.5f, -1.5f).add(1.0f, 2.0f);
+        ComplexArray conjugate = new ComplexArray(a).multiplyConjugate(b);
+        ComplexArray fma = new ComplexArray(c).multiplyAdd(a, b);
+        ComplexArray fmaScalar = new ComplexArray(c).multiplyAdd(a, 0.5f, -1.5f);
+        ComplexArray scaled = new ComplexArray(a).conjugate().scale(3.0f);
+        float[] abs = a.abs(new float[n]), norm = a.norm(new float[n]), phase = a.phase(new float[n]);
+
+        for (int k = 0; k < n; k++) {
+            a.get(k, x);
+            b.get(k, y);
+            assertEquals(x.sum(y), sum.get(k, z));
+            assertEquals(x.difference(y), difference.get(k, z));
+            assertEquals(x.product(y), product.get(k, z));
+            assertEquals(x.quotient(y), quotient.get(k, z));
+            assertEquals(x.product(0.5f, -1.5f).add(1.0f, 2.0f), scalar.get(k, z));
+            assertEquals(x.product(y.r, -y.i), conjugate.get(k, z));
+            assertEquals(c.get(k, new Complex()).add(x.product(y)), fma.get(k, z));
+            assertEquals(c.get(k, new Complex()).add(x.product(0.5f, -1.5f)), fmaScalar.get(k, z));
+            assertEquals(new Complex(3.0f * x.r, -3.0f * x.i), scaled.get(k, z));
+            assertEquals(x.abs(), abs[k], 0.0f);
+            assertEquals(x.norm(), norm[k], 0.0f);
+            assertEquals(x.phase(), phase[k], 0.0f);
+        }
+    }
+
+    @Test
+    public void testAliasing() throws Exception {
+        Random random = new Random(11);
+        int n = 9;
+        ComplexArray a = random(random, n);
+        Complex x = new Complex(), z = new Complex();
+
+        ComplexArray squared = new ComplexArray(a);
+        squared.multiply(squared);
+        ComplexArray power = new ComplexArray(a);
+        power.multiplyConjugate(power);
+        ComplexArray fma = new ComplexArray(a);
+        fma.multiplyAdd(fma, fma);
+        ComplexArray fmaScalar = new ComplexArray(a);
+        fmaScalar.multiplyAdd(fmaScalar, 0.5f, -1.5f);
+        ComplexArray one = new ComplexArray(a);
+        one.divide(one);
+
+        for (int k = 0; k < n; k++) {
+            a.get(k, x);
+            assertEquals(x.getSquared(), squared.get(k, z));
+            assertEquals(new Complex(x.norm(), 0.0f), power.get(k, z));
+            assertEquals(x.getSquared().add(x), fma.get(k, z));
+            assertEquals(x.product(0.5f, -1.5f).add(x), fmaScalar.get(k, z));
+            assertEquals(x.quotient(x), one.get(k, z));
+        }
+
+        // 1 + 2i
+        ComplexArray c = new ComplexArray(1).set(0, 1.0f, 2.0f);
+        ComplexArray d = new ComplexArray(c);
+        assertEquals(new Complex(-3.0f, 4.0f), d.multiply(d).get(0, z));
+        c.multiplyConjugate(c);
+        assertEquals(new Complex(5.0f, 0.0f), c.get(0, z));
+    }
+
+    @Test
+    public void testInterleave() throws Exception {
+        ComplexArray a = random(new Random(7), 5);
+        float[] pairs = a.interleave(new float[13], 3);
+        assertEquals(a.re[2], pairs[7], 0.0f);
+        assertEquals(a.im[2], pairs[8], 0.0f);
+        ComplexArray b = new ComplexArray(5).deinterleave(pairs, 3);
+        assertEquals(a, b);
+        assertArrayEquals(a.im, b.im, 0.0f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLengthMismatch() throws Exception {
+        new ComplexArray(4).add(new ComplexArray(5));
+    }
+
+}
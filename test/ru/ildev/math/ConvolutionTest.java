@@ -0,0 +1,106 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class ConvolutionTest {
+
+    /** Свертка по определению в double. */
+    private static double[] convolve(float[] x, float[] h) {
+        double[] out = new double[x.length + h.length - 1];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < h.length; j++) out[i + j] += (double) x[i] * h[j];
+        }
+        return out;
+    }
+
+    private static float[] random(Random random, int length) {
+        float[] x = new float[length];
+        for (int j = 0; j < length; j++) x[j] = random.nextFloat() * 2.0f - 1.0f;
+        return x;
+    }
+
+    private static void assertClose(double[] expected, float[] actual, int m) {
+        assertEquals(expected.length, actual.length);
+        double tolerance = 1e-5 * Math.sqrt(m) * (1 + Math.log(m));
+        for (int k = 0; k < expected.length; k++) assertEquals("k = " + k, expected[k], actual[k], tolerance);
+    }
+
+    @Test
+    public void testConvolve() throws Exception {
+        Random random = new Random(42);
+        int[][] sizes = {{1, 1}, {1, 5}, {5, 1}, {7, 3}, {100, 100}, {1000, 17}, {3000, 250}, {50, 400}};
+        for (int[] size : sizes) {
+            float[] x = random(random, size[0]), h = random(random, size[1]);
+            double[] expected = convolve(x, h);
+            for (Convolution.Method method : Convolution.Method.values()) {
+                assertClose(expected, Convolution.convolve(x, h, method), h.length);
+            }
+            assertClose(expected, Convolution.convolve(x, h), h.length);
+        }
+    }
+
+    @Test
+    public void testCorrelate() throws Exception {
+        Random random = new Random(7);
+        float[] x = random(random, 500), h = random(random, 60);
+        double[] expected = new double[x.length + h.length - 1];
+        for (int k = 0; k < expected.length; k++) {
+            for (int j = 0; j < h.length; j++) {
+                int i = k - (h.length - 1) + j;
+                if (i >= 0 && i < x.length) expected[k] += (double) x[i] * h[j];
+            }
+        }
+        assertClose(expected, Convolution.correlate(x, h), h.length);
+        assertClose(expected, Convolution.correlate(x, h, Convolution.Method.OVERLAP_SAVE), h.length);
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        Random random = new Random(3);
+        for (int m : new int[]{1, 9, 300}) {
+            float[] x = random(random, 5000), h = random(random, m);
+            double[] expected = convolve(x, h);
+
+            Convolution.Stream stream = Convolution.stream(h);
+            float[] out = new float[expected.length];
+            int written = 0;
+            for (int off = 0; off < x.length; ) {
+                int len = Math.min(x.length - off, random.nextInt(700));
+                int count = stream.process(x, off, len, out, written);
+                assertEquals(0, count % stream.getBlockSize());
+                written += count;
+                off += len;
+            }
+            written += stream.flush(out, written);
+            assertEquals(expected.length, written);
+            assertEquals(0, stream.getPending());
+            assertClose(expected, out, m);
+
+            // После flush поток готов к новому сигналу
+            float[] again = new float[expected.length];
+            int n = stream.process(x, 0, x.length, again, 0);
+            n += stream.flush(again, n);
+            assertEquals(expected.length, n);
+            assertClose(expected, again, m);
+        }
+    }
+
+    @Test
+    public void testChoose() throws Exception {
+        assertEquals(Convolution.Method.DIRECT, Convolution.choose(100000, 8));
+        assertEquals(Convolution.Method.OVERLAP_ADD, Convolution.choose(100000, 1000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyKernel() throws Exception {
+        Convolution.convolve(new float[10], new float[0]);
+    }
+
+}
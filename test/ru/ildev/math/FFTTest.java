@@ -0,0 +1,135 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class FFTTest {
+
+    /** Прямое ДПФ по определению в double. */
+    private static double[] dft(float[] x, int n) {
+        double[] out = new double[2 * n];
+        for (int k = 0; k < n; k++) {
+            double r = 0.0, i = 0.0;
+            for (int j = 0; j < n; j++) {
+                double angle = -2.0 * Math.PI * ((long) j * k % n) / n;
+                double c = Math.cos(angle), s = Math.sin(angle);
+                r += x[2 * j] * c - x[2 * j + 1] * s;
+                i += x[2 * j] * s + x[2 * j + 1] * c;
+            }
+            out[2 * k] = r;
+            out[2 * k + 1] = i;
+        }
+        return out;
+    }
+
+    private static float[] random(Random random, int length) {
+        float[] x = new float[length];
+        for (int j = 0; j < length; j++) x[j] = random.nextFloat() * 2.0f - 1.0f;
+        return x;
+    }
+
+    @Test
+    public void testForward() throws Exception {
+        Random random = new Random(42);
+        for (int n : new int[]{1, 2, 3, 4, 5, 8, 12, 16, 17, 32, 64, 100, 128, 256, 500, 512, 1024}) {
+            float[] x = random(random, 2 * n);
+            double[] expected = dft(x, n);
+            float[] data = new float[2 * n + 3];
+            System.arraycopy(x, 0, data, 3, 2 * n);
+            FFT.of(n).forward(data, 3);
+
+            double tolerance = 1e-6 * Math.sqrt(n) * (1 + Math.log(n));
+            for (int k = 0; k < 2 * n; k++) {
+                assertEquals("n = " + n + ", k = " + k, expected[k], data[3 + k], tolerance);
+            }
+
+            FFT.of(n).inverse(data, 3);
+            for (int k = 0; k < 2 * n; k++) {
+                assertEquals("n = " + n + ", k = " + k, x[k], data[3 + k], 1e-5);
+            }
+        }
+    }
+
+    @Test
+    public void testComplexArray() throws Exception {
+        Random random = new Random(7);
+        int n = 24;
+        float[] x = random(random, 2 * n);
+        ComplexArray array = new ComplexArray(n).deinterleave(x, 0);
+        FFT.of(n).forward(array);
+        FFT.of(n).forward(x, 0);
+        assertEquals(new ComplexArray(n).deinterleave(x, 0), array);
+    }
+
+    @Test
+    public void testRealForward() throws Exception {
+        Random random = new Random(3);
+        for (int n : new int[]{2, 4, 6, 8, 10, 16, 24, 64, 200, 256, 1024}) {
+            float[] x = random(random, n);
+            float[] complex = new float[2 * n];
+            for (int j = 0; j < n; j++) complex[2 * j] = x[j];
+            double[] expected = dft(complex, n);
+
+            float[] data = x.clone();
+            RealFFT.of(n).forward(data, 0);
+            double tolerance = 1e-6 * Math.sqrt(n) * (1 + Math.log(n));
+            assertEquals(expected[0], data[0], tolerance);
+            assertEquals(expected[n], data[1], tolerance);
+            for (int k = 1; k < n / 2; k++) {
+                assertEquals("n = " + n + ", k = " + k, expected[2 * k], data[2 * k], tolerance);
+                assertEquals("n = " + n + ", k = " + k, expected[2 * k + 1], data[2 * k + 1], tolerance);
+            }
+
+            RealFFT.of(n).inverse(data, 0);
+            for (int j = 0; j < n; j++) assertEquals("n = " + n + ", j = " + j, x[j], data[j], 1e-5);
+        }
+    }
+
+    @Test
+    public void testPlanCache() throws Exception {
+        assertSame(FFT.of(1024), FFT.of(1024));
+        assertSame(RealFFT.of(1024), RealFFT.of(1024));
+        // Планы Блюстейна не кэшируются
+        assertNotSame(FFT.of(1000), FFT.of(1000));
+        assertNotSame(RealFFT.of(1000), RealFFT.of(1000));
+        assertEquals(1000, FFT.of(1000).getSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddRealSize() throws Exception {
+        RealFFT.of(7);
+    }
+
+    @Test
+    public void testBluesteinLimit() throws Exception {
+        // Ошибка сообщает размер вызова, а не размер вложенной свертки
+        try {
+            FFT.of((1 << 27) + 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("n = 134217729"));
+        }
+        try {
+            RealFFT.of((1 << 28) + 2);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("n = 268435458"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortData() throws Exception {
+        FFT.of(8).forward(new float[15], 0);
+    }
+
+}
@@ -0,0 +1,97 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class FastExpTest {
+
+    /** Шаг по битовым представлениям float. */
+    private static final int STRIDE = 4099;
+
+    private static double ulps(float r, double exact) {
+        return r == (float) exact ? 0.0 : Math.abs(r - exact) / Math.ulp((float) exact);
+    }
+
+    private static void checkExpLog(FastExp.Accuracy accuracy, double expError, double logError) {
+        for (long bits = 0; bits <= 0xFFFFFFFFL; bits += STRIDE) {
+            float a = Float.intBitsToFloat((int) bits);
+            double exp = StrictMath.exp(a);
+            double log2 = StrictMath.log(a) / StrictMath.log(2.0);
+            float r = FastExp.exp(a, accuracy);
+            float l = FastExp.log2(a, accuracy);
+            assertEquals(a + "", Double.isNaN(exp), Float.isNaN(r));
+            assertEquals(a + "", Double.isNaN(log2), Float.isNaN(l));
+            if (exp >= Float.MIN_NORMAL && exp <= Float.MAX_VALUE / 2.0) {
+                assertTrue(accuracy + " exp(" + a + ") = " + r, Math.abs(r - exp) <= exp * expError);
+            }
+            if (!Double.isNaN(log2) && !Double.isInfinite(log2)) {
+                assertTrue(accuracy + " log2(" + a + ") = " + l, Math.abs(l - log2) <= logError);
+            } else if (!Double.isNaN(log2)) {
+                assertEquals((float) log2, l, 0.0f);
+            }
+        }
+    }
+
+    @Test
+    public void testLow() throws Exception {
+        checkExpLog(FastExp.Accuracy.LOW, 2.0e-3, 1.3e-3);
+    }
+
+    @Test
+    public void testMedium() throws Exception {
+        checkExpLog(FastExp.Accuracy.MEDIUM, 1.1e-4, 3.3e-5);
+    }
+
+    @Test
+    public void testHigh() throws Exception {
+        FastExp.Accuracy high = FastExp.Accuracy.HIGH;
+        double max = 0.0;
+        for (long bits = 0; bits <= 0xFFFFFFFFL; bits += STRIDE) {
+            float a = Float.intBitsToFloat((int) bits);
+            if (a > 0.0f) {
+                max = Math.max(max, ulps(FastExp.log(a, high), StrictMath.log(a)));
+                max = Math.max(max, ulps(FastExp.log10(a, high), StrictMath.log10(a)));
+                max = Math.max(max, ulps(FastExp.log2(a, high), StrictMath.log(a) / StrictMath.log(2.0)));
+            }
+            if (Math.abs(a) < 200.0f) {
+                max = Math.max(max, ulps(FastExp.exp(a, high), StrictMath.exp(a)));
+                max = Math.max(max, ulps(FastExp.exp2(a, high), StrictMath.pow(2.0, a)));
+            }
+        }
+        assertTrue(max + " ulp", max <= 1.0);
+        assertEquals(1.0f, FastExp.exp(0.0f, high), 0.0f);
+        assertEquals(0.0f, FastExp.log(1.0f, high), 0.0f);
+        assertEquals(Float.POSITIVE_INFINITY, FastExp.exp(100.0f, high), 0.0f);
+        assertEquals(0.0f, FastExp.exp(-200.0f, high), 0.0f);
+        assertEquals(Float.NEGATIVE_INFINITY, FastExp.log(0.0f, high), 0.0f);
+        assertTrue(Float.isNaN(FastExp.log(-1.0f, high)));
+    }
+
+    @Test
+    public void testPow() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000000; i++) {
+            float a = Float.intBitsToFloat(random.nextInt() & 0x7fffffff);
+            float b = (random.nextFloat() - 0.5f) * 100.0f;
+            double exact = StrictMath.pow(a, b);
+            if (!(exact >= Float.MIN_NORMAL && exact <= Float.MAX_VALUE / 2.0)) continue;
+            float r = FastExp.pow(a, b, FastExp.Accuracy.HIGH);
+            assertTrue(a + "^" + b + " = " + r, ulps(r, exact) <= 2.0);
+            // Ошибка растет с |b * log2(a)|
+            double error = 3.3e-5 * Math.abs(b) * Math.log(2.0) + 1.1e-4;
+            r = FastExp.pow(a, b, FastExp.Accuracy.MEDIUM);
+            assertTrue(a + "^" + b + " = " + r, Math.abs(r - exact) <= exact * error * 1.01);
+        }
+        assertEquals(-8.0f, FastExp.pow(-2.0f, 3.0f, FastExp.Accuracy.LOW), 0.0f);
+        assertEquals(1.0f, FastExp.pow(0.0f, 0.0f, FastExp.Accuracy.LOW), 0.0f);
+        assertEquals(1.0f, FastExp.pow(5.0f, 0.0f, FastExp.Accuracy.LOW), 0.0f);
+    }
+
+}
@@ -0,0 +1,113 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class FastTrigTest {
+
+    /** Шаг по битовым представлениям float, проверяется около миллиона чисел. */
+    private static final int STRIDE = 4099;
+
+    private interface FloatFunction {
+        float apply(float a);
+    }
+
+    private interface DoubleFunction {
+        double apply(double a);
+    }
+
+    private static void checkFloat(String name, FloatFunction fast, DoubleFunction exact) {
+        double max = 0.0;
+        float at = 0.0f;
+        for (long bits = 0; bits <= 0xFFFFFFFFL; bits += STRIDE) {
+            float a = Float.intBitsToFloat((int) bits);
+            double e = exact.apply(a);
+            float r = fast.apply(a);
+            if (Double.isNaN(e)) {
+                assertTrue(name + "(" + a + ") = " + r, Float.isNaN(r));
+                continue;
+            }
+            double ulps = Math.abs(r - e) / Math.ulp((float) e);
+            if (ulps > max) {
+                max = ulps;
+                at = a;
+            }
+        }
+        assertTrue(name + ": " + max + " ulp at " + at, max <= 1.0);
+    }
+
+    private static void checkDouble(String name, DoubleFunction fast, DoubleFunction exact) {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000000; i++) {
+            // Поровну произвольных битовых представлений и чисел до 2^20
+            double a = (i & 1) == 0 ? Double.longBitsToDouble(random.nextLong())
+                    : (2.0 * random.nextDouble() - 1.0) * Math.scalb(1.0, random.nextInt(24) - 4);
+            double e = exact.apply(a);
+            double r = fast.apply(a);
+            if (Double.isNaN(e)) {
+                assertTrue(name + "(" + a + ") = " + r, Double.isNaN(r));
+                continue;
+            }
+            assertTrue(name + "(" + a + ") = " + r + ", exact " + e, Math.abs(r - e) <= Math.ulp(e));
+        }
+    }
+
+    @Test
+    public void testFloat() throws Exception {
+        checkFloat("sin", FastTrig::sin, StrictMath::sin);
+        checkFloat("cos", FastTrig::cos, StrictMath::cos);
+        checkFloat("tan", FastTrig::tan, StrictMath::tan);
+        float[] out = new float[2];
+        checkFloat("sincos", a -> {
+            FastTrig.sincos(a, out, 0);
+            return out[0];
+        }, StrictMath::sin);
+        checkFloat("sincos", a -> {
+            FastTrig.sincos(a, out, 0);
+            return out[1];
+        }, StrictMath::cos);
+        checkFloat("atan", FastTrig::atan, StrictMath::atan);
+        checkFloat("asin", FastTrig::asin, StrictMath::asin);
+        checkFloat("acos", FastTrig::acos, StrictMath::acos);
+        checkFloat("atan2", a -> FastTrig.atan2(a, -0.7f), a -> StrictMath.atan2(a, -0.7f));
+        checkFloat("atan2", a -> FastTrig.atan2(0.7f, a), a -> StrictMath.atan2(0.7f, a));
+    }
+
+    @Test
+    public void testDouble() throws Exception {
+        checkDouble("sin", FastTrig::sin, StrictMath::sin);
+        checkDouble("cos", FastTrig::cos, StrictMath::cos);
+        checkDouble("tan", FastTrig::tan, StrictMath::tan);
+        checkDouble("atan", FastTrig::atan, StrictMath::atan);
+        checkDouble("asin", FastTrig::asin, StrictMath::asin);
+        checkDouble("acos", FastTrig::acos, StrictMath::acos);
+    }
+
+    @Test
+    public void testSpecialValues() throws Exception {
+        assertEquals(Float.floatToIntBits(-0.0f), Float.floatToIntBits(FastTrig.sin(-0.0f)));
+        assertEquals(Float.floatToIntBits(-0.0f), Float.floatToIntBits(FastTrig.tan(-0.0f)));
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(FastTrig.sin(-0.0)));
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(FastTrig.tan(-0.0)));
+        assertEquals(1.0f, FastTrig.cos(0.0f), 0.0f);
+        assertEquals(1.0, FastTrig.cos(0.0), 0.0);
+        assertTrue(Float.isNaN(FastTrig.sin(Float.POSITIVE_INFINITY)));
+        assertTrue(Double.isNaN(FastTrig.cos(Double.NEGATIVE_INFINITY)));
+        assertTrue(Float.isNaN(FastTrig.asin(1.5f)));
+        assertTrue(Double.isNaN(FastTrig.acos(-1.5)));
+        assertEquals((float) StrictMath.atan(Float.POSITIVE_INFINITY), FastTrig.atan(Float.POSITIVE_INFINITY), 0.0f);
+        assertEquals(StrictMath.atan(Double.NEGATIVE_INFINITY), FastTrig.atan(Double.NEGATIVE_INFINITY), 0.0);
+        assertEquals((float) StrictMath.atan2(-0.0f, -1.0f), FastTrig.atan2(-0.0f, -1.0f), 0.0f);
+        assertEquals((float) StrictMath.atan2(0.0f, -0.0f), FastTrig.atan2(0.0f, -0.0f), 0.0f);
+        assertEquals((float) StrictMath.atan2(1.0f, Float.NEGATIVE_INFINITY),
+                FastTrig.atan2(1.0f, Float.NEGATIVE_INFINITY), 0.0f);
+    }
+
+}
@@ -0,0 +1,93 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class GridFFTTest {
+
+    /** Прямое трехмерное ДПФ по определению в double. */
+    private static double[] dft(float[] in, int width, int height, int depth) {
+        double[] out = new double[2 * width * height * depth];
+        for (int kz = 0; kz < depth; kz++) {
+            for (int ky = 0; ky < height; ky++) {
+                for (int kx = 0; kx < width; kx++) {
+                    double r = 0.0, i = 0.0;
+                    for (int z = 0; z < depth; z++) {
+                        for (int y = 0; y < height; y++) {
+                            for (int x = 0; x < width; x++) {
+                                double angle = -2.0 * Math.PI * ((double) x * kx / width
+                                        + (double) y * ky / height + (double) z * kz / depth);
+                                double c = Math.cos(angle), s = Math.sin(angle);
+                                int j = 2 * ((z * height + y) * width + x);
+                                r += in[j] * c - in[j + 1] * s;
+                                i += in[j] * s + in[j + 1] * c;
+                            }
+                        }
+                    }
+                    int k = 2 * ((kz * height + ky) * width + kx);
+                    out[k] = r;
+                    out[k + 1] = i;
+                }
+            }
+        }
+        return out;
+    }
+
+    private static float[] random(Random random, int length) {
+        float[] x = new float[length];
+        for (int j = 0; j < length; j++) x[j] = random.nextFloat() * 2.0f - 1.0f;
+        return x;
+    }
+
+    @Test
+    public void testForward2D() throws Exception {
+        Random random = new Random(42);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            // 40 столбцов: два полных блока и неполный, 6 строк через Блюстейна
+            int width = 40, height = 6;
+            float[] x = random(random, 2 * width * height);
+            double[] expected = dft(x, width, height, 1);
+            float[] data = x.clone();
+            new GridFFT(pool).forward2D(data, width, height);
+            for (int k = 0; k < data.length; k++) assertEquals("k = " + k, expected[k], data[k], 1e-4);
+
+            float[] serial = x.clone();
+            new GridFFT(Runnable::run).forward2D(serial, width, height);
+            assertArrayEquals(data, serial, 0.0f);
+
+            new GridFFT(pool).inverse2D(data, width, height);
+            assertArrayEquals(x, data, 1e-5f);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testForward3D() throws Exception {
+        Random random = new Random(7);
+        int width = 4, height = 5, depth = 18;
+        float[] x = random(random, 2 * width * height * depth);
+        double[] expected = dft(x, width, height, depth);
+        float[] data = x.clone();
+        GridFFT fft = new GridFFT();
+        fft.forward3D(data, width, height, depth);
+        for (int k = 0; k < data.length; k++) assertEquals("k = " + k, expected[k], data[k], 1e-4);
+        fft.inverse3D(data, width, height, depth);
+        assertArrayEquals(x, data, 1e-5f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortData() throws Exception {
+        new GridFFT().forward2D(new float[2 * 8 * 8 - 1], 8, 8);
+    }
+
+}
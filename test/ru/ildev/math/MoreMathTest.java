@@ -2,6 +2,8 @@ package ru.ildev.math;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * @author Ilyas Shafigin
  * @since 03.08.15
@@ -10,66 +12,42 @@ public class MoreMathTest {
 
     @Test
     public void testAbsI() throws Exception {
-        System.out.println("test abs(int):");
-        long time;
-
-        time = System.nanoTime();
-        for (int i = 0; i < 1000000; i++) {
-            MoreMath.abs(-i);
-        }
-        System.out.println("\tfast:" + (System.nanoTime() - time));
-
-        time = System.nanoTime();
-        for (int i = 0; i < 1000000; i++) {
-            Math.abs(-i);
+        for (int i = -1000; i <= 1000; i++) {
+            assertEquals(Math.abs(i), MoreMath.abs(i));
         }
-        System.out.println("\tslow:" + (System.nanoTime() - time));
+        assertEquals(Integer.MAX_VALUE, MoreMath.abs(-Integer.MAX_VALUE));
     }
 
     @Test
     public void testAbsF() throws Exception {
-        System.out.println("test abs(float):");
-        long time;
-
-        time = System.nanoTime();
-        for (int i = 0; i < 1000000; i++) {
-            MoreMath.abs((float) (-i));
-        }
-        System.out.println("\tfast:" + (System.nanoTime() - time));
-
-        time = System.nanoTime();
-        for (int i = 0; i < 1000000; i++) {
-            Math.abs((float) (-i));
+        for (int i = -1000; i <= 1000; i++) {
+            float a = i * 0.37f;
+            assertEquals(Math.abs(a), MoreMath.abs(a), 0.0f);
         }
-        System.out.println("\tslow:" + (System.nanoTime() - time));
     }
 
     @Test
     public void testFloor() throws Exception {
-        System.out.println("test floor(int):");
-        long time;
-
-        time = System.nanoTime();
-        for (int i = 0; i < 1000000; i++) {
-            MoreMath.floor(i * 0.001f);
+        for (int i = -100000; i <= 100000; i++) {
+            float a = i * 0.001f;
+            assertEquals((int) Math.floor(a), MoreMath.floor(a));
         }
-        System.out.println("\tfast:" + (System.nanoTime() - time));
-
-        time = System.nanoTime();
-        for (int i = 0; i < 1000000; i++) {
-            Math.floor(i * 0.001f);
-        }
-        System.out.println("\tslow:" + (System.nanoTime() - time));
     }
 
     @Test
     public void testCeil() throws Exception {
-
+        for (int i = -100000; i <= 100000; i++) {
+            float a = i * 0.001f;
+            assertEquals((int) Math.ceil(a), MoreMath.ceil(a));
+        }
     }
 
     @Test
     public void testRound() throws Exception {
-
+        for (int i = -100000; i <= 100000; i++) {
+            float a = i * 0.001f;
+            assertEquals(Math.round(a), MoreMath.round(a));
+        }
     }
 
     @Test
@@ -84,7 +62,39 @@ public class MoreMathTest {
 
     @Test
     public void testSqrtF() throws Exception {
+        for (int i = 0; i <= 10000; i++) {
+            float a = i * 0.37f;
+            assertEquals((float) Math.sqrt(a), MoreMath.sqrt(a), 0.0f);
+        }
+        assertEquals(0.0f, MoreMath.sqrt(-4.0f), 0.0f);
+        assertEquals(Float.POSITIVE_INFINITY, MoreMath.sqrt(Float.POSITIVE_INFINITY), 0.0f);
+        assertEquals(1e19f, MoreMath.sqrt(1e38f), 1e12f);
+    }
 
+    @Test
+    public void testInvSqrt() throws Exception {
+        for (int i = 1; i <= 10000; i++) {
+            float a = i * 0.37f;
+            float expected = (float) (1.0 / Math.sqrt(a));
+            assertEquals(expected, MoreMath.invSqrt(a), Math.ulp(expected));
+            assertEquals(expected, MoreMath.fastInvSqrt(a), expected * 5e-6f);
+        }
+        assertEquals(Float.POSITIVE_INFINITY, MoreMath.invSqrt(0.0f), 0.0f);
+    }
+
+    @Test
+    public void testMagDist() throws Exception {
+        assertEquals(5.0f, MoreMath.mag(3.0f, 4.0f), 0.0f);
+        assertEquals(7.0f, MoreMath.mag(2.0f, 3.0f, 6.0f), 0.0f);
+        assertEquals(5.0f, MoreMath.dist(1.0f, 1.0f, 4.0f, 5.0f), 0.0f);
+        assertEquals(7.0f, MoreMath.dist(1.0f, 1.0f, 1.0f, 3.0f, 4.0f, 7.0f), 0.0f);
+
+        // Без переполнения и потери точности на краях диапазона
+        float big = Float.MAX_VALUE / 2.0f;
+        assertEquals(big * MoreMath.SQRT_2, MoreMath.mag(big, big), Math.ulp(big * MoreMath.SQRT_2));
+        assertEquals(big * 2.0f, MoreMath.dist(-big, 0.0f, big, 0.0f), 0.0f);
+        assertEquals(5e-30f, MoreMath.mag(3e-30f, 4e-30f), Math.ulp(5e-30f));
+        assertEquals(5e-30f, MoreMath.dist(0.0f, 0.0f, 0.0f, 3e-30f, 4e-30f, 0.0f), Math.ulp(5e-30f));
     }
 
     @Test
@@ -121,4 +131,76 @@ public class MoreMathTest {
     public void testAtan2() throws Exception {
 
     }
+
+    @Test
+    public void testBulk() throws Exception {
+        float[] src = new float[1000];
+        float[] exps = new float[src.length];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = i * 0.0123f - 6.0f;
+            exps[i] = i * 0.002f - 1.0f;
+        }
+        float[] dst = new float[src.length + 3];
+
+        MoreMath.sin(src, 0, dst, 3, src.length);
+        for (int i = 0; i < src.length; i++) assertEquals(MoreMath.sin(src[i]), dst[i + 3], 0.0f);
+        MoreMath.cos(src, 0, dst, 3, src.length);
+        for (int i = 0; i < src.length; i++) assertEquals(MoreMath.cos(src[i]), dst[i + 3], 0.0f);
+        MoreMath.atan2(src, 0, exps, 0, dst, 3, src.length);
+        for (int i = 0; i < src.length; i++) assertEquals(MoreMath.atan2(src[i], exps[i]), dst[i + 3], 0.0f);
+        MoreMath.exp(src, 0, dst, 3, src.length);
+        for (int i = 0; i < src.length; i++) assertEquals(MoreMath.exp(src[i]), dst[i + 3], 0.0f);
+        MoreMath.pow(exps, 0, 2.5f, dst, 3, src.length);
+        for (int i = 0; i < src.length; i++) assertEquals(MoreMath.pow(exps[i], 2.5f), dst[i + 3], 0.0f);
+        MoreMath.pow(exps, 0, src, 0, dst, 3, src.length);
+        for (int i = 0; i < src.length; i++) assertEquals(MoreMath.pow(exps[i], src[i]), dst[i + 3], 0.0f);
+    }
+
+    @Test
+    public void testArrayOps() throws Exception {
+        FloatArrayOps scalar = new FloatArrayOps();
+        float[] a = new float[1003];
+        float[] b = new float[a.length];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = (float) Math.sin(i * 0.37) * 100.0f + 1.0f;
+            b[i] = (float) Math.cos(i * 0.11) * 10.0f;
+        }
+        float[] expected = new float[a.length];
+        float[] actual = new float[a.length];
+
+        assertEquals(scalar.sum(a, 0, a.length), MoreMath.sum(a), 1.0e-2f);
+        assertEquals(scalar.min(a, 0, a.length), MoreMath.min(a), 0.0f);
+        assertEquals(scalar.max(a, 0, a.length), MoreMath.max(a), 0.0f);
+        assertEquals(3.0f, MoreMath.min(new float[]{5.0f, 3.0f, 4.0f}), 0.0f);
+
+        // NaN в середине и в начале каждой дорожки пропускается, первым - возвращается
+        float[] nan = a.clone();
+        for (int i = 1; i < 40; i++) nan[i] = Float.NaN;
+        nan[500] = Float.NaN;
+        assertEquals(scalar.min(nan, 0, nan.length), MoreMath.min(nan), 0.0f);
+        assertEquals(scalar.max(nan, 0, nan.length), MoreMath.max(nan), 0.0f);
+        float nanMin = nan[0];
+        for (float v : nan) if (v < nanMin) nanMin = v;
+        assertEquals(nanMin, MoreMath.min(nan), 0.0f);
+        nan[0] = Float.NaN;
+        assertEquals(Float.NaN, MoreMath.min(nan), 0.0f);
+        assertEquals(Float.NaN, MoreMath.max(nan), 0.0f);
+
+        scalar.cumSum(a, 0, expected, 0, a.length);
+        actual = MoreMath.cumSum(a);
+        for (int i = 0; i < a.length; i++) assertEquals(expected[i], actual[i], 1.0e-2f);
+
+        scalar.lerp(a, 0, b, 0, 0.3f, expected, 0, a.length);
+        MoreMath.lerp(a, 0, b, 0, 0.3f, actual, 0, a.length);
+        for (int i = 0; i < a.length; i++) assertEquals(expected[i], actual[i], 1.0e-5f);
+
+        MoreMath.map(a, 0, -100.0f, 100.0f, 0.0f, 1.0f, actual, 0, a.length);
+        for (int i = 0; i < a.length; i++) assertEquals(MoreMath.map(a[i], -100.0f, 100.0f, 0.0f, 1.0f), actual[i], 1.0e-6f);
+
+        MoreMath.clamp(a, 0, -50.0f, 50.0f, actual, 0, a.length);
+        for (int i = 0; i < a.length; i++) assertEquals(MoreMath.clamp(a[i], -50.0f, 50.0f), actual[i], 0.0f);
+
+        MoreMath.sqrt(b, 0, actual, 0, b.length);
+        for (int i = 0; i < b.length; i++) assertEquals((float) Math.sqrt(b[i]), actual[i], 0.0f);
+    }
 }
\ No newline at end of file
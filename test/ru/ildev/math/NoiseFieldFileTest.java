@@ -0,0 +1,142 @@
+package ru.ildev.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class NoiseFieldFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWrite2D() throws Exception {
+        Noise noise = new Noise(42L);
+        int width = 83, height = 41;
+        float[] expected = new float[width * height];
+        noise.fill2D(expected, width, height, -5.5f, 0.0f, 0.3f);
+
+        // Окна по 5 строк, 1 строке и весь файл одним окном
+        for (int window : new int[]{5 * width + 7, 1, NoiseFieldFile.WINDOW}) {
+            Path path = this.folder.newFile().toPath();
+            NoiseField field = new NoiseField(noise, Runnable::run, 16);
+            NoiseFieldFile.write(path, field, width, height, 1, -5.5f, 0.0f, 0.0f, 0.3f, false, window);
+            assertEquals(NoiseFieldFile.HEADER_SIZE + 4L * width * height, Files.size(path));
+
+            try (NoiseFieldFile file = NoiseFieldFile.open(path)) {
+                assertEquals(width, file.getWidth());
+                assertEquals(height, file.getHeight());
+                assertEquals(1, file.getDepth());
+                assertEquals(-5.5f, file.getX0(), 0.0f);
+                assertEquals(0.3f, file.getStep(), 0.0f);
+                assertEquals(42L, file.getSeed());
+                assertEquals(2, file.getDimensions());
+
+                FloatBuffer rows = file.getRows(0, height, 0);
+                assertEquals(width * height, rows.remaining());
+                for (int n = 0; n < expected.length; n++) assertEquals(expected[n], rows.get(n), 0.0f);
+
+                FloatBuffer region = file.getRegion(10, 7, 0, 20, 3);
+                assertEquals(2 * width + 20, region.remaining());
+                for (int j = 0; j < 3; j++) {
+                    for (int i = 0; i < 20; i++) {
+                        assertEquals(expected[(j + 7) * width + i + 10], region.get(j * width + i), 0.0f);
+                    }
+                }
+                assertEquals(expected[expected.length - 1], file.get(width - 1, height - 1, 0), 0.0f);
+            }
+        }
+    }
+
+    @Test
+    public void testWrite3D() throws Exception {
+        Noise noise = new Noise(7L);
+        int width = 19, height = 11, depth = 6;
+        float[] expected = new float[width * height * depth];
+        noise.fill3D(expected, width, height, depth, 0.0f, -1.0f, 2.0f, 0.25f);
+
+        // Окна по 2 слоя и по 4 строки
+        for (int window : new int[]{2 * width * height + 3, 4 * width}) {
+            Path path = this.folder.newFile().toPath();
+            NoiseFieldFile.write(path, new NoiseField(noise), width, height, depth,
+                    0.0f, -1.0f, 2.0f, 0.25f, true, window);
+            try (NoiseFieldFile file = NoiseFieldFile.open(path)) {
+                assertEquals(depth, file.getDepth());
+                assertEquals(3, file.getDimensions());
+                for (int k = 0; k < depth; k++) {
+                    FloatBuffer slice = file.getRows(0, height, k);
+                    for (int n = 0; n < width * height; n++) {
+                        assertEquals(expected[k * width * height + n], slice.get(n), 0.0f);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReadWindows() throws Exception {
+        Noise noise = new Noise(5L);
+        int width = 13, height = 10, depth = 4;
+        float[] expected = new float[width * height * depth];
+        noise.fill3D(expected, width, height, depth, 1.0f, 2.0f, 3.0f, 0.5f);
+        Path path = this.folder.newFile().toPath();
+        NoiseFieldFile.write3D(path, new NoiseField(noise), width, height, depth, 1.0f, 2.0f, 3.0f, 0.5f);
+
+        // Окна чтения по 3 слоя и по 4 строки, как у файлов больше окна
+        for (int window : new int[]{3 * width * height, 4 * width + 5}) {
+            try (NoiseFieldFile file = NoiseFieldFile.open(path, window)) {
+                for (int k = 0; k < depth; k++) {
+                    for (int j = 0; j < height; j++) {
+                        for (int i = 0; i < width; i++) {
+                            float value = expected[(k * height + j) * width + i];
+                            assertEquals(value, file.get(i, j, k), 0.0f);
+                        }
+                    }
+                }
+                FloatBuffer region = file.getRegion(2, 4, 3, 5, 4);
+                assertEquals(3 * width + 5, region.remaining());
+                for (int j = 0; j < 4; j++) {
+                    for (int i = 0; i < 5; i++) {
+                        assertEquals(expected[(3 * height + j + 4) * width + i + 2], region.get(j * width + i), 0.0f);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegionCrossesWindow() throws Exception {
+        Path path = this.folder.newFile().toPath();
+        NoiseFieldFile.write2D(path, new NoiseField(new Noise(1L)), 8, 8, 0.0f, 0.0f, 1.0f);
+        try (NoiseFieldFile file = NoiseFieldFile.open(path, 4 * 8)) {
+            file.getRegion(0, 3, 0, 8, 2);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testBadMagic() throws Exception {
+        Path path = this.folder.newFile().toPath();
+        Files.write(path, new byte[NoiseFieldFile.HEADER_SIZE]);
+        NoiseFieldFile.open(path);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadRegion() throws Exception {
+        Path path = this.folder.newFile().toPath();
+        NoiseFieldFile.write2D(path, new NoiseField(new Noise(1L)), 8, 8, 0.0f, 0.0f, 1.0f);
+        try (NoiseFieldFile file = NoiseFieldFile.open(path)) {
+            file.getRegion(4, 0, 0, 5, 1);
+        }
+    }
+
+}
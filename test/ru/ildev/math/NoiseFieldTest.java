@@ -0,0 +1,82 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class NoiseFieldTest {
+
+    @Test
+    public void testFill2D() throws Exception {
+        Noise noise = new Noise(42L);
+        int width = 83, height = 41;
+        float[] expected = new float[width * height];
+        noise.fill2D(expected, width, height, -5.5f, 0.0f, 0.3f);
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        ForkJoinPool forkJoin = new ForkJoinPool(4);
+        try {
+            NoiseField[] fields = {
+                    new NoiseField(noise),
+                    new NoiseField(noise, Runnable::run, 16),
+                    new NoiseField(noise, pool, 20),
+                    new NoiseField(noise, forkJoin, 1)
+            };
+            for (NoiseField field : fields) {
+                float[] out = new float[width * height];
+                NoiseField.Timing timing = field.fill2D(out, width, height, -5.5f, 0.0f, 0.3f);
+                assertArrayEquals(expected, out, 0.0f);
+                int tile = field.getTileSize();
+                assertEquals(0, tile % 16);
+                assertEquals((width + tile - 1) / tile, timing.getTilesX());
+                assertEquals((height + tile - 1) / tile, timing.getTilesY());
+                assertEquals(1, timing.getTilesZ());
+                assertTrue(timing.getTotalNanos() >= timing.getMaxTileNanos());
+
+                FloatBuffer buffer = ByteBuffer.allocateDirect((width * height + 7) * 4).asFloatBuffer();
+                buffer.position(7);
+                field.fill2D(buffer, width, height, -5.5f, 0.0f, 0.3f);
+                assertEquals(7, buffer.position());
+                for (int i = 0; i < expected.length; i++) assertEquals(expected[i], buffer.get(7 + i), 0.0f);
+            }
+        } finally {
+            pool.shutdown();
+            forkJoin.shutdown();
+        }
+    }
+
+    @Test
+    public void testFill3D() throws Exception {
+        Noise noise = new Noise(3L);
+        int width = 37, height = 21, depth = 5;
+        float[] expected = new float[width * height * depth];
+        noise.fill3D(expected, width, height, depth, 1.0f, 2.0f, -1.0f, 0.5f);
+
+        NoiseField field = new NoiseField(noise, ForkJoinPool.commonPool(), 16);
+        float[] out = new float[expected.length];
+        NoiseField.Timing timing = field.fill3D(out, width, height, depth, 1.0f, 2.0f, -1.0f, 0.5f);
+        assertArrayEquals(expected, out, 0.0f);
+        assertEquals(depth, timing.getTilesZ());
+
+        FloatBuffer buffer = FloatBuffer.allocate(expected.length);
+        field.fill3D(buffer, width, height, depth, 1.0f, 2.0f, -1.0f, 0.5f);
+        assertArrayEquals(expected, buffer.array(), 0.0f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooSmall() throws Exception {
+        new NoiseField(new Noise(1L)).fill2D(new float[10], 4, 4, 0.0f, 0.0f, 1.0f);
+    }
+
+}
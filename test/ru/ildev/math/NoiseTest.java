@@ -0,0 +1,220 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class NoiseTest {
+
+    @Test
+    public void testFill2D() throws Exception {
+        Noise noise = new Noise(42L);
+        int width = 67, height = 23;
+        float[] out = new float[width * height];
+        // Строка y = 0 проходит через одномерный шум, как и noise(x, y)
+        float[][] origins = {{-3.1f, -2.0f}, {100.25f, 7.5f}, {0.0f, 0.0f}};
+        float[] steps = {0.1f, 0.37f, 1.0f, 3.3f};
+        for (float[] origin : origins) {
+            for (float step : steps) {
+                noise.fill2D(out, width, height, origin[0], origin[1], step);
+                for (int j = 0; j < height; j++) {
+                    for (int i = 0; i < width; i++) {
+                        float expected = noise.noise(origin[0] + i * step, origin[1] + j * step);
+                        assertEquals(expected, out[j * width + i], 0.0f);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFill3D() throws Exception {
+        Noise noise = new Noise(7L, 0.6f, 0.3f, 1.5f, 5);
+        int width = 19, height = 11, depth = 7;
+        float[] out = new float[width * height * depth];
+        float[][] origins = {{-3.1f, -2.0f, -1.0f}, {100.25f, 7.5f, 3.0f}};
+        float[] steps = {0.1f, 0.5f, 2.7f};
+        for (float[] origin : origins) {
+            for (float step : steps) {
+                noise.fill3D(out, width, height, depth, origin[0], origin[1], origin[2], step);
+                for (int k = 0; k < depth; k++) {
+                    for (int j = 0; j < height; j++) {
+                        for (int i = 0; i < width; i++) {
+                            float expected = noise.noise(origin[0] + i * step, origin[1] + j * step, origin[2] + k * step);
+                            assertEquals(expected, out[(k * height + j) * width + i], 0.0f);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFillTooSmall() throws Exception {
+        new Noise(1L).fill2D(new float[10], 4, 4, 0.0f, 0.0f, 1.0f);
+    }
+
+    @Test
+    public void testConfig() throws Exception {
+        NoiseConfig config = NoiseConfig.builder().seed(7L).persistence(0.6f).frequency(0.3f)
+                .amplitude(1.5f).octaves(5).build();
+        assertEquals(config, config.toBuilder().build());
+        assertEquals(config.hashCode(), config.toBuilder().build().hashCode());
+
+        // Конфигурация дает тот же шум, что и прежние конструктор и сеттеры
+        Noise byConfig = new Noise(config);
+        Noise bySetters = new Noise(1L);
+        bySetters.setSeed(7L);
+        bySetters.setPersistence(0.6f);
+        bySetters.setFrequency(0.3f);
+        bySetters.setAmplitude(1.5f);
+        bySetters.setOctaves(5);
+        assertEquals(config, bySetters.getConfig());
+        for (int i = 0; i < 100; i++) {
+            float x = i * 0.77f - 30.0f, y = i * 0.31f + 1.0f, z = 2.5f - i * 0.13f;
+            assertEquals(new Noise(7L, 0.6f, 0.3f, 1.5f, 5).noise(x, y, z), byConfig.noise(x, y, z), 0.0f);
+            assertEquals(byConfig.noise(x, y, z), bySetters.noise(x, y, z), 0.0f);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConfigNegativeOctaves() throws Exception {
+        NoiseConfig.builder().octaves(-1);
+    }
+
+    @Test
+    public void testConcurrentSetSeed() throws Exception {
+        final Noise noise = new Noise(1L);
+        final float x = 3.7f, y = -1.2f, z = 0.9f;
+        float a = new Noise(1L).noise(x, y, z);
+        float b = new Noise(2L).noise(x, y, z);
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) noise.setSeed(1L + (i & 1));
+        });
+        writer.start();
+        // Каждое значение посчитано целиком по одному из двух сидов
+        while (writer.isAlive()) {
+            float n = noise.noise(x, y, z);
+            assertTrue(n == a || n == b);
+        }
+        writer.join();
+    }
+
+    @Test
+    public void testFractal() throws Exception {
+        NoiseConfig.Builder builder = NoiseConfig.builder().seed(3L).frequency(0.5f).amplitude(2.0f).octaves(1);
+        Noise fbm = new Noise(builder.build());
+        Noise ridged = new Noise(builder.fractal(Fractal.RIDGED).build());
+        Noise billow = new Noise(builder.fractal(Fractal.BILLOW).build());
+        Noise turbulence = new Noise(builder.fractal(Fractal.TURBULENCE).build());
+        for (int i = 0; i < 200; i++) {
+            float x = i * 0.37f - 20.0f, y = i * 0.11f + 0.5f, z = 7.0f - i * 0.23f;
+            float n = fbm.noise3D(x * 0.5f, y * 0.5f, z * 0.5f);
+            assertEquals(2.0f * n, fbm.fractal3D(x, y, z), 0.0f);
+            assertEquals(2.0f * (1.0f - Math.abs(n)) * (1.0f - Math.abs(n)), ridged.fractal3D(x, y, z), 1e-6f);
+            assertEquals(2.0f * (2.0f * Math.abs(n) - 1.0f), billow.fractal3D(x, y, z), 1e-6f);
+            assertEquals(2.0f * Math.abs(n), turbulence.fractal3D(x, y, z), 0.0f);
+        }
+    }
+
+    @Test
+    public void testTolerance() throws Exception {
+        NoiseConfig exact = NoiseConfig.builder().seed(5L).octaves(12).build();
+        NoiseConfig coarse = exact.toBuilder().tolerance(0.01f).build();
+        assertEquals(12, exact.getActiveOctaves());
+        // Амплитуды 1/2^k: октавы с 7-й по 11-ю в сумме дают 1/64 - 1/2048 > 0.01
+        assertEquals(8, coarse.getActiveOctaves());
+        Noise a = new Noise(exact), b = new Noise(coarse);
+        for (int i = 0; i < 500; i++) {
+            float x = i * 0.71f - 100.0f, y = i * 0.29f + 3.0f, z = i * 0.13f - 9.0f;
+            assertEquals(a.noise(x, y, z), b.noise(x, y, z), 0.01f);
+            assertEquals(a.fractal3D(x, y, z), b.fractal3D(x, y, z), 0.01f);
+        }
+    }
+
+    @Test
+    public void testDoubleCoordinates() throws Exception {
+        Noise noise = new Noise(11L);
+        for (int i = 0; i < 500; i++) {
+            float x = i * 0.497f + 0.1f, y = i * 0.131f + 2.0f, z = 250.0f - i * 0.3f;
+            // В первых клетках решетки совпадает с float версией
+            assertEquals(noise.noise2D(x, y), noise.noise2D((double) x, (double) y), 0.0f);
+            assertEquals(noise.noise3D(x, y, z), noise.noise3D((double) x, y, (double) z), 0.0f);
+        }
+        int same = 0;
+        for (int i = 0; i < 100; i++) {
+            double x = 1.0e9 + i * 0.37, y = -3.0e8 + i * 0.11;
+            // Вдали от нуля шум непрерывен и не повторяется через 256 клеток
+            assertEquals(noise.noise2D(x, y), noise.noise2D(x + 1.0e-6, y), 1e-4f);
+            if (noise.noise2D(x, y) == noise.noise2D(x + 256.0, y)) same++;
+        }
+        assertTrue(same < 5);
+    }
+
+    @Test
+    public void testPeriodic() throws Exception {
+        // Период 256 клеток при частоте 1 совпадает с обычным float шумом
+        NoiseConfig plain = NoiseConfig.builder().seed(9L).frequency(1.0f).octaves(1).build();
+        Noise wrapped = new Noise(plain.toBuilder().period(256.0f).build());
+        for (int i = 0; i < 200; i++) {
+            float x = i * 3.7f - 400.0f, y = i * 1.3f + 0.5f, z = i * 0.7f - 9.0f;
+            assertEquals(new Noise(plain).noise(x, y, z), wrapped.noise(x, y, z), 0.0f);
+        }
+
+        float period = 10.0f;
+        NoiseConfig config = NoiseConfig.builder().seed(9L).frequency(0.33f).octaves(5).period(period).build();
+        assertEquals(3, config.periods[0]);
+        assertEquals(0.3f, config.frequencies[0], 0.0f);
+        Noise noise = new Noise(config);
+        for (int i = 0; i < 200; i++) {
+            float x = i * 0.071f, y = i * 0.053f + 1.0f, z = i * 0.017f;
+            assertEquals(noise.fractal2D(x, y), noise.fractal2D(x + period, y - period), 1e-4f);
+            assertEquals(noise.fractal3D(x, y, z), noise.fractal3D(x, y + period, z + 2.0f * period), 1e-4f);
+            assertEquals(noise.fractal2D(x, y), noise.fractal2D((double) x + period, (double) y), 1e-4f);
+            assertEquals(noise.noise(x, y), noise.noise(x - period, y), 1e-4f);
+        }
+
+        // Текстура периода 10 на сетке 40 x 40 шагом 0.25 бесшовна: первая
+        // строка и столбец продолжают последние, а fill2D совпадает с noise
+        int size = 40;
+        float step = period / size;
+        float[] out = new float[size * size];
+        noise.fill2D(out, size, size, 0.0f, 0.0f, step);
+        for (int j = 0; j < size; j++) {
+            for (int i = 0; i < size; i++) {
+                assertEquals(noise.noise(i * step, j * step), out[j * size + i], 0.0f);
+            }
+            assertEquals(noise.noise(period, j * step), out[j * size], 1e-4f);
+            assertEquals(noise.noise(j * step, period), out[j], 1e-4f);
+        }
+    }
+
+    @Test
+    public void testGradient() throws Exception {
+        Noise noise = new Noise(13L);
+        float[] grad = new float[3];
+        float h = 1e-3f;
+        for (int i = 0; i < 1000; i++) {
+            float x = i * 0.173f - 50.0f, y = i * 0.0917f + 3.3f, z = 20.0f - i * 0.0571f;
+
+            assertEquals(noise.noise2D(x, y), noise.noise2D(x, y, grad), 0.0f);
+            assertEquals((noise.noise2D(x + h, y) - noise.noise2D(x - h, y)) / (2.0f * h), grad[0], 2e-3f);
+            assertEquals((noise.noise2D(x, y + h) - noise.noise2D(x, y - h)) / (2.0f * h), grad[1], 2e-3f);
+
+            assertEquals(noise.noise3D(x, y, z), noise.noise3D(x, y, z, grad), 0.0f);
+            assertEquals((noise.noise3D(x + h, y, z) - noise.noise3D(x - h, y, z)) / (2.0f * h), grad[0], 2e-3f);
+            assertEquals((noise.noise3D(x, y + h, z) - noise.noise3D(x, y - h, z)) / (2.0f * h), grad[1], 2e-3f);
+            assertEquals((noise.noise3D(x, y, z + h) - noise.noise3D(x, y, z - h)) / (2.0f * h), grad[2], 2e-3f);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGradientTooShort() throws Exception {
+        new Noise(1L).noise3D(0.5f, 0.5f, 0.5f, new float[2]);
+    }
+
+}
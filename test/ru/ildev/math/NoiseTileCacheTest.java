@@ -0,0 +1,94 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class NoiseTileCacheTest {
+
+    @Test
+    public void testRegion() throws Exception {
+        Noise noise = new Noise(42L);
+        NoiseTileCache cache = new NoiseTileCache(noise, 16, 0.25f, 1L << 20);
+        int width = 45, height = 37;
+        for (int lod = 0; lod < 3; lod++) {
+            float[] expected = new float[width * height];
+            noise.fill2D(expected, width, height, 0.0f, 0.0f, cache.getStep(lod));
+            float[] out = new float[width * height];
+            cache.getRegion(out, 0, 0, width, height, lod);
+            assertArrayEquals(expected, out, 0.0f);
+        }
+
+        // Область со смещением, в том числе в отрицательные индексы
+        float step = cache.getStep(0);
+        float[] out = new float[20 * 9];
+        cache.getRegion(out, -7, 5, 20, 9, 0);
+        for (int j = 0; j < 9; j++) {
+            for (int i = 0; i < 20; i++) {
+                assertEquals(noise.noise((i - 7) * step, (j + 5) * step), out[j * 20 + i], 1e-6f);
+            }
+        }
+    }
+
+    @Test
+    public void testCounters() throws Exception {
+        Noise noise = new Noise(7L);
+        int size = 8;
+        long tileBytes = 4L * size * size;
+        NoiseTileCache cache = new NoiseTileCache(noise, size, 1.0f, 3 * tileBytes);
+
+        float[] a = cache.getTile(0, 0, 0);
+        assertSame(a, cache.getTile(0, 0, 0));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        cache.getTile(1, 0, 0);
+        cache.getTile(0, 1, 0);
+        assertEquals(3, cache.size());
+        assertEquals(3 * tileBytes, cache.getBytes());
+        assertEquals(0, cache.getEvictions());
+
+        // Плитка (0, 0) запрошена недавно, вытесняется (1, 0)
+        cache.getTile(0, 0, 0);
+        cache.getTile(0, 0, 1);
+        assertEquals(1, cache.getEvictions());
+        assertEquals(3 * tileBytes, cache.getBytes());
+        assertSame(a, cache.getTile(0, 0, 0));
+        long misses = cache.getMisses();
+        cache.getTile(1, 0, 0);
+        assertEquals(misses + 1, cache.getMisses());
+
+        // Новая конфигурация шума дает новые плитки
+        noise.setSeed(8L);
+        float[] b = cache.getTile(0, 0, 0);
+        assertNotSame(a, b);
+        float[] expected = new float[size * size];
+        noise.fill2D(expected, size, size, 0.0f, 0.0f, 1.0f);
+        assertArrayEquals(expected, b, 0.0f);
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    public void testTooLarge() throws Exception {
+        NoiseTileCache cache = new NoiseTileCache(new Noise(1L), 8, 1.0f, 100);
+        float[] tile = cache.getTile(0, 0, 0);
+        assertEquals(64, tile.length);
+        assertEquals(0, cache.size());
+        assertNotSame(tile, cache.getTile(0, 0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadLod() throws Exception {
+        new NoiseTileCache(new Noise(1L), 1.0f, 1024).getTile(0, 0, -1);
+    }
+
+}
@@ -0,0 +1,65 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class SimplexNoiseTest {
+
+    @Test
+    public void testRange() throws Exception {
+        NoiseSource noise = new SimplexNoise(42L);
+        Random random = new Random(1);
+        float min = 0.0f, max = 0.0f;
+        for (int i = 0; i < 200000; i++) {
+            float x = (random.nextFloat() - 0.5f) * 1000.0f;
+            float y = (random.nextFloat() - 0.5f) * 1000.0f;
+            float z = (random.nextFloat() - 0.5f) * 1000.0f;
+            float w = (random.nextFloat() - 0.5f) * 1000.0f;
+            float[] values = {noise.noise2D(x, y), noise.noise3D(x, y, z), noise.noise4D(x, y, z, w)};
+            for (float v : values) {
+                assertTrue(v >= -1.05f && v <= 1.05f);
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+        // Шум должен использовать большую часть диапазона
+        assertTrue(min < -0.7f && max > 0.7f);
+    }
+
+    @Test
+    public void testContinuity() throws Exception {
+        NoiseSource noise = new SimplexNoise(7L);
+        float d = 1e-3f;
+        for (int i = 0; i < 20000; i++) {
+            float x = i * 0.0137f - 50.0f, y = i * 0.0071f, z = 3.0f - i * 0.0029f, w = i * 0.0113f;
+            assertEquals(noise.noise2D(x, y), noise.noise2D(x + d, y + d), 0.05f);
+            assertEquals(noise.noise3D(x, y, z), noise.noise3D(x + d, y + d, z + d), 0.05f);
+            assertEquals(noise.noise4D(x, y, z, w), noise.noise4D(x + d, y + d, z + d, w + d), 0.05f);
+        }
+    }
+
+    @Test
+    public void testSeed() throws Exception {
+        SimplexNoise a = new SimplexNoise(5L);
+        SimplexNoise b = new SimplexNoise(5L);
+        SimplexNoise c = new SimplexNoise(6L);
+        assertEquals(5L, a.getSeed());
+        float diff = 0.0f;
+        for (int i = 0; i < 1000; i++) {
+            float x = i * 0.37f, y = i * 0.11f, z = i * 0.23f, w = i * 0.05f;
+            assertEquals(a.noise3D(x, y, z), b.noise3D(x, y, z), 0.0f);
+            assertEquals(a.noise4D(x, y, z, w), b.noise4D(x, y, z, w), 0.0f);
+            diff += Math.abs(a.noise2D(x, y) - c.noise2D(x, y));
+        }
+        assertNotEquals(0.0f, diff, 0.0f);
+    }
+
+}
@@ -0,0 +1,160 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class SplitRandomTest {
+
+    @Test
+    public void testReproducible() throws Exception {
+        SplitRandom a = new SplitRandom(42);
+        SplitRandom b = new SplitRandom(42);
+        for (int i = 0; i < 1000; i++) assertEquals(a.nextLong(), b.nextLong());
+
+        a = new SplitRandom(42, 7);
+        b = new SplitRandom(42, 7);
+        for (int i = 0; i < 1000; i++) assertEquals(a.nextGaussian(), b.nextGaussian(), 0.0);
+
+        SplitRandom c = new SplitRandom(42).split();
+        SplitRandom d = new SplitRandom(42).split();
+        for (int i = 0; i < 1000; i++) assertEquals(c.nextLong(), d.nextLong());
+    }
+
+    @Test
+    public void testStreams() throws Exception {
+        Set<Long> firsts = new HashSet<>();
+        for (int s = 0; s < 1000; s++) {
+            assertTrue(firsts.add(new SplitRandom(42, s).nextLong()));
+        }
+        SplitRandom parent = new SplitRandom(42);
+        SplitRandom child = parent.split();
+        assertNotEquals(parent.nextLong(), child.nextLong());
+    }
+
+    @Test
+    public void testRanges() throws Exception {
+        SplitRandom random = new SplitRandom(1);
+        int[] counts = new int[10];
+        double sum = 0.0, sum2 = 0.0;
+        int n = 100000;
+        for (int i = 0; i < n; i++) {
+            float f = random.nextFloat();
+            assertTrue(f >= 0.0f && f < 1.0f);
+            double d = random.nextDouble();
+            assertTrue(d >= 0.0 && d < 1.0);
+            counts[random.nextInt(10)]++;
+            double g = random.nextGaussian();
+            sum += g;
+            sum2 += g * g;
+        }
+        for (int c : counts) assertEquals(n / 10, c, n / 100);
+        assertEquals(0.0, sum / n, 0.02);
+        assertEquals(1.0, sum2 / n, 0.02);
+    }
+
+    @Test
+    public void testGaussian() throws Exception {
+        SplitRandom random = new SplitRandom(3);
+        int n = 1000000;
+        // Доли нормального распределения за 1, 2 и 3 сигмы и в хвосте за R
+        double[] limits = {1.0, 2.0, 3.0, Ziggurat.R};
+        double[] expected = {0.31731050786, 0.04550026390, 0.00269979606, 0.00025808};
+        int[] counts = new int[limits.length];
+        double sum = 0.0, sum2 = 0.0;
+        for (int i = 0; i < n; i++) {
+            double g = random.nextGaussian();
+            sum += g;
+            sum2 += g * g;
+            for (int k = 0; k < limits.length; k++) if (Math.abs(g) > limits[k]) counts[k]++;
+        }
+        assertEquals(0.0, sum / n, 0.005);
+        assertEquals(1.0, sum2 / n, 0.005);
+        for (int k = 0; k < limits.length; k++) {
+            assertEquals(expected[k], (double) counts[k] / n, 5.0 * Math.sqrt(expected[k] / n));
+        }
+    }
+
+    @Test
+    public void testFill() throws Exception {
+        float[] uniform = new float[10000];
+        new SplitRandom(5).fillUniform(uniform, 0, uniform.length);
+        SplitRandom random = new SplitRandom(5);
+        for (float f : uniform) assertEquals(random.nextFloat(), f, 0.0f);
+
+        float[] gaussian = new float[100000];
+        new SplitRandom(5).fillGaussian(gaussian, 0, gaussian.length, 2.0f, 3.0f);
+        random = new SplitRandom(5);
+        double sum = 0.0, sum2 = 0.0;
+        for (float g : gaussian) {
+            assertEquals((float) (2.0f + 3.0f * random.nextGaussian()), g, 0.0f);
+            sum += g;
+            sum2 += (g - 2.0) * (g - 2.0);
+        }
+        assertEquals(2.0, sum / gaussian.length, 0.03);
+        assertEquals(9.0, sum2 / gaussian.length, 0.1);
+
+        int[] ints = new int[100000];
+        new SplitRandom(5).fillInt(ints, 0, ints.length, -3, 6);
+        random = new SplitRandom(5);
+        int[] counts = new int[10];
+        for (int v : ints) {
+            assertEquals(random.nextInt(-3, 6), v);
+            counts[v + 3]++;
+        }
+        for (int c : counts) assertEquals(ints.length / 10, c, ints.length / 100);
+
+        new SplitRandom(5).fillInt(ints, 0, ints.length, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        new SplitRandom(5).fillInt(ints, 0, ints.length, 7, 7);
+        for (int v : ints) assertEquals(7, v);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadRange() throws Exception {
+        new SplitRandom(1).fillInt(new int[1], 0, 1, 2, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadBound() throws Exception {
+        new SplitRandom(1).nextInt(0);
+    }
+
+    @Test
+    public void testPerThread() throws Exception {
+        final RandomSource.PerThread source = new RandomSource.PerThread(42);
+        assertSame(source.current(), source.current());
+        assertEquals(new SplitRandom(42, 0).nextLong(), source.nextLong());
+
+        final SplitRandom[] other = new SplitRandom[1];
+        Thread thread = new Thread(() -> other[0] = source.current());
+        thread.start();
+        thread.join();
+        assertNotSame(source.current(), other[0]);
+        assertEquals(new SplitRandom(42, 1).nextLong(), other[0].nextLong());
+    }
+
+    @Test
+    public void testMoreMathSeed() throws Exception {
+        try {
+            MoreMath.setRandomSeed(42);
+            float[] first = new float[100];
+            for (int i = 0; i < first.length; i++) first[i] = MoreMath.random();
+            MoreMath.setRandomSeed(42);
+            for (int i = 0; i < first.length; i++) assertEquals(first[i], MoreMath.random(), 0.0f);
+        } finally {
+            // Не оставлять общий генератор с известным сидом для остальных тестов
+            MoreMath.setRandomSeed(System.nanoTime());
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class TrigProviderTest {
+
+    private static void check(TrigProvider trig, float error) {
+        float[] src = new float[20001];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = (i - 10000) * 0.00097f;
+            assertEquals(StrictMath.sin(src[i]), trig.sin(src[i]), error);
+            assertEquals(StrictMath.cos(src[i]), trig.cos(src[i]), error);
+        }
+        float[] dst = new float[src.length];
+        trig.sin(src, 0, dst, 0, src.length);
+        for (int i = 0; i < src.length; i++) assertEquals(trig.sin(src[i]), dst[i], 0.0f);
+        trig.cos(src, 0, dst, 0, src.length);
+        for (int i = 0; i < src.length; i++) assertEquals(trig.cos(src[i]), dst[i], 0.0f);
+
+        float[] out = new float[2];
+        float[] cos = new float[src.length];
+        trig.sincos(src, 0, dst, 0, cos, 0, src.length);
+        for (int i = 0; i < src.length; i++) {
+            trig.sincos(src[i], out, 0);
+            assertEquals(StrictMath.sin(src[i]), out[0], error);
+            assertEquals(StrictMath.cos(src[i]), out[1], error);
+            assertEquals(out[0], dst[i], 0.0f);
+            assertEquals(out[1], cos[i], 0.0f);
+        }
+    }
+
+    @Test
+    public void testStrict() throws Exception {
+        check(TrigProvider.STRICT, 6.0e-8f);
+    }
+
+    @Test
+    public void testTable() throws Exception {
+        check(TrigProvider.TABLE, TrigProvider.TABLE.getTable().getMaxError() + 1.0e-6f);
+    }
+
+    @Test
+    public void testTableLerp() throws Exception {
+        check(TrigProvider.TABLE_LERP, TrigProvider.TABLE_LERP.getTable().getMaxError() + 1.0e-6f);
+    }
+
+    @Test
+    public void testPolynomial() throws Exception {
+        check(TrigProvider.POLYNOMIAL, 1.0e-7f);
+    }
+
+    @Test
+    public void testMoreMathFlags() throws Exception {
+        assertEquals(TrigProvider.TABLE_LERP.sin(1.234f), MoreMath.sin(1.234f), 0.0f);
+        assertEquals(TrigProvider.TABLE_LERP.cos(1.234f), MoreMath.cos(1.234f), 0.0f);
+        float[] out = new float[3];
+        MoreMath.sincos(1.234f, out, 1);
+        assertEquals(MoreMath.sin(1.234f), out[1], 0.0f);
+        assertEquals(MoreMath.cos(1.234f), out[2], 0.0f);
+    }
+}
@@ -0,0 +1,90 @@
+package ru.ildev.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ilyas Shafigin
+ */
+public class TrigTableTest {
+
+    @Test
+    public void testErrorBound() throws Exception {
+        for (TrigTable.Interpolation interpolation : TrigTable.Interpolation.values()) {
+            for (int bits = TrigTable.MIN_BITS; bits <= 14; bits += 2) {
+                TrigTable table = new TrigTable(bits, interpolation);
+                double h = 2.0 * Math.PI / table.getSize();
+                double bound;
+                switch (interpolation) {
+                    case LINEAR: bound = h * h / 8.0; break;
+                    case CUBIC: bound = h * h * h * h / 384.0; break;
+                    default: bound = h / 2.0; break;
+                }
+                float error = table.getMaxError();
+                assertTrue(interpolation + " " + bits + ": " + error, error <= bound + 6.2e-7);
+            }
+        }
+    }
+
+    @Test
+    public void testInterpolationIsMoreAccurate() throws Exception {
+        TrigTable none = new TrigTable(12, TrigTable.Interpolation.NONE);
+        TrigTable linear = none.withInterpolation(TrigTable.Interpolation.LINEAR);
+        TrigTable cubic = none.withInterpolation(TrigTable.Interpolation.CUBIC);
+        assertTrue(linear.getMaxError() < none.getMaxError());
+        assertTrue(cubic.getMaxError() < linear.getMaxError());
+        assertTrue(cubic.getMaxError() < 1.0e-6f);
+    }
+
+    @Test
+    public void testNegativeAngles() throws Exception {
+        TrigTable table = new TrigTable(10, TrigTable.Interpolation.LINEAR);
+        float error = table.getMaxError();
+        for (int i = -10000; i <= 10000; i++) {
+            float a = i * 0.00173f;
+            float tolerance = error + 2.0f * Math.ulp(a);
+            assertEquals(StrictMath.sin(a), table.sin(a), tolerance);
+            assertEquals(StrictMath.cos(a), table.cos(a), tolerance);
+            assertEquals(-table.sin(-a), table.sin(a), 2.0f * error);
+        }
+    }
+
+    @Test
+    public void testBulk() throws Exception {
+        for (TrigTable.Interpolation interpolation : TrigTable.Interpolation.values()) {
+            TrigTable table = new TrigTable(8, interpolation);
+            float[] src = new float[500];
+            for (int i = 0; i < src.length; i++) src[i] = i * 0.031f - 7.0f;
+            float[] dst = new float[src.length];
+            table.sin(src, 0, dst, 0, src.length);
+            for (int i = 0; i < src.length; i++) assertEquals(table.sin(src[i]), dst[i], 0.0f);
+            table.cos(src, 0, dst, 0, src.length);
+            for (int i = 0; i < src.length; i++) assertEquals(table.cos(src[i]), dst[i], 0.0f);
+            float[] cos = new float[src.length];
+            float[] out = new float[2];
+            table.sincos(src, 0, dst, 0, cos, 0, src.length);
+            for (int i = 0; i < src.length; i++) {
+                table.sincos(src[i], out, 0);
+                assertEquals(table.sin(src[i]), out[0], 0.0f);
+                assertEquals(table.cos(src[i]), out[1], 0.0f);
+                assertEquals(out[0], dst[i], 0.0f);
+                assertEquals(out[1], cos[i], 0.0f);
+            }
+        }
+    }
+
+    @Test
+    public void testForError() throws Exception {
+        TrigTable table = TrigTable.forError(1.0e-4f, TrigTable.Interpolation.LINEAR);
+        assertTrue(table.getMaxError() <= 1.0e-4f);
+        TrigTable smaller = new TrigTable(table.getBits() - 1, TrigTable.Interpolation.LINEAR);
+        assertTrue(smaller.getMaxError() > 1.0e-4f * 0.5f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooSmall() throws Exception {
+        new TrigTable(TrigTable.MIN_BITS - 1, TrigTable.Interpolation.NONE);
+    }
+}